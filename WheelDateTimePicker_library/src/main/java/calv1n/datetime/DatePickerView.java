@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -11,17 +12,21 @@ import android.view.ViewGroup;
 import android.widget.LinearLayout;
 import android.widget.TextView;
 
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.Date;
 
+import calv1n.datetime.dependency.CalendarSystem;
+import calv1n.datetime.dependency.GregorianCalendarSystem;
 import calv1n.datetime.dependency.Lunar;
-import calv1n.datetime.dependency.wheelview.ArrayWheelAdapter;
+import calv1n.datetime.dependency.LunarCalendarSystem;
+import calv1n.datetime.dependency.wheelview.AbstractWheelTextAdapter;
 import calv1n.datetime.dependency.wheelview.NumericWheelAdapter;
 import calv1n.datetime.dependency.wheelview.WheelView;
 
 /**
  * 自定义日期选择</br>
- * 对 {@link WheelView}的封装
+ * 对 {@link WheelView}的封装, 年月日的数量和文字由 {@link CalendarSystem} 提供
  * Created by calvin on 2015/1/28.
  */
 public class DatePickerView extends LinearLayout {
@@ -33,21 +38,31 @@ public class DatePickerView extends LinearLayout {
 
 	private final static int DEFALUT_PRIMARY_TEXT_COLOR = /*R.color.text_pink*/0xffFC8A8A;
 	private final static int DEFAULT_MINOR_TEXT_COLOR = /*R.color.text_gray_content*/0xff666666;
-	private boolean isLunar = false;
+	private CalendarSystem calendarSystem = GregorianCalendarSystem.INSTANCE;
 
 	private Context mContext;
 	private OnDateChangedListener dateChangedListener;
 
 	private WheelView.OnWheelChangedListener listener;
 	private WheelView wvMonth, wvYear, wvDay;
-	private DatePickerNumericAdapter yearAdapter, dayAdapter;
-	private DatePickerArrayAdapter monthAdapter;
+	private CalendarFieldAdapter yearAdapter, monthAdapter, dayAdapter;
 	private int primaryTextColor;
 	private int minorTextColor;
 
+	/**
+	 * 初始的公历日期, 月份从0开始
+	 */
 	private int year;
 	private int monthOfYear;
 	private int dayOfMonth;
+	/**
+	 * 年份滚轮第一项的年份
+	 */
+	private int firstYear;
+	/**
+	 * 重建滚轮或联动刷新月、日滚轮时忽略滚轮的改变事件, 每次滚动只通知一次
+	 */
+	private boolean isRebuilding;
 
 	public DatePickerView(Context context) {
 		this(context, null, 0);
@@ -61,6 +76,17 @@ public class DatePickerView extends LinearLayout {
 		super(context, attrs);
 		this.mContext = context;
 		init(context, attrs);
+		initView();
+	}
+
+	/**
+	 * 使用给定的年月日滚轮, 不加载布局
+	 */
+	DatePickerView(Context context, WheelView year, WheelView month, WheelView day) {
+		super(context);
+		this.mContext = context;
+		init(context, null);
+		initWheels(year, month, day);
 	}
 
 	private void init(Context context, AttributeSet attrs) {
@@ -89,117 +115,142 @@ public class DatePickerView extends LinearLayout {
 
 		}
 
-		initView();
-
 	}
 
 	private void initView() {
 
 		LayoutInflater.from(getContext()).inflate(R.layout.date_picker_view, this, true);
 
-		wvYear = (WheelView) findViewById(R.id.wheel_year);
+		initWheels((WheelView) findViewById(R.id.wheel_year), (WheelView) findViewById(R.id.wheel_month),
+				(WheelView) findViewById(R.id.wheel_day));
+	}
+
+	private void initWheels(WheelView year, WheelView month, WheelView day) {
+		wvYear = year;
 		initWheelStyle(wvYear);
-		wvMonth = (WheelView) findViewById(R.id.wheel_month);
+		wvMonth = month;
 		initWheelStyle(wvMonth);
-		wvDay = (WheelView) findViewById(R.id.wheel_day);
+		wvDay = day;
 		initWheelStyle(wvDay);
 
 		//滚动监听器
 		listener = new WheelView.OnWheelChangedListener() {
 			@Override
 			public void onChanged(WheelView wheel, int oldValue, int newValue) {
+				if (isRebuilding) {
+					return;
+				}
 				//int diffValue = newValue - oldValue;
-				//刷新适配器
-				switch (wheel.getId()) {
-					case R.id.wheel_year:
+				//刷新适配器, 联动改变的月、日滚轮不再触发本监听
+				isRebuilding = true;
+				try {
+					if (wheel == wvYear) {
 						yearAdapter.setHighlightIndex(newValue);
-						updateDays(wvYear, wvMonth, wvDay, isLunar);
-						break;
-					case R.id.wheel_month:
+						updateMonths();
+						updateDays();
+					} else if (wheel == wvMonth) {
 						monthAdapter.setHighlightIndex(newValue);
-						updateDays(wvYear, wvMonth, wvDay, isLunar);
-						break;
-					case R.id.wheel_day:
+						updateDays();
+					} else if (wheel == wvDay) {
 						dayAdapter.setHighlightIndex(newValue);
-						break;
+					}
+				} finally {
+					isRebuilding = false;
 				}
 
 				if (null != dateChangedListener) {
-					dateChangedListener.onDateChanged(getDate(wvYear, wvMonth, wvDay), isLunar);
+					dateChangedListener.onDateChanged(getDate(), isLunar());
 				}
 
 			}
 		};
+		wvYear.addChangingListener(listener);
+		wvMonth.addChangingListener(listener);
+		wvDay.addChangingListener(listener);
 
 		//为wheelView设置数据初始数据
-		setWheelView(isLunar);
+		setWheelView();
 	}
 
-	private void setWheelView(boolean isLunar) {
-
+	private void setWheelView() {
+		CalendarSystem cs = calendarSystem;
+		//公历日期换算为当前历法, 超出历法范围时取边界
+		int minDay = cs.toEpochDay(cs.getMinYear(), 0, 1);
+		int lastMonth = cs.monthsInYear(cs.getMaxYear()) - 1;
+		int maxDay = cs.toEpochDay(cs.getMaxYear(), lastMonth, cs.monthLength(cs.getMaxYear(), lastMonth));
+		int epochDay = GregorianCalendarSystem.INSTANCE.toEpochDay(year, monthOfYear, dayOfMonth);
+		int date = cs.fromEpochDay(Math.max(minDay, Math.min(maxDay, epochDay)));
+		int y = date >> 9;
+		int monthIndex = (date >> 5) & 0xf;
+		int d = date & 0x1f;
+
+		isRebuilding = true;
 		//年
-		yearAdapter = new DatePickerNumericAdapter(mContext, year - YEAR_SPAN, year + YEAR_SPAN, YEAR_SPAN, isLunar);
+		firstYear = Math.max(cs.getMinYear(), y - YEAR_SPAN);
+		int lastYear = Math.min(cs.getMaxYear(), y + YEAR_SPAN);
+		yearAdapter = new CalendarFieldAdapter(mContext, CalendarSystem.FIELD_YEAR);
+		yearAdapter.setRange(firstYear, 0, lastYear - firstYear + 1, y - firstYear);
 		wvYear.setViewAdapter(yearAdapter);
-		wvYear.addChangingListener(listener);
-		wvYear.setCurrentItem(YEAR_SPAN);
+		wvYear.setCurrentItem(y - firstYear);
 
-		//获取月份数组
-		String[] hanMonths = getResources().getStringArray(R.array.months_han);
-		String[] digitMonths = getResources().getStringArray(R.array.months_digit);
-		monthAdapter = new DatePickerArrayAdapter(mContext, isLunar ? hanMonths : digitMonths, monthOfYear - 1);
+		//月
+		monthAdapter = new CalendarFieldAdapter(mContext, CalendarSystem.FIELD_MONTH);
+		monthAdapter.setRange(y, 0, cs.monthsInYear(y), monthIndex);
 		wvMonth.setViewAdapter(monthAdapter);
-		wvMonth.addChangingListener(listener);
-		wvMonth.setCurrentItem(monthOfYear - 1);
-
-		//天
-		wvDay.addChangingListener(listener);
-		updateDays(wvYear, wvMonth, wvDay, isLunar);
-
-		wvDay.setCurrentItem(dayOfMonth - 1);
+		wvMonth.setCurrentItem(monthIndex);
+
+		//日
+		dayAdapter = new CalendarFieldAdapter(mContext, CalendarSystem.FIELD_DAY);
+		dayAdapter.setRange(y, monthIndex, cs.monthLength(y, monthIndex), d - 1);
+		wvDay.setViewAdapter(dayAdapter);
+		wvDay.setCurrentItem(d - 1);
+		isRebuilding = false;
 	}
 
-	private void updateDays(WheelView year, WheelView month, WheelView day, boolean isLunar) {
+	/**
+	 * 选中的年份改变后刷新月份, 月数变少时选中最后一个月
+	 */
+	private void updateMonths() {
+		int y = firstYear + wvYear.getCurrentItem();
+		int months = calendarSystem.monthsInYear(y);
+		int monthIndex = Math.min(months - 1, wvMonth.getCurrentItem());
+		monthAdapter.setRange(y, 0, months, monthIndex);
+		wvMonth.setCurrentItem(monthIndex);
+	}
 
-		Date date = getDate(year, month, day);
+	/**
+	 * 选中的年月改变后刷新天数, 天数变少时选中最后一天.
+	 * 不用滚动动画, 动画结束时的改变事件会在通知之后再通知一次
+	 */
+	private void updateDays() {
+		int y = firstYear + wvYear.getCurrentItem();
+		int monthIndex = wvMonth.getCurrentItem();
+		//当月天数
+		int maxDays = calendarSystem.monthLength(y, monthIndex);
+		int dayIndex = Math.min(maxDays - 1, wvDay.getCurrentItem());
+		dayAdapter.setRange(y, monthIndex, maxDays, dayIndex);
+		wvDay.setCurrentItem(dayIndex);
+	}
 
-		if (null == date) {
-			return;
-		}
-		Calendar cal = Calendar.getInstance();
-		cal.setTime(date);
-
-		//当月最大值
-		int maxDays = cal.getMaximum(Calendar.DAY_OF_MONTH);
-		if (isLunar) {
-			//农历
-			Lunar lunar = new Lunar(cal.getTimeInMillis());
-			//得到选中年月最大天数
-			maxDays = lunar.getMaxDayInMonth();
-		}
-		//设置适配器
-		dayAdapter = new DatePickerNumericAdapter(mContext, 1, maxDays, cal.get(Calendar.DAY_OF_MONTH), isLunar);
-		day.setViewAdapter(dayAdapter);
-		int curDay = Math.min(maxDays, day.getCurrentItem() + 1);
-		//设置当前条目
-		day.setCurrentItem(curDay - 1, true);
-		dayAdapter.setHighlightIndex(curDay - 1);
+	/**
+	 * 选中日期距 1970/1/1 的天数
+	 */
+	private int getSelectedEpochDay() {
+		return calendarSystem.toEpochDay(firstYear + wvYear.getCurrentItem(), wvMonth.getCurrentItem(),
+				wvDay.getCurrentItem() + 1);
 	}
 
-	private Date getDate(WheelView year, WheelView month, WheelView day) {
+	private Date getDate() {
 		Date date = null;
 		try {
-			int yearDiff = year.getCurrentItem() - YEAR_SPAN;
-			int m = month.getCurrentItem() + 1;
-			int d = day.getCurrentItem() + 1;
+			int gregorian = GregorianCalendarSystem.INSTANCE.fromEpochDay(getSelectedEpochDay());
 
 			Calendar cal = Calendar.getInstance();
-			cal.set(Calendar.YEAR, this.year + yearDiff);
-			cal.set(Calendar.MONTH, m);
-			cal.set(Calendar.DAY_OF_MONTH, d);
+			cal.set(gregorian >> 9, (gregorian >> 5) & 0xf, gregorian & 0x1f);
 
 			date = cal.getTime();
 
-		} catch (Exception e) {
+		} catch (IllegalArgumentException e) {
 			e.printStackTrace();
 		}
 		return date;
@@ -214,6 +265,8 @@ public class DatePickerView extends LinearLayout {
 		wheel.setDrawShadows(false);
 		//无前景
 		wheel.setDrawForground(false);
+		//只显示文字, 由 WheelView 直接绘制
+		wheel.setDrawTextDirectly(true);
 		//wheel.setWheelBackground(R.drawable.transparent);
 		//wheel.setWheelCenter(R.drawable.wheel_default_forground);
 		//设置显示条目
@@ -223,23 +276,33 @@ public class DatePickerView extends LinearLayout {
 	}
 
 	public void setCurrentDate(Date currentDate) {
-		setCurrentDate(currentDate, isLunar);
+		setCurrentDate(currentDate, calendarSystem);
 	}
 
 
 	public void setCurrentDate(Date currentDate, boolean isLunar) {
+		setCurrentDate(currentDate, isLunar ? LunarCalendarSystem.INSTANCE : GregorianCalendarSystem.INSTANCE);
+	}
+
+	/**
+	 * 设置选中日期和使用的历法
+	 *
+	 * @param currentDate    选中日期
+	 * @param calendarSystem 历法
+	 */
+	public void setCurrentDate(Date currentDate, CalendarSystem calendarSystem) {
 		Calendar cal = Calendar.getInstance();
 		cal.setTime(currentDate);
 
 		this.year = cal.get(Calendar.YEAR);
 		this.monthOfYear = cal.get(Calendar.MONTH);
 		this.dayOfMonth = cal.get(Calendar.DAY_OF_MONTH);
-		this.isLunar = isLunar;
-		setWheelView(isLunar);
+		this.calendarSystem = calendarSystem;
+		setWheelView();
 	}
 
 	public Date getCurrentDate() {
-		return getDate(wvYear, wvMonth, wvDay);
+		return getDate();
 	}
 
 	public void setDateChangedListener(OnDateChangedListener dateChangedListener) {
@@ -247,9 +310,29 @@ public class DatePickerView extends LinearLayout {
 	}
 
 	public void setIsLunar(boolean isLunar) {
-		this.isLunar = isLunar;
-		//notifyDataChanged();
-		setWheelView(isLunar);
+		setCalendarSystem(isLunar ? LunarCalendarSystem.INSTANCE : GregorianCalendarSystem.INSTANCE);
+	}
+
+	public boolean isLunar() {
+		return calendarSystem instanceof LunarCalendarSystem;
+	}
+
+	/**
+	 * 切换历法, 保持选中的日期不变
+	 *
+	 * @param calendarSystem 历法
+	 */
+	public void setCalendarSystem(CalendarSystem calendarSystem) {
+		int gregorian = GregorianCalendarSystem.INSTANCE.fromEpochDay(getSelectedEpochDay());
+		this.year = gregorian >> 9;
+		this.monthOfYear = (gregorian >> 5) & 0xf;
+		this.dayOfMonth = gregorian & 0x1f;
+		this.calendarSystem = calendarSystem;
+		setWheelView();
+	}
+
+	public CalendarSystem getCalendarSystem() {
+		return calendarSystem;
 	}
 
 	public void setShowYear(boolean isShow) {
@@ -272,42 +355,63 @@ public class DatePickerView extends LinearLayout {
 	}
 
 	/**
-	 * 日期选择器中'年'和'日'的适配器
+	 * 日期选择器中'年'、'月'、'日'的适配器, 条目文字由当前历法提供
 	 */
-	public class DatePickerNumericAdapter extends NumericWheelAdapter {
+	private class CalendarFieldAdapter extends AbstractWheelTextAdapter {
+		/**
+		 * {@link CalendarSystem#FIELD_YEAR} 等
+		 */
+		private final int field;
+		/**
+		 * 年份适配器为第一项的年份, 月和日适配器为所在年份
+		 */
+		private int year;
+		private int monthIndex;
+		private int count;
 		/**
 		 * 高亮条目下标
 		 */
 		private int highlightIndex;
 		private int middleIndex;
-		int minValue;
-		int maxValue;
-		//是否以农历显示
-		private boolean isLunar;
-		private String format;
-
 		/**
-		 * 构造器
-		 *
-		 * @param context   上下文
-		 * @param minValue  起始值
-		 * @param maxValue  最大值,结束值
-		 * @param initValue 起始值的下标index
-		 * @param isLunar   是否以农历显示
+		 * 条目文字缓存, 滚动时不再拼接年份等文字; 范围改变时清空
 		 */
-		public DatePickerNumericAdapter(Context context, int minValue, int maxValue, int initValue, boolean isLunar) {
-			super(context, minValue, maxValue);
-			this.highlightIndex = initValue;
-			this.minValue = minValue;
-			this.maxValue = maxValue;
-			this.isLunar = isLunar;
+		private CharSequence[] labels = new CharSequence[0];
+		private CalendarSystem labelsSystem;
+		/**
+		 * 字数最多的条目文字, 范围改变时清空; 只改变高亮条目时滚轮只需量这一条
+		 */
+		private CharSequence widestLabel;
 
+		public CalendarFieldAdapter(Context context, int field) {
+			super(context);
+			this.field = field;
 		}
 
-		//自定义item布局
-		private void setResource() {
-			//设置条目
-			setItemResource(R.layout.wheel_item, R.id.tv_wheel_item);
+		/**
+		 * 设置条目范围并刷新
+		 *
+		 * @param year           年份(年份适配器为第一项的年份)
+		 * @param monthIndex     月份下标, 只用于'日'
+		 * @param count          条目数
+		 * @param highlightIndex 高亮条目下标
+		 */
+		public void setRange(int year, int monthIndex, int count, int highlightIndex) {
+			if (calendarSystem != labelsSystem || year != this.year || monthIndex != this.monthIndex
+					|| count != this.count) {
+				labelsSystem = calendarSystem;
+				widestLabel = null;
+				if (labels.length < count) {
+					labels = new CharSequence[count];
+				} else {
+					Arrays.fill(labels, null);
+				}
+			}
+			this.year = year;
+			this.monthIndex = monthIndex;
+			this.count = count;
+			this.highlightIndex = highlightIndex;
+			notifyDataChangedEvent();
 		}
 
 		@Override
@@ -325,23 +429,70 @@ public class DatePickerView extends LinearLayout {
 
 		}
 
+		@Override
+		public void configureTextPaint(int index, TextPaint paint) {
+			super.configureTextPaint(index, paint);
+			if (index == highlightIndex) {
+				paint.setColor(primaryTextColor);
+				paint.setTextSize(spToPx(18));
+				paint.setTypeface(Typeface.DEFAULT_BOLD);
+			} else {
+				paint.setColor(minorTextColor);
+				paint.setTextSize(spToPx(16));
+				paint.setTypeface(Typeface.DEFAULT);
+			}
+		}
+
 		@Override
 		public View getItem(int index, View cachedView, ViewGroup parent) {
 			this.middleIndex = index;
 			return super.getItem(index, cachedView, parent);
 		}
 
+		@Override
+		public int getItemsCount() {
+			return count;
+		}
+
 		@Override
 		public CharSequence getItemText(int index) {
-			if (index >= 0 && index < getItemsCount()) {
-				int value = minValue + index;
-				if (value > 1900) { //输入'年'适配器
-					return isLunar ? Lunar.getHansYear(value) : Integer.toString(value) + "年";
-				} else {  //'天'适配器
-					return isLunar ? Lunar.getLunarDayString(value) : Integer.toString(value) + "日";
+			if (index < 0 || index >= count) {
+				return "";
+			}
+			CharSequence label = labels[index];
+			if (label == null) {
+				switch (field) {
+					case CalendarSystem.FIELD_YEAR:
+						label = calendarSystem.labelFor(field, year + index, 0, 0);
+						break;
+					case CalendarSystem.FIELD_MONTH:
+						label = calendarSystem.labelFor(field, year, index, 0);
+						break;
+					default:
+						label = calendarSystem.labelFor(field, year, monthIndex, index + 1);
+						break;
 				}
+				labels[index] = label;
 			}
-			return "";
+			return label;
+		}
+
+		/**
+		 * 同一历法同一字段的文字都由汉字和数字组成, 按字数取最宽的一条
+		 */
+		@Override
+		public CharSequence getWidestItemText() {
+			if (widestLabel == null && count > 0) {
+				CharSequence widest = getItemText(0);
+				for (int i = 1; i < count; i++) {
+					CharSequence label = getItemText(i);
+					if (label.length() > widest.length()) {
+						widest = label;
+					}
+				}
+				widestLabel = widest;
+			}
+			return widestLabel;
 		}
 
 		private void setHighlightIndex(int index) {
@@ -354,49 +505,71 @@ public class DatePickerView extends LinearLayout {
 		}
 	}
 
-	private class DatePickerArrayAdapter extends ArrayWheelAdapter<String> {
-		// Index of current item
-		int middleIndex;
-		// Index of item to be highlighted
-		int highlightIndex;
+	/**
+	 * 旧版的'年'、'日'适配器, 只支持公历和农历, 不再被 DatePickerView 使用
+	 *
+	 * @deprecated 文字由 {@link CalendarSystem#labelFor} 提供, 请使用 {@link #setCurrentDate(Date, CalendarSystem)}
+	 */
+	@Deprecated
+	public class DatePickerNumericAdapter extends NumericWheelAdapter {
+		/**
+		 * 高亮条目下标
+		 */
+		private int highlightIndex;
+		private int middleIndex;
+		int minValue;
+		int maxValue;
+		//是否以农历显示
+		private boolean isLunar;
 
 		/**
-		 * Constructor
+		 * 构造器
+		 *
+		 * @param context   上下文
+		 * @param minValue  起始值
+		 * @param maxValue  最大值,结束值
+		 * @param initValue 起始值的下标index
+		 * @param isLunar   是否以农历显示
 		 */
-		public DatePickerArrayAdapter(Context context, String[] items, int initIndex) {
-			super(context, items);
-			this.highlightIndex = initIndex;
+		public DatePickerNumericAdapter(Context context, int minValue, int maxValue, int initValue, boolean isLunar) {
+			super(context, minValue, maxValue);
+			this.highlightIndex = initValue;
+			this.minValue = minValue;
+			this.maxValue = maxValue;
+			this.isLunar = isLunar;
 		}
 
 		@Override
 		protected void configureTextView(TextView view) {
 			super.configureTextView(view);
 			if (middleIndex == highlightIndex) {
-				view.setTypeface(Typeface.DEFAULT_BOLD);
-				view.setTextSize(18);
 				view.setTextColor(primaryTextColor);
+				view.setTextSize(18);
+				view.setTypeface(Typeface.DEFAULT_BOLD);
 			} else {
-				view.setTypeface(Typeface.DEFAULT);
-				view.setTextSize(16);
 				view.setTextColor(minorTextColor);
-
+				view.setTextSize(16);
+				view.setTypeface(Typeface.DEFAULT);
 			}
-
 		}
 
 		@Override
 		public View getItem(int index, View cachedView, ViewGroup parent) {
-			middleIndex = index;
+			this.middleIndex = index;
 			return super.getItem(index, cachedView, parent);
 		}
 
-		public void setHighlightIndex(int index) {
-			this.highlightIndex = index;
-			notifyDataChanged();
-		}
-
-		private void notifyDataChanged() {
-			notifyDataChangedEvent();
+		@Override
+		public CharSequence getItemText(int index) {
+			if (index >= 0 && index < getItemsCount()) {
+				int value = minValue + index;
+				if (value > 1900) { //输入'年'适配器
+					return isLunar ? Lunar.getHansYear(value) : Integer.toString(value) + "年";
+				} else {  //'天'适配器
+					return isLunar ? Lunar.getLunarDayString(value) : Integer.toString(value) + "日";
+				}
+			}
+			return "";
 		}
 	}
 
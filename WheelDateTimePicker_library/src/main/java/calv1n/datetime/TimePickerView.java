@@ -4,6 +4,7 @@ import android.content.Context;
 import android.content.res.TypedArray;
 import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
+import android.text.TextPaint;
 import android.util.AttributeSet;
 import android.view.LayoutInflater;
 import android.view.View;
@@ -163,6 +164,8 @@ public class TimePickerView extends LinearLayout {
 		wheel.setDrawShadows(false);
 		//无前景
 		wheel.setDrawForground(false);
+		//只显示文字, 由 WheelView 直接绘制
+		wheel.setDrawTextDirectly(true);
 		//wheel.setWheelBackground(R.drawable.transparent);
 		//wheel.setWheelCenter(R.drawable.wheel_default_forground);
 		//设置显示条目
@@ -242,6 +245,20 @@ public class TimePickerView extends LinearLayout {
 
 		}
 
+		@Override
+		public void configureTextPaint(int index, TextPaint paint) {
+			super.configureTextPaint(index, paint);
+			if (index == highlightIndex) {
+				paint.setColor(primaryTextColor);
+				paint.setTextSize(spToPx(18));
+				paint.setTypeface(Typeface.DEFAULT_BOLD);
+			} else {
+				paint.setColor(minorTextColor);
+				paint.setTextSize(spToPx(16));
+				paint.setTypeface(Typeface.DEFAULT);
+			}
+		}
+
 		@Override
 		public View getItem(int index, View cachedView, ViewGroup parent) {
 			middleIndex = index;
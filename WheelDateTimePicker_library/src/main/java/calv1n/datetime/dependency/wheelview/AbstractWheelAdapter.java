@@ -20,7 +20,7 @@ import android.database.DataSetObserver;
 import android.view.View;
 import android.view.ViewGroup;
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -38,7 +38,7 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
 	@Override
 	public void registerDataSetObserver(DataSetObserver observer) {
 		if (datasetObservers == null) {
-			datasetObservers = new LinkedList<DataSetObserver>();
+			datasetObservers = new ArrayList<DataSetObserver>();
 		}
 		datasetObservers.add(observer);
 	}
@@ -55,8 +55,9 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
 	 */
 	protected void notifyDataChangedEvent() {
 		if (datasetObservers != null) {
-			for (DataSetObserver observer : datasetObservers) {
-				observer.onChanged();
+			// indexed loop, no iterator per notification
+			for (int i = 0; i < datasetObservers.size(); i++) {
+				datasetObservers.get(i).onChanged();
 			}
 		}
 	}
@@ -66,8 +67,8 @@ public abstract class AbstractWheelAdapter implements WheelViewAdapter {
 	 */
 	protected void notifyDataInvalidatedEvent() {
 		if (datasetObservers != null) {
-			for (DataSetObserver observer : datasetObservers) {
-				observer.onInvalidated();
+			for (int i = 0; i < datasetObservers.size(); i++) {
+				datasetObservers.get(i).onInvalidated();
 			}
 		}
 	}
@@ -17,6 +17,7 @@ package calv1n.datetime.dependency.wheelview;
 
 import android.content.Context;
 import android.graphics.Typeface;
+import android.text.TextPaint;
 import android.view.LayoutInflater;
 import android.view.View;
 import android.view.ViewGroup;
@@ -26,7 +27,7 @@ import android.widget.TextView;
 /**
  * Abstract wheel adapter provides common functionality for adapters.
  */
-public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
+public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter implements WheelTextAdapter {
 
 	/**
 	 * Text view resource. Used as a default view for adapter.
@@ -62,6 +63,9 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
 	// Empty items resources
 	protected int emptyItemResourceId;
 
+	// Widest item text, null if unknown
+	private CharSequence widestItemText;
+
 	/**
 	 * Constructor
 	 *
@@ -170,6 +174,20 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
 	}
 
 
+	@Override
+	public CharSequence getWidestItemText() {
+		return widestItemText;
+	}
+
+	/**
+	 * Declares the widest item text so the wheel does not need to measure every item
+	 *
+	 * @param widestItemText the widest text, or null if unknown
+	 */
+	public void setWidestItemText(CharSequence widestItemText) {
+		this.widestItemText = widestItemText;
+	}
+
 	public Typeface getTypeface() {
 		return typeface;
 	}
@@ -184,9 +202,13 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
 	 * @param index the item index
 	 * @return the text of specified items
 	 */
-
 	protected abstract CharSequence getItemText(int index);
 
+	@Override
+	public CharSequence getTextForItem(int index) {
+		return getItemText(index);
+	}
+
 	@Override
 	public View getItem(int index, View convertView, ViewGroup parent) {
 		if (index >= 0 && index < getItemsCount()) {
@@ -236,6 +258,36 @@ public abstract class AbstractWheelTextAdapter extends AbstractWheelAdapter {
 		}
 	}
 
+	/**
+	 * Configures text paint the same way as {@link #configureTextView(TextView)} configures views.
+	 * Is called when the wheel draws text directly.
+	 *
+	 * @param index the item index
+	 * @param paint the text paint to be configured
+	 */
+	@Override
+	public void configureTextPaint(int index, TextPaint paint) {
+		if (textColor != 0) {
+			paint.setColor(textColor);
+		}
+		if (textSize != 0) {
+			paint.setTextSize(spToPx(textSize));
+		}
+		if (typeface != null) {
+			paint.setTypeface(typeface);
+		}
+	}
+
+	/**
+	 * Converts a text size in sp, as taken by {@link TextView#setTextSize(float)}, to pixels
+	 *
+	 * @param sp the size in sp
+	 * @return the size in pixels
+	 */
+	protected float spToPx(float sp) {
+		return sp * context.getResources().getDisplayMetrics().scaledDensity;
+	}
+
 	/**
 	 * Loads a text view from view
 	 *
@@ -84,4 +84,15 @@ public class ItemsRange {
 	public boolean contains(int index) {
 		return index >= getFirst() && index <= getLast();
 	}
+
+	/**
+	 * Sets the range. Lets the wheel reuse one instance instead of allocating a range per frame.
+	 *
+	 * @param first the number of first item
+	 * @param count the count of items
+	 */
+	void set(int first, int count) {
+		this.first = first;
+		this.count = count;
+	}
 }
\ No newline at end of file
@@ -33,6 +33,11 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
 	 */
 	private static final int DEFAULT_MIN_VALUE = 0;
 
+	/**
+	 * Item texts are cached for ranges up to this size
+	 */
+	private static final int MAX_CACHED_TEXTS = 1000;
+
 	// Values
 	private int minValue;
 	private int maxValue;
@@ -40,6 +45,9 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
 	// format
 	private String format;
 
+	// Formatted item texts, built on first use so that scrolling does not format again
+	private String[] itemTexts;
+
 	/**
 	 * Constructor
 	 *
@@ -79,12 +87,34 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
 	@Override
 	public CharSequence getItemText(int index) {
 		if (index >= 0 && index < getItemsCount()) {
-			int value = minValue + index;
-			return format != null ? String.format(format, value) : Integer.toString(value);
+			if (getItemsCount() > MAX_CACHED_TEXTS) {
+				return formatValue(minValue + index);
+			}
+			if (itemTexts == null) {
+				itemTexts = new String[getItemsCount()];
+			}
+			String text = itemTexts[index];
+			if (text == null) {
+				text = formatValue(minValue + index);
+				itemTexts[index] = text;
+			}
+			return text;
 		}
 		return null;
 	}
 
+	@Override
+	public CharSequence getWidestItemText() {
+		CharSequence widest = super.getWidestItemText();
+		if (widest == null && getItemsCount() > 0) {
+			// digits have equal widths in common fonts, so the longer end is the widest
+			CharSequence first = getItemText(0);
+			CharSequence last = getItemText(getItemsCount() - 1);
+			widest = last.length() >= first.length() ? last : first;
+		}
+		return widest;
+	}
+
 	@Override
 	public int getItemsCount() {
 		return maxValue - minValue + 1;
@@ -92,5 +122,16 @@ public class NumericWheelAdapter extends AbstractWheelTextAdapter {
 
 	public void setFormat(String format) {
 		this.format = format;
+		itemTexts = null;
+	}
+
+	/**
+	 * Formats the value
+	 *
+	 * @param value the value
+	 * @return the item text
+	 */
+	private String formatValue(int value) {
+		return format != null ? String.format(format, value) : Integer.toString(value);
 	}
 }
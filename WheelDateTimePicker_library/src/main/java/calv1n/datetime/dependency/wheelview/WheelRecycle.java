@@ -3,19 +3,40 @@ package calv1n.datetime.dependency.wheelview;
 import android.view.View;
 import android.widget.LinearLayout;
 
-import java.util.LinkedList;
-import java.util.List;
+import java.util.Arrays;
 
 /**
  * 滚动循环重用
+ * <p/>
+ * 条目和空条目分别放在各自的池中. 每个池是定长数组实现的栈, 池满时丢弃回收的View并计为淘汰,
+ * 取不到缓存时计为未命中(适配器将新建View). 可按统计结果调整各池的大小.
  * Created by duchengzhen on 2014/7/19.
  */
 public class WheelRecycle {
-	// Cached items
-	private List<View> items;
+	/**
+	 * 条目View
+	 */
+	public static final int TYPE_ITEM = 0;
+	/**
+	 * 空条目View(非循环时首尾之外的条目)
+	 */
+	public static final int TYPE_EMPTY_ITEM = 1;
+
+	/**
+	 * 每种View默认最多缓存的个数
+	 */
+	public static final int DEFAULT_MAX_SIZE = 10;
 
-	// Cached empty items
-	private List<View> emptyItems;
+	private static final int TYPE_COUNT = 2;
+
+	// Cached views, one stack per view type
+	private final View[][] pools = new View[TYPE_COUNT][];
+	private final int[] sizes = new int[TYPE_COUNT];
+
+	// Statistics per view type
+	private final long[] hitCounts = new long[TYPE_COUNT];
+	private final long[] missCounts = new long[TYPE_COUNT];
+	private final long[] evictionCounts = new long[TYPE_COUNT];
 
 	// Wheel view
 	private WheelView wheel;
@@ -27,6 +48,9 @@ public class WheelRecycle {
 	 */
 	public WheelRecycle(WheelView wheel) {
 		this.wheel = wheel;
+		for (int type = 0; type < TYPE_COUNT; type++) {
+			pools[type] = new View[DEFAULT_MAX_SIZE];
+		}
 	}
 
 	/**
@@ -62,7 +86,7 @@ public class WheelRecycle {
 	 * @return the cached view
 	 */
 	public View getItem() {
-		return getCachedView(items);
+		return getCachedView(TYPE_ITEM);
 	}
 
 	/**
@@ -71,35 +95,98 @@ public class WheelRecycle {
 	 * @return the cached empty view
 	 */
 	public View getEmptyItem() {
-		return getCachedView(emptyItems);
+		return getCachedView(TYPE_EMPTY_ITEM);
 	}
 
 	/**
 	 * Clears all views
 	 */
 	public void clearAll() {
-		if (items != null) {
-			items.clear();
-		}
-		if (emptyItems != null) {
-			emptyItems.clear();
+		for (int type = 0; type < TYPE_COUNT; type++) {
+			Arrays.fill(pools[type], 0, sizes[type], null);
+			sizes[type] = 0;
 		}
 	}
 
 	/**
-	 * Adds view to specified cache. Creates a cache list if it is null.
+	 * 设置某种View最多缓存的个数, 超出的已缓存View被丢弃(不计为淘汰)
 	 *
-	 * @param view  the view to be cached
-	 * @param cache the cache list
-	 * @return the cache list
+	 * @param type    {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @param maxSize 最多缓存的个数, 0 表示不缓存
+	 * @throws IllegalArgumentException 类型不存在或 maxSize 小于0
 	 */
-	private List<View> addView(View view, List<View> cache) {
-		if (cache == null) {
-			cache = new LinkedList<View>();
+	public void setMaxSize(int type, int maxSize) {
+		checkType(type);
+		if (maxSize < 0) {
+			throw new IllegalArgumentException("缓存大小不能小于0: " + maxSize);
 		}
+		sizes[type] = Math.min(sizes[type], maxSize);
+		pools[type] = Arrays.copyOf(pools[type], maxSize);
+	}
 
-		cache.add(view);
-		return cache;
+	/**
+	 * 某种View最多缓存的个数
+	 *
+	 * @param type {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @return 最多缓存的个数
+	 */
+	public int getMaxSize(int type) {
+		checkType(type);
+		return pools[type].length;
+	}
+
+	/**
+	 * 某种View当前缓存的个数
+	 *
+	 * @param type {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @return 缓存的个数
+	 */
+	public int size(int type) {
+		checkType(type);
+		return sizes[type];
+	}
+
+	/**
+	 * 从缓存中取到View的次数
+	 *
+	 * @param type {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @return 命中次数
+	 */
+	public long getHitCount(int type) {
+		checkType(type);
+		return hitCounts[type];
+	}
+
+	/**
+	 * 缓存为空的次数, 每次都由适配器新建View
+	 *
+	 * @param type {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @return 未命中次数
+	 */
+	public long getMissCount(int type) {
+		checkType(type);
+		return missCounts[type];
+	}
+
+	/**
+	 * 因缓存已满而丢弃回收View的次数
+	 *
+	 * @param type {@link #TYPE_ITEM} 或 {@link #TYPE_EMPTY_ITEM}
+	 * @return 淘汰次数
+	 */
+	public long getEvictionCount(int type) {
+		checkType(type);
+		return evictionCounts[type];
+	}
+
+	@Override
+	public String toString() {
+		return "WheelRecycle[items=" + describe(TYPE_ITEM) + ", emptyItems=" + describe(TYPE_EMPTY_ITEM) + "]";
+	}
+
+	private String describe(int type) {
+		return sizes[type] + "/" + pools[type].length + " hits=" + hitCounts[type]
+				+ " misses=" + missCounts[type] + " evictions=" + evictionCounts[type];
 	}
 
 	/**
@@ -113,29 +200,48 @@ public class WheelRecycle {
 
 		if ((index < 0 || index >= count) && !wheel.isCyclic()) {
 			// empty view
-			emptyItems = addView(view, emptyItems);
+			addView(view, TYPE_EMPTY_ITEM);
 		} else {
-			while (index < 0) {
-				index = count + index;
-			}
-			index %= count;
-			items = addView(view, items);
+			addView(view, TYPE_ITEM);
+		}
+	}
+
+	/**
+	 * Adds view to the cache of specified type. Drops the view when the cache is full.
+	 *
+	 * @param view the view to be cached
+	 * @param type the view type
+	 */
+	private void addView(View view, int type) {
+		View[] pool = pools[type];
+		if (sizes[type] < pool.length) {
+			pool[sizes[type]++] = view;
+		} else {
+			evictionCounts[type]++;
 		}
 	}
 
 	/**
-	 * Gets view from specified cache.
+	 * Gets view from the cache of specified type.
 	 *
-	 * @param cache the cache
-	 * @return the first view from cache.
-	 */
-	private View getCachedView(List<View> cache) {
-		if (cache != null && cache.size() > 0) {
-			View view = cache.get(0);
-			cache.remove(0);
-			return view;
+	 * @param type the view type
+	 * @return the last cached view, or null if the cache is empty
+	 */
+	private View getCachedView(int type) {
+		if (sizes[type] == 0) {
+			missCounts[type]++;
+			return null;
 		}
-		return null;
+		hitCounts[type]++;
+		int top = --sizes[type];
+		View view = pools[type][top];
+		pools[type][top] = null;
+		return view;
 	}
 
+	private static void checkType(int type) {
+		if (type < 0 || type >= TYPE_COUNT) {
+			throw new IllegalArgumentException("View类型不存在: " + type);
+		}
+	}
 }
@@ -0,0 +1,36 @@
+package calv1n.datetime.dependency.wheelview;
+
+import android.text.TextPaint;
+
+/**
+ * Wheel adapter whose items are plain text.
+ * <p/>
+ * When {@link WheelView#setDrawTextDirectly(boolean)} is enabled the wheel draws the text
+ * of each visible row itself and never asks the adapter for item views.
+ */
+public interface WheelTextAdapter extends WheelViewAdapter {
+	/**
+	 * Returns text drawn for specified item. {@link AbstractWheelTextAdapter} forwards
+	 * this to its protected getItemText, so existing subclasses need no changes.
+	 *
+	 * @param index the item index
+	 * @return the text of specified item
+	 */
+	public CharSequence getTextForItem(int index);
+
+	/**
+	 * Gets the widest item text, used to size the wheel without measuring every item
+	 *
+	 * @return the widest text, or null to let the wheel measure all items once
+	 */
+	public CharSequence getWidestItemText();
+
+	/**
+	 * Configures the paint used to draw specified item. The paint is reset to the
+	 * wheel defaults before every call.
+	 *
+	 * @param index the item index
+	 * @param paint the shared text paint
+	 */
+	public void configureTextPaint(int index, TextPaint paint);
+}
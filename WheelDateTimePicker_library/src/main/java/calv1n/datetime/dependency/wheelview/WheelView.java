@@ -3,8 +3,11 @@ package calv1n.datetime.dependency.wheelview;
 import android.content.Context;
 import android.database.DataSetObserver;
 import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.graphics.Typeface;
 import android.graphics.drawable.Drawable;
 import android.graphics.drawable.GradientDrawable;
+import android.text.TextPaint;
 import android.util.AttributeSet;
 import android.view.MotionEvent;
 import android.view.View;
@@ -13,7 +16,7 @@ import android.view.animation.Interpolator;
 import android.widget.LinearLayout;
 
 
-import java.util.LinkedList;
+import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -42,6 +45,24 @@ public class WheelView extends View {
 	 */
 	private static final int DEF_VISIBLE_ITEMS = 5;
 
+	/**
+	 * 直接绘制文字时的默认字号(sp)和默认颜色, 与 res/drawable/wheel_item.xml 中 tv_wheel_item 的
+	 * textSize="15sp" 和 TextView 的默认黑色一致
+	 */
+	private static final int DEF_TEXT_SIZE_SP = 15;
+	private static final int DEF_TEXT_COLOR = 0xFF000000;
+
+	/**
+	 * 直接绘制文字时条目上下的留白(dp), 与 res/drawable/wheel_item.xml 中 tv_wheel_item 的
+	 * layout_marginTop/layout_marginBottom="10dp" 一致
+	 */
+	private static final int TEXT_ITEM_PADDING_DP = 10;
+
+	/**
+	 * 缓存的基线偏移个数, 通常只有普通和高亮两种字号
+	 */
+	private static final int BASELINE_CACHE_SIZE = 4;
+
 	// Wheel当前条目
 	private int currentItem = 0;
 
@@ -50,6 +71,8 @@ public class WheelView extends View {
 
 	//条目高
 	private int itemHeight = 0;
+	//固定的条目高, 0表示自动
+	private int fixedItemHeight = 0;
 
 	//中心线
 	private Drawable centerDrawable;
@@ -66,6 +89,23 @@ public class WheelView extends View {
 	//是否画出前景色
 	private boolean drawForground = false;
 
+	//是否直接绘制文字(适配器须实现 WheelTextAdapter), 不创建条目View
+	private boolean drawTextDirectly = false;
+	//直接绘制文字时共用的画笔及其默认值
+	private TextPaint textPaint;
+	private float defaultTextSize;
+	private int textItemPadding;
+	private final Paint.FontMetrics fontMetrics = new Paint.FontMetrics();
+	//按字号和字体缓存的基线偏移(基线相对条目中心)
+	private final float[] baselineTextSizes = new float[BASELINE_CACHE_SIZE];
+	private final Typeface[] baselineTypefaces = new Typeface[BASELINE_CACHE_SIZE];
+	private final float[] baselineOffsets = new float[BASELINE_CACHE_SIZE];
+	private int baselineCacheCount;
+	private int baselineCacheNext;
+	//缓存的最宽文字宽度及计算时的条目数, 宽度小于0表示需要重新计算(每次 invalidateWheel 时置为-1)
+	private float widestTextWidth = -1;
+	private int widestTextCount;
+
 	// Scrolling
 	private WheelScroller scroller;
 	private boolean isScrollingPerformed;
@@ -85,11 +125,16 @@ public class WheelView extends View {
 
 	//滚动循环
 	private WheelRecycle recycle = new WheelRecycle(this);
+	//可见条目区间, 每帧复用, 不再每次新建
+	private final ItemsRange itemsRange = new ItemsRange();
+	//空区间, 用于回收全部条目
+	private final ItemsRange emptyRange = new ItemsRange();
 
 	//监听器
-	private List<OnWheelChangedListener> changingListeners = new LinkedList<OnWheelChangedListener>();
-	private List<OnWheelScrollListener> scrollingListeners = new LinkedList<OnWheelScrollListener>();
-	private List<OnWheelClickedListener> clickingListeners = new LinkedList<OnWheelClickedListener>();
+	// 按下标遍历, 滚动时通知监听不创建迭代器
+	private List<OnWheelChangedListener> changingListeners = new ArrayList<OnWheelChangedListener>();
+	private List<OnWheelScrollListener> scrollingListeners = new ArrayList<OnWheelScrollListener>();
+	private List<OnWheelClickedListener> clickingListeners = new ArrayList<OnWheelClickedListener>();
 
 	/**
 	 * 构造器
@@ -122,6 +167,13 @@ public class WheelView extends View {
 	 */
 	private void initData(Context context) {
 		scroller = new WheelScroller(getContext(), scrollingListener);
+
+		float scaledDensity = context.getResources().getDisplayMetrics().scaledDensity;
+		float density = context.getResources().getDisplayMetrics().density;
+		defaultTextSize = DEF_TEXT_SIZE_SP * scaledDensity;
+		textItemPadding = (int) (TEXT_ITEM_PADDING_DP * density + 0.5f);
+		textPaint = new TextPaint(Paint.ANTI_ALIAS_FLAG);
+		textPaint.setTextAlign(Paint.Align.CENTER);
 	}
 
 	// Scrolling listener
@@ -144,6 +196,7 @@ public class WheelView extends View {
 				scrollingOffset = -height;
 				scroller.stopScrolling();
 			}
+			updateView();
 		}
 
 		@Override
@@ -154,6 +207,7 @@ public class WheelView extends View {
 			}
 
 			scrollingOffset = 0;
+			updateView();
 			invalidate();
 		}
 
@@ -203,6 +257,15 @@ public class WheelView extends View {
 		return viewAdapter;
 	}
 
+	/**
+	 * 条目View的缓存池, 可读取命中统计并调整各类View的缓存大小
+	 *
+	 * @return 缓存池
+	 */
+	public WheelRecycle getRecycle() {
+		return recycle;
+	}
+
 	// Adapter listener
 	private DataSetObserver dataObserver = new DataSetObserver() {
 		@Override
@@ -231,6 +294,7 @@ public class WheelView extends View {
 			this.viewAdapter.registerDataSetObserver(dataObserver);
 		}
 
+		itemHeight = fixedItemHeight;
 		invalidateWheel(true);
 	}
 
@@ -259,8 +323,8 @@ public class WheelView extends View {
 	 * @param newValue the new wheel value
 	 */
 	protected void notifyChangingListeners(int oldValue, int newValue) {
-		for (OnWheelChangedListener listener : changingListeners) {
-			listener.onChanged(this, oldValue, newValue);
+		for (int i = 0; i < changingListeners.size(); i++) {
+			changingListeners.get(i).onChanged(this, oldValue, newValue);
 		}
 	}
 
@@ -286,8 +350,8 @@ public class WheelView extends View {
 	 * Notifies listeners about starting scrolling
 	 */
 	protected void notifyScrollingListenersAboutStart() {
-		for (OnWheelScrollListener listener : scrollingListeners) {
-			listener.onScrollingStarted(this);
+		for (int i = 0; i < scrollingListeners.size(); i++) {
+			scrollingListeners.get(i).onScrollingStarted(this);
 		}
 	}
 
@@ -295,8 +359,8 @@ public class WheelView extends View {
 	 * Notifies listeners about ending scrolling
 	 */
 	protected void notifyScrollingListenersAboutEnd() {
-		for (OnWheelScrollListener listener : scrollingListeners) {
-			listener.onScrollingFinished(this);
+		for (int i = 0; i < scrollingListeners.size(); i++) {
+			scrollingListeners.get(i).onScrollingFinished(this);
 		}
 	}
 
@@ -322,8 +386,8 @@ public class WheelView extends View {
 	 * Notifies listeners about clicking
 	 */
 	protected void notifyClickListenersAboutClick(int item) {
-		for (OnWheelClickedListener listener : clickingListeners) {
-			listener.onItemClicked(this, item);
+		for (int i = 0; i < clickingListeners.size(); i++) {
+			clickingListeners.get(i).onItemClicked(this, item);
 		}
 	}
 
@@ -371,16 +435,26 @@ public class WheelView extends View {
 			} else {
 				scrollingOffset = 0;
 
-				int old = currentItem;
-				currentItem = index;
-
-				notifyChangingListeners(old, currentItem);
+				changeCurrentItem(index);
 
+				updateView();
 				invalidate();
 			}
 		}
 	}
 
+	/**
+	 * Changes current item and notifies changing listeners
+	 *
+	 * @param index the new current item
+	 */
+	private void changeCurrentItem(int index) {
+		int old = currentItem;
+		currentItem = index;
+
+		notifyChangingListeners(old, currentItem);
+	}
+
 	/**
 	 * Sets the current item w/o animation. Does nothing when index is wrong.
 	 *
@@ -431,6 +505,47 @@ public class WheelView extends View {
 		this.drawForground = drawForground;
 	}
 
+	/**
+	 * 设置是否直接绘制文字
+	 * <p/>
+	 * 开启后, 若适配器实现了 {@link WheelTextAdapter}, 每个可见条目只用共用的画笔画一次文字,
+	 * 不创建、不添加条目View, 也不对条目测量和布局. 适配器不是文字适配器时仍使用条目View.
+	 *
+	 * @param drawTextDirectly 是否直接绘制文字
+	 */
+	public void setDrawTextDirectly(boolean drawTextDirectly) {
+		if (this.drawTextDirectly != drawTextDirectly) {
+			this.drawTextDirectly = drawTextDirectly;
+			itemHeight = fixedItemHeight;
+			invalidateWheel(true);
+			requestLayout();
+		}
+	}
+
+	/**
+	 * 设置固定的条目高度
+	 * <p/>
+	 * 固定高度后, 宽度由父布局确定时测量不再创建条目View, 滚动也不依赖条目View的尺寸.
+	 * 直接绘制文字时默认已由字体度量得出固定高度, 通常无需设置.
+	 *
+	 * @param height 条目高度(px), 0表示自动
+	 */
+	public void setItemHeight(int height) {
+		fixedItemHeight = height;
+		itemHeight = height;
+		requestLayout();
+		invalidate();
+	}
+
+	/**
+	 * 是否直接绘制文字
+	 *
+	 * @return 开启直接绘制且适配器为文字适配器时返回 true
+	 */
+	public boolean isDrawingTextDirectly() {
+		return drawTextDirectly && viewAdapter instanceof WheelTextAdapter;
+	}
+
 	/**
 	 * 设置阴影渐变色
 	 *
@@ -466,6 +581,8 @@ public class WheelView extends View {
 	 * @param clearCaches if true then cached views will be clear
 	 */
 	public void invalidateWheel(boolean clearCaches) {
+		// 条目文字可能已改变(如 onChanged), 条目数不变时也要重新测量最宽文字
+		widestTextWidth = -1;
 		if (clearCaches) {
 			recycle.clearAll();
 			if (itemsLayout != null) {
@@ -474,9 +591,10 @@ public class WheelView extends View {
 			scrollingOffset = 0;
 		} else if (itemsLayout != null) {
 			// cache all items
-			recycle.recycleItems(itemsLayout, firstItem, new ItemsRange());
+			recycle.recycleItems(itemsLayout, firstItem, emptyRange);
 		}
 
+		updateView();
 		invalidate();
 	}
 
@@ -508,7 +626,7 @@ public class WheelView extends View {
 	 * @return the desired layout height
 	 */
 	private int getDesiredHeight(LinearLayout layout) {
-		if (layout != null && layout.getChildAt(0) != null) {
+		if (fixedItemHeight == 0 && layout != null && layout.getChildAt(0) != null) {
 			itemHeight = layout.getChildAt(0).getMeasuredHeight();
 		}
 
@@ -528,6 +646,14 @@ public class WheelView extends View {
 			return itemHeight;
 		}
 
+		if (isDrawingTextDirectly()) {
+			//由默认字号的字体度量加上下留白得出, 与 wheel_item.xml 中条目的高度一致
+			resetTextPaint();
+			textPaint.getFontMetrics(fontMetrics);
+			itemHeight = (int) Math.ceil(fontMetrics.descent - fontMetrics.ascent) + 2 * textItemPadding;
+			return itemHeight;
+		}
+
 		if (itemsLayout != null && itemsLayout.getChildAt(0) != null) {
 			itemHeight = itemsLayout.getChildAt(0).getHeight();
 			return itemHeight;
@@ -543,9 +669,23 @@ public class WheelView extends View {
 		int widthSize = MeasureSpec.getSize(widthMeasureSpec);
 		int heightSize = MeasureSpec.getSize(heightMeasureSpec);
 
+		if (isDrawingTextDirectly()) {
+			setMeasuredDimension(calculateTextWidth(widthSize, widthMode),
+					resolveItemsHeight(heightSize, heightMode));
+			return;
+		}
+
+		if (widthMode == MeasureSpec.EXACTLY && fixedItemHeight > 0) {
+			//宽度和条目高度已知, 不必为测量创建条目View, 条目在绘制前按需创建
+			initResourcesIfNecessary();
+			createItemsLayout();
+			setMeasuredDimension(widthSize, resolveItemsHeight(heightSize, heightMode));
+			return;
+		}
+
 		// clear all items
 		if (itemsLayout != null) {
-			recycle.recycleItems(itemsLayout, firstItem, new ItemsRange());
+			recycle.recycleItems(itemsLayout, firstItem, emptyRange);
 		} else {
 			createItemsLayout();
 		}
@@ -573,9 +713,31 @@ public class WheelView extends View {
 		setMeasuredDimension(width, height);
 	}
 
+	/**
+	 * 条目高度已知时的控件高度
+	 *
+	 * @param heightSize the input layout height
+	 * @param mode       the layout mode
+	 * @return the calculated control height
+	 */
+	private int resolveItemsHeight(int heightSize, int mode) {
+		if (mode == MeasureSpec.EXACTLY) {
+			return heightSize;
+		}
+		int height = Math.max(getItemHeight() * visibleItems, getSuggestedMinimumHeight());
+		if (mode == MeasureSpec.AT_MOST) {
+			height = Math.min(height, heightSize);
+		}
+		return height;
+	}
+
 	@Override
 	protected void onLayout(boolean changed, int l, int t, int r, int b) {
-		layout(r - l, b - t);
+		if (itemsLayout != null) {
+			layout(r - l, b - t);
+		}
+		//尺寸确定后准备好可见条目
+		updateView();
 	}
 
 	/**
@@ -600,16 +762,13 @@ public class WheelView extends View {
 	private int calculateLayoutWidth(int widthSize, int mode) {
 		initResourcesIfNecessary();
 
-		// TODO: make it static
-		itemsLayout.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT, ViewGroup.LayoutParams.WRAP_CONTENT));
-		itemsLayout.measure(MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
-				MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
-		int width = itemsLayout.getMeasuredWidth();
-
+		int width;
 		if (mode == MeasureSpec.EXACTLY) {
 			width = widthSize;
 		} else {
-			width += 2 * PADDING;
+			itemsLayout.measure(MeasureSpec.makeMeasureSpec(widthSize, MeasureSpec.UNSPECIFIED),
+					MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+			width = itemsLayout.getMeasuredWidth() + 2 * PADDING;
 
 			// Check against our minimum width
 			width = Math.max(width, getSuggestedMinimumWidth());
@@ -619,9 +778,73 @@ public class WheelView extends View {
 			}
 		}
 
+		measureItemsLayout(width);
+
+		return width;
+	}
+
+	/**
+	 * Measures items layout for the known control width
+	 *
+	 * @param width the control width
+	 */
+	private void measureItemsLayout(int width) {
 		itemsLayout.measure(MeasureSpec.makeMeasureSpec(width - 2 * PADDING, MeasureSpec.EXACTLY),
 				MeasureSpec.makeMeasureSpec(0, MeasureSpec.UNSPECIFIED));
+	}
 
+	/**
+	 * 直接绘制文字时的控件宽度: 最宽的文字加左右padding
+	 *
+	 * @param widthSize the input layout width
+	 * @param mode      the layout mode
+	 * @return the calculated control width
+	 */
+	private int calculateTextWidth(int widthSize, int mode) {
+		initResourcesIfNecessary();
+		if (mode == MeasureSpec.EXACTLY) {
+			return widthSize;
+		}
+
+		int width = Math.max((int) Math.ceil(getWidestTextWidth()) + 2 * PADDING, getSuggestedMinimumWidth());
+		if (mode == MeasureSpec.AT_MOST && widthSize < width) {
+			width = widthSize;
+		}
+		return width;
+	}
+
+	/**
+	 * 最宽文字的宽度, 适配器数据或条目数变化前只计算一次
+	 * <p/>
+	 * 适配器声明了最宽的文字时只量这一条, 否则量全部条目. 都按当前条目的样式测量,
+	 * 当前条目通常是字号最大的.
+	 *
+	 * @return 文字宽度
+	 */
+	private float getWidestTextWidth() {
+		WheelTextAdapter adapter = (WheelTextAdapter) viewAdapter;
+		int count = adapter.getItemsCount();
+		if (widestTextWidth >= 0 && widestTextCount == count) {
+			return widestTextWidth;
+		}
+		float width = 0;
+		if (count > 0) {
+			resetTextPaint();
+			adapter.configureTextPaint(toAdapterIndex(currentItem), textPaint);
+			CharSequence widest = adapter.getWidestItemText();
+			if (widest != null) {
+				width = textPaint.measureText(widest, 0, widest.length());
+			} else {
+				for (int i = 0; i < count; i++) {
+					CharSequence text = adapter.getTextForItem(i);
+					if (text != null) {
+						width = Math.max(width, textPaint.measureText(text, 0, text.length()));
+					}
+				}
+			}
+		}
+		widestTextWidth = width;
+		widestTextCount = count;
 		return width;
 	}
 
@@ -629,13 +852,14 @@ public class WheelView extends View {
 	protected void onDraw(Canvas canvas) {
 		super.onDraw(canvas);
 
-		if (viewAdapter != null && viewAdapter.getItemsCount() > 0) {
-			if (rebuildItems()) {
-				calculateLayoutWidth(getWidth(), MeasureSpec.EXACTLY);
-				layout(getWidth(), getHeight());
-			}
+		if (isDrawingTextDirectly() && viewAdapter.getItemsCount() > 0) {
+			drawTextItems(canvas);
 
-			//画条目
+			if (drawForground) {
+				drawCenterRect(canvas);
+			}
+		} else if (viewAdapter != null && viewAdapter.getItemsCount() > 0 && itemsLayout != null) {
+			//画条目, 条目已在 updateView() 中准备好
 			canvas.save();
 			int top = (currentItem - firstItem) * getItemHeight() + (getItemHeight() - getHeight()) / 2;
 			canvas.translate(PADDING, -top + scrollingOffset);
@@ -651,6 +875,71 @@ public class WheelView extends View {
 		if (drawShadows) drawShadows(canvas);
 	}
 
+	/**
+	 * 直接绘制可见条目的文字, 当前条目的中心在控件中心(加上滚动偏移)
+	 *
+	 * @param canvas the canvas for drawing
+	 */
+	private void drawTextItems(Canvas canvas) {
+		WheelTextAdapter adapter = (WheelTextAdapter) viewAdapter;
+		int itemHeight = getItemHeight();
+		int height = getHeight();
+		float x = getWidth() / 2f;
+		int center = height / 2 + scrollingOffset;
+		//当前条目上下可能露出的条目数
+		int rows = (height / 2 + Math.abs(scrollingOffset)) / itemHeight + 1;
+		for (int i = -rows; i <= rows; i++) {
+			int rowCenter = center + i * itemHeight;
+			if (rowCenter + itemHeight / 2 < 0 || rowCenter - itemHeight / 2 > height
+					|| !isValidItemIndex(currentItem + i)) {
+				continue;
+			}
+			int index = toAdapterIndex(currentItem + i);
+			CharSequence text = adapter.getTextForItem(index);
+			if (text == null) {
+				continue;
+			}
+			resetTextPaint();
+			adapter.configureTextPaint(index, textPaint);
+			canvas.drawText(text, 0, text.length(), x, rowCenter + getBaselineOffset(textPaint), textPaint);
+		}
+	}
+
+	/**
+	 * 把画笔恢复为默认样式
+	 */
+	private void resetTextPaint() {
+		textPaint.setColor(DEF_TEXT_COLOR);
+		textPaint.setTextSize(defaultTextSize);
+		textPaint.setTypeface(Typeface.DEFAULT);
+		textPaint.setFakeBoldText(false);
+	}
+
+	/**
+	 * 文字基线相对条目中心的偏移, 按字号和字体缓存
+	 *
+	 * @param paint 已设置好样式的画笔
+	 * @return 基线偏移
+	 */
+	private float getBaselineOffset(TextPaint paint) {
+		float textSize = paint.getTextSize();
+		Typeface typeface = paint.getTypeface();
+		for (int i = 0; i < baselineCacheCount; i++) {
+			if (baselineTextSizes[i] == textSize && baselineTypefaces[i] == typeface) {
+				return baselineOffsets[i];
+			}
+		}
+		paint.getFontMetrics(fontMetrics);
+		float offset = -(fontMetrics.ascent + fontMetrics.descent) / 2;
+		int slot = baselineCacheNext;
+		baselineCacheNext = (slot + 1) % BASELINE_CACHE_SIZE;
+		baselineCacheCount = Math.max(baselineCacheCount, slot + 1);
+		baselineTextSizes[slot] = textSize;
+		baselineTypefaces[slot] = typeface;
+		baselineOffsets[slot] = offset;
+		return offset;
+	}
+
 	/**
 	 * Draws shadows on top and bottom of control
 	 *
@@ -759,9 +1048,8 @@ public class WheelView extends View {
 
 		int offset = scrollingOffset;
 		if (pos != currentItem) {
-			setCurrentItem(pos, false);
-		} else {
-			invalidate();
+			scrollingOffset = 0;
+			changeCurrentItem(pos);
 		}
 
 		// update offset
@@ -769,6 +1057,7 @@ public class WheelView extends View {
 		if (scrollingOffset > getHeight()) {
 			scrollingOffset = scrollingOffset % getHeight() + getHeight();
 		}
+		invalidate();
 	}
 
 	/**
@@ -785,7 +1074,7 @@ public class WheelView extends View {
 	/**
 	 * Calculates range for wheel items
 	 *
-	 * @return the items range
+	 * @return the items range, reused between calls
 	 */
 	private ItemsRange getItemsRange() {
 		if (getItemHeight() == 0) {
@@ -811,7 +1100,8 @@ public class WheelView extends View {
 			first -= emptyItems;
 			count += Math.asin(emptyItems);
 		}
-		return new ItemsRange(first, count);
+		itemsRange.set(first, count);
+		return itemsRange;
 	}
 
 	/**
@@ -859,10 +1149,17 @@ public class WheelView extends View {
 
 	/**
 	 * Updates view. Rebuilds items and label if necessary, recalculate items sizes.
+	 * <p/>
+	 * 在当前条目、滚动偏移、数据或尺寸改变时调用, onDraw 只绘制已准备好的条目.
+	 * 直接绘制文字或尚未确定尺寸时无需准备.
 	 */
 	private void updateView() {
+		if (isDrawingTextDirectly() || viewAdapter == null || viewAdapter.getItemsCount() == 0
+				|| getWidth() == 0 || getItemHeight() == 0) {
+			return;
+		}
 		if (rebuildItems()) {
-			calculateLayoutWidth(getWidth(), MeasureSpec.EXACTLY);
+			measureItemsLayout(getWidth());
 			layout(getWidth(), getHeight());
 		}
 	}
@@ -874,6 +1171,8 @@ public class WheelView extends View {
 		if (itemsLayout == null) {
 			itemsLayout = new LinearLayout(getContext());
 			itemsLayout.setOrientation(LinearLayout.VERTICAL);
+			itemsLayout.setLayoutParams(new ViewGroup.LayoutParams(ViewGroup.LayoutParams.WRAP_CONTENT,
+					ViewGroup.LayoutParams.WRAP_CONTENT));
 			//todo 尝试修改这里
 			//itemsLayout.setGravity(Gravity.CENTER);
 		}
@@ -885,7 +1184,7 @@ public class WheelView extends View {
 	private void buildViewForMeasuring() {
 		// clear all items
 		if (itemsLayout != null) {
-			recycle.recycleItems(itemsLayout, firstItem, new ItemsRange());
+			recycle.recycleItems(itemsLayout, firstItem, emptyRange);
 		} else {
 			createItemsLayout();
 		}
@@ -932,6 +1231,18 @@ public class WheelView extends View {
 				(isCyclic || index >= 0 && index < viewAdapter.getItemsCount());
 	}
 
+	/**
+	 * 循环滚动时把条目序号折算为适配器下标
+	 *
+	 * @param index the item index, may be out of bounds for cyclic wheels
+	 * @return the adapter index
+	 */
+	private int toAdapterIndex(int index) {
+		int count = viewAdapter.getItemsCount();
+		index %= count;
+		return index < 0 ? index + count : index;
+	}
+
 	/**
 	 * Returns view for specified item
 	 *
@@ -0,0 +1,174 @@
+package calv1n.datetime;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.util.DisplayMetrics;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Calendar;
+import java.util.Date;
+import java.util.List;
+
+import calv1n.datetime.dependency.CalendarSystem;
+import calv1n.datetime.dependency.GregorianCalendarSystem;
+import calv1n.datetime.dependency.LunarCalendarSystem;
+import calv1n.datetime.dependency.wheelview.WheelTextAdapter;
+import calv1n.datetime.dependency.wheelview.WheelView;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+/**
+ * 滚动年、月、日滚轮时 {@link DatePickerView.OnDateChangedListener} 只通知一次, 且通知的是联动刷新后的日期
+ * <p/>
+ * 在 JVM 上运行, android.jar 的方法返回默认值(见 build.gradle 的 testOptions), 不加载布局
+ */
+public class DatePickerViewTest {
+
+	@Test
+	public void yearChangeNotifiesOnce() {
+		Picker picker = new Picker();
+		picker.view.setCurrentDate(date(2015, 0, 31), GregorianCalendarSystem.INSTANCE);
+		assertEquals(0, picker.dates.size());
+
+		picker.year.setCurrentItem(picker.year.getCurrentItem() + 1);
+		assertEquals(1, picker.dates.size());
+		assertEquals(epochDay(2016, 0, 31), (int) picker.dates.get(0));
+	}
+
+	@Test
+	public void yearChangeClampingMonthNotifiesOnce() {
+		// 丁酉年闰六月, 共13个月; 选中腊月后切换到戊戌年(12个月), 月份要联动改为最后一个月
+		Picker picker = new Picker();
+		CalendarSystem lunar = LunarCalendarSystem.INSTANCE;
+		picker.view.setCurrentDate(gregorian(lunar.toEpochDay(2017, 12, 10)), lunar);
+		assertEquals(12, picker.month.getCurrentItem());
+
+		picker.year.setCurrentItem(picker.year.getCurrentItem() + 1);
+		assertEquals(11, picker.month.getCurrentItem());
+		assertEquals(1, picker.dates.size());
+		assertEquals(lunar.toEpochDay(2018, 11, 10), (int) picker.dates.get(0));
+	}
+
+	@Test
+	public void yearChangeClampingDayNotifiesOnce() {
+		Picker picker = new Picker();
+		picker.view.setCurrentDate(date(2016, 1, 29), GregorianCalendarSystem.INSTANCE);
+
+		picker.year.setCurrentItem(picker.year.getCurrentItem() + 1);
+		assertEquals(27, picker.day.getCurrentItem());
+		assertEquals(1, picker.dates.size());
+		assertEquals(epochDay(2017, 1, 28), (int) picker.dates.get(0));
+	}
+
+	@Test
+	public void monthAndDayChangesNotifyOnceEach() {
+		Picker picker = new Picker();
+		picker.view.setCurrentDate(date(2015, 0, 31), GregorianCalendarSystem.INSTANCE);
+
+		picker.month.setCurrentItem(1);
+		assertEquals(1, picker.dates.size());
+		assertEquals(epochDay(2015, 1, 28), (int) picker.dates.get(0));
+
+		picker.day.setCurrentItem(0);
+		assertEquals(2, picker.dates.size());
+		assertEquals(epochDay(2015, 1, 1), (int) picker.dates.get(1));
+	}
+
+	@Test
+	public void adaptersDeclareWidestLabel() {
+		Picker picker = new Picker();
+		// 丁酉年的闰六月比其他月份多一个字
+		picker.view.setCurrentDate(gregorian(LunarCalendarSystem.INSTANCE.toEpochDay(2017, 0, 1)),
+				LunarCalendarSystem.INSTANCE);
+		assertEquals("闰六月", widest(picker.month));
+		assertEquals("初一", widest(picker.day));
+
+		// 只改变高亮条目时沿用同一条文字, 滚轮不必重新量全部条目
+		CharSequence year = widest(picker.year);
+		assertEquals(5, year.length());
+		picker.year.setCurrentItem(picker.year.getCurrentItem() + 1);
+		assertSame(year, widest(picker.year));
+
+		picker.view.setCurrentDate(date(2015, 0, 31), GregorianCalendarSystem.INSTANCE);
+		assertEquals("10月", widest(picker.month));
+		assertEquals("10日", widest(picker.day));
+	}
+
+	private static CharSequence widest(WheelView wheel) {
+		return ((WheelTextAdapter) wheel.getViewAdapter()).getWidestItemText();
+	}
+
+	private static Date date(int year, int monthOfYear, int dayOfMonth) {
+		Calendar cal = Calendar.getInstance();
+		cal.clear();
+		cal.set(year, monthOfYear, dayOfMonth);
+		return cal.getTime();
+	}
+
+	private static Date gregorian(int epochDay) {
+		int date = GregorianCalendarSystem.INSTANCE.fromEpochDay(epochDay);
+		return date(date >> 9, (date >> 5) & 0xf, date & 0x1f);
+	}
+
+	private static int epochDay(int year, int monthOfYear, int dayOfMonth) {
+		return GregorianCalendarSystem.INSTANCE.toEpochDay(year, monthOfYear, dayOfMonth);
+	}
+
+	/**
+	 * 日期选择器和它的滚轮, 记录每次通知的日期(距 1970/1/1 的天数)
+	 */
+	private static class Picker implements DatePickerView.OnDateChangedListener {
+		final WheelView year;
+		final WheelView month;
+		final WheelView day;
+		final DatePickerView view;
+		final List<Integer> dates = new ArrayList<Integer>();
+
+		Picker() {
+			Context context = new TestContext();
+			year = new WheelView(context);
+			month = new WheelView(context);
+			day = new WheelView(context);
+			view = new DatePickerView(context, year, month, day);
+			view.setDateChangedListener(this);
+		}
+
+		@Override
+		public void onDateChanged(Date newValue, boolean isLunar) {
+			Calendar cal = Calendar.getInstance();
+			cal.setTime(newValue);
+			dates.add(epochDay(cal.get(Calendar.YEAR), cal.get(Calendar.MONTH), cal.get(Calendar.DAY_OF_MONTH)));
+		}
+	}
+
+	private static class TestContext extends ContextWrapper {
+		private final Resources resources;
+
+		TestContext() {
+			super(null);
+			final DisplayMetrics metrics = new DisplayMetrics();
+			metrics.density = 1.5f;
+			metrics.scaledDensity = 1.5f;
+			resources = new Resources(null, metrics, null) {
+				@Override
+				public DisplayMetrics getDisplayMetrics() {
+					return metrics;
+				}
+			};
+		}
+
+		@Override
+		public Resources getResources() {
+			return resources;
+		}
+
+		@Override
+		public Object getSystemService(String name) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,204 @@
+package calv1n.datetime.dependency.wheelview;
+
+import android.content.Context;
+import android.content.ContextWrapper;
+import android.content.res.Resources;
+import android.graphics.Canvas;
+import android.graphics.Paint;
+import android.util.DisplayMetrics;
+
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 滚动和绘制 WheelView 在预热后不应分配对象
+ * <p/>
+ * 在 JVM 上运行, android.jar 的方法返回默认值(见 build.gradle 的 testOptions),
+ * 因此只统计 WheelView、WheelRecycle 和适配器自身的分配. 用 HotSpot 的线程分配计数测量.
+ * JIT 编译期间偶尔会计入一次性的分配, 所以测量多轮取最小值; 每帧都分配时每一轮都不为0.
+ */
+public class WheelViewAllocationTest {
+
+	private static final int WIDTH = 240;
+	private static final int HEIGHT = 200;
+	private static final int ITEM_HEIGHT = 40;
+	/**
+	 * 每次脚本化滚动的帧数和每帧的滚动距离
+	 */
+	private static final int FRAMES = 600;
+	private static final int STEP = 7;
+	private static final int ROUNDS = 5;
+
+	@Test
+	public void flingAllocatesNothingAfterWarmUp() {
+		TestWheel wheel = createWheel();
+		CountingCanvas canvas = new CountingCanvas();
+		ChangeCounter counter = new ChangeCounter();
+		wheel.addChangingListener(counter);
+		wheel.addScrollingListener(counter);
+
+		// 预热: 往返滚过全部条目, 填满文字缓存
+		fling(wheel, canvas, FRAMES, STEP);
+		fling(wheel, canvas, FRAMES, -STEP);
+
+		long overhead = measureOverhead();
+		long allocated = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS && allocated > 0; round++) {
+			int changes = counter.changes;
+			int draws = canvas.draws;
+			long before = allocatedBytes();
+			fling(wheel, canvas, FRAMES, STEP);
+			fling(wheel, canvas, FRAMES, -STEP);
+			allocated = Math.min(allocated, allocatedBytes() - before - overhead);
+
+			assertTrue("滚动应切换条目", counter.changes - changes > 2 * FRAMES * STEP / ITEM_HEIGHT - 2);
+			assertTrue("应绘制条目文字", canvas.draws - draws >= 2 * FRAMES);
+		}
+		assertEquals("滚动 " + 2 * FRAMES + " 帧至少分配了 " + allocated + " 字节", 0, allocated);
+	}
+
+	@Test
+	public void setCurrentItemAllocatesNothingAfterWarmUp() {
+		TestWheel wheel = createWheel();
+		CountingCanvas canvas = new CountingCanvas();
+		int count = wheel.getViewAdapter().getItemsCount();
+		for (int i = 0; i < count; i++) {
+			wheel.setCurrentItem(i);
+			wheel.onDraw(canvas);
+		}
+
+		long overhead = measureOverhead();
+		long allocated = Long.MAX_VALUE;
+		for (int round = 0; round < ROUNDS && allocated > 0; round++) {
+			long before = allocatedBytes();
+			for (int i = count - 1; i >= 0; i--) {
+				wheel.setCurrentItem(i);
+				wheel.onDraw(canvas);
+			}
+			allocated = Math.min(allocated, allocatedBytes() - before - overhead);
+			assertEquals(0, wheel.getCurrentItem());
+		}
+		assertEquals("逐项选中至少分配了 " + allocated + " 字节", 0, allocated);
+	}
+
+	/**
+	 * 模拟一次滚动: 开始, 每帧滚动并绘制, 结束
+	 */
+	private static void fling(TestWheel wheel, Canvas canvas, int frames, int step) {
+		wheel.scrollingListener.onStarted();
+		for (int i = 0; i < frames; i++) {
+			wheel.scrollingListener.onScroll(step);
+			wheel.onDraw(canvas);
+		}
+		wheel.scrollingListener.onFinished();
+		wheel.onDraw(canvas);
+	}
+
+	private static TestWheel createWheel() {
+		Context context = new TestContext();
+		TestWheel wheel = new TestWheel(context);
+		wheel.setDrawTextDirectly(true);
+		wheel.setDrawShadows(false);
+		wheel.setItemHeight(ITEM_HEIGHT);
+		wheel.setCyclic(true);
+		wheel.setViewAdapter(new NumericWheelAdapter(context, 0, 59, "%02d"));
+		return wheel;
+	}
+
+	/**
+	 * 本线程累计分配的字节数
+	 */
+	private static long allocatedBytes() {
+		return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean())
+				.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+
+	/**
+	 * 连续两次取分配计数本身的分配量, 取多次中的最小值
+	 */
+	private static long measureOverhead() {
+		long overhead = Long.MAX_VALUE;
+		for (int i = 0; i < 10; i++) {
+			long before = allocatedBytes();
+			overhead = Math.min(overhead, allocatedBytes() - before);
+		}
+		return overhead;
+	}
+
+	/**
+	 * 尺寸固定的 WheelView. 单元测试用的 android.jar 去掉了 final, View 也不会记录布局结果
+	 */
+	private static class TestWheel extends WheelView {
+		TestWheel(Context context) {
+			super(context);
+		}
+
+		@Override
+		public int getWidth() {
+			return WIDTH;
+		}
+
+		@Override
+		public int getHeight() {
+			return HEIGHT;
+		}
+	}
+
+	private static class TestContext extends ContextWrapper {
+		private final Resources resources;
+
+		TestContext() {
+			super(null);
+			final DisplayMetrics metrics = new DisplayMetrics();
+			metrics.density = 1.5f;
+			metrics.scaledDensity = 1.5f;
+			resources = new Resources(null, metrics, null) {
+				@Override
+				public DisplayMetrics getDisplayMetrics() {
+					return metrics;
+				}
+			};
+		}
+
+		@Override
+		public Resources getResources() {
+			return resources;
+		}
+
+		@Override
+		public Object getSystemService(String name) {
+			return null;
+		}
+	}
+
+	private static class CountingCanvas extends Canvas {
+		int draws;
+
+		@Override
+		public void drawText(CharSequence text, int start, int end, float x, float y, Paint paint) {
+			draws++;
+		}
+	}
+
+	private static class ChangeCounter implements WheelView.OnWheelChangedListener,
+			WheelView.OnWheelScrollListener {
+		int changes;
+
+		@Override
+		public void onChanged(WheelView wheel, int oldValue, int newValue) {
+			changes++;
+		}
+
+		@Override
+		public void onScrollingStarted(WheelView wheel) {
+		}
+
+		@Override
+		public void onScrollingFinished(WheelView wheel) {
+		}
+	}
+}
@@ -0,0 +1,147 @@
+package calv1n.datetime.dependency;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lunar 核心操作的基准测试, 运行: gradle :WheelDateTimePicker_lunar:jmh
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LunarBenchmark {
+
+	private final static long DAY_MILLIS = 86400000L;
+	/**
+	 * 月视图一屏显示的天数
+	 */
+	private final static int MONTH_VIEW_DAYS = 42;
+
+	/**
+	 * 1900-2100 年间的随机时刻
+	 */
+	private long[] millis;
+	private int next;
+	private Lunar lunar;
+	private int monthStartDay;
+	private LunarRecurrence recurrence;
+	private final int[] occurrences = new int[50];
+
+	@Setup
+	public void setup() {
+		Random random = new Random(2015);
+		int firstDay = Lunar.toSolar(1900, 1, false, 1);
+		int lastDay = Lunar.toSolar(2100, 12, false, 1);
+		millis = new long[1024];
+		for (int i = 0; i < millis.length; i++) {
+			millis[i] = (firstDay + random.nextInt(lastDay - firstDay)) * DAY_MILLIS + 12 * 3600000L;
+		}
+		lunar = new Lunar(millis[0]);
+		monthStartDay = Lunar.toSolar(2015, 1, false, 1);
+		recurrence = new LunarRecurrence(8, false, 30);
+	}
+
+	private long nextMillis() {
+		return millis[next++ & (millis.length - 1)];
+	}
+
+	@Benchmark
+	public Lunar construct() {
+		return new Lunar(nextMillis());
+	}
+
+	/**
+	 * 固定东八区时差, 不查询设备时区
+	 */
+	@Benchmark
+	public Lunar constructChinaStandardTime() {
+		return new Lunar(nextMillis(), Lunar.CHINA_STANDARD_OFFSET);
+	}
+
+	@Benchmark
+	public String termString() {
+		return lunar.getTermString();
+	}
+
+	/**
+	 * 节日结果按实例缓存, 所以每次都构建新实例; 减去 {@link #construct()} 即为查找节日的开销
+	 */
+	@Benchmark
+	public boolean isFestival() {
+		return new Lunar(nextMillis()).isFestival();
+	}
+
+	@Benchmark
+	public String cyclicalDateString() {
+		return lunar.getCyclicalDateString();
+	}
+
+	@Benchmark
+	public String lunarDateString() {
+		return lunar.getLunarDateString();
+	}
+
+	@Benchmark
+	public void monthByLunar(Blackhole bh) {
+		for (int i = 0; i < MONTH_VIEW_DAYS; i++) {
+			bh.consume(new Lunar((monthStartDay + i) * DAY_MILLIS).getLunarDay());
+		}
+	}
+
+	@Benchmark
+	public void monthByCursor(Blackhole bh) {
+		LunarCursor cursor = new LunarCursor(monthStartDay);
+		bh.consume(cursor.getLunarDay());
+		for (int i = 1; i < MONTH_VIEW_DAYS; i++) {
+			cursor.next();
+			bh.consume(cursor.getLunarDay());
+		}
+	}
+
+	/**
+	 * 展开一个农历每年重复事件的后50次
+	 */
+	@Benchmark
+	public int expandRecurrence() {
+		recurrence.next(monthStartDay, occurrences);
+		return occurrences[occurrences.length - 1];
+	}
+
+	/**
+	 * 单线程转换吞吐量, 与 {@link #ofEpochDayAllThreads()} 对比可看出随线程数的伸缩
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Threads(1)
+	public LunarDate ofEpochDayOneThread() {
+		return LunarDate.ofEpochDay((int) (nextMillis() / DAY_MILLIS));
+	}
+
+	/**
+	 * 每个处理器一个线程; 转换只读数据表, 各线程的吞吐量之和应接近单线程的倍数
+	 */
+	@Benchmark
+	@BenchmarkMode(Mode.Throughput)
+	@OutputTimeUnit(TimeUnit.MICROSECONDS)
+	@Threads(Threads.MAX)
+	public LunarDate ofEpochDayAllThreads() {
+		return LunarDate.ofEpochDay((int) (nextMillis() / DAY_MILLIS));
+	}
+}
@@ -0,0 +1,88 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 历法接口, 供日期选择器按年、月、日三级显示和换算日期
+ * <p/>
+ * 月份用年内下标表示(0起), 有闰月的历法中闰月占一个下标, 因此一年的月数可能不是12.
+ * 日期换算以距 1970/1/1 的天数为中介, 与时区无关. 实现应为表驱动, 各方法均为 O(1),
+ * 可在滚动时频繁调用.
+ */
+public interface CalendarSystem {
+
+	/**
+	 * 年
+	 */
+	int FIELD_YEAR = 0;
+	/**
+	 * 月
+	 */
+	int FIELD_MONTH = 1;
+	/**
+	 * 日
+	 */
+	int FIELD_DAY = 2;
+
+	/**
+	 * 支持的最小年份
+	 *
+	 * @return 年份
+	 */
+	int getMinYear();
+
+	/**
+	 * 支持的最大年份
+	 *
+	 * @return 年份
+	 */
+	int getMaxYear();
+
+	/**
+	 * 一年的月数
+	 *
+	 * @param year 年份
+	 * @return 月数(含闰月)
+	 * @throws IllegalArgumentException 超出支持的年份
+	 */
+	int monthsInYear(int year);
+
+	/**
+	 * 一个月的天数
+	 *
+	 * @param year       年份
+	 * @param monthIndex 年内月份下标(0起, 含闰月)
+	 * @return 天数
+	 * @throws IllegalArgumentException 超出支持的年份或月份
+	 */
+	int monthLength(int year, int monthIndex);
+
+	/**
+	 * 显示用的文字
+	 *
+	 * @param field      {@link #FIELD_YEAR}、{@link #FIELD_MONTH} 或 {@link #FIELD_DAY}
+	 * @param year       年份
+	 * @param monthIndex 年内月份下标, 取年份文字时忽略
+	 * @param day        日(1起), 只在取日文字时使用
+	 * @return 文字(例:一九九八年、闰四月、初一)
+	 */
+	String labelFor(int field, int year, int monthIndex, int day);
+
+	/**
+	 * 换算为距 1970/1/1 的天数
+	 *
+	 * @param year       年份
+	 * @param monthIndex 年内月份下标(0起, 含闰月)
+	 * @param day        日(1起)
+	 * @return 距 1970/1/1 的天数
+	 * @throws IllegalArgumentException 超出支持的年份或月份
+	 */
+	int toEpochDay(int year, int monthIndex, int day);
+
+	/**
+	 * 由距 1970/1/1 的天数换算为本历法的日期
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 压缩格式: 年份 << 9 | 月份下标 << 5 | 日
+	 * @throws IllegalArgumentException 超出支持的范围
+	 */
+	int fromEpochDay(int epochDay);
+}
@@ -0,0 +1,117 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 公历
+ * <p/>
+ * 月份下标 0-11 对应 1-12 月. 天数和文字均查表得到, 年份文字每次拼接.
+ */
+public final class GregorianCalendarSystem implements CalendarSystem {
+
+	public final static GregorianCalendarSystem INSTANCE = new GregorianCalendarSystem();
+
+	public final static int MIN_YEAR = 1;
+	public final static int MAX_YEAR = 9999;
+
+	/**
+	 * 平年各月天数, 闰年二月另加一天
+	 */
+	private final static int[] MONTH_DAYS = {31, 28, 31, 30, 31, 30, 31, 31, 30, 31, 30, 31};
+	/**
+	 * 月份文字(例:1月), 下标为月份下标
+	 */
+	private final static String[] MONTH_LABELS = new String[12];
+	/**
+	 * 日文字(例:1日), 下标为日, 下标0为空串
+	 */
+	private final static String[] DAY_LABELS = new String[32];
+
+	static {
+		for (int i = 0; i < MONTH_LABELS.length; i++) {
+			MONTH_LABELS[i] = (i + 1) + "月";
+		}
+		DAY_LABELS[0] = "";
+		for (int i = 1; i < DAY_LABELS.length; i++) {
+			DAY_LABELS[i] = i + "日";
+		}
+	}
+
+	private GregorianCalendarSystem() {
+	}
+
+	@Override
+	public int getMinYear() {
+		return MIN_YEAR;
+	}
+
+	@Override
+	public int getMaxYear() {
+		return MAX_YEAR;
+	}
+
+	@Override
+	public int monthsInYear(int year) {
+		checkYear(year);
+		return 12;
+	}
+
+	@Override
+	public int monthLength(int year, int monthIndex) {
+		checkMonth(year, monthIndex);
+		if (monthIndex == 1 && GregorianCalendarSystem.isLeapYear(year)) {
+			return 29;
+		}
+		return MONTH_DAYS[monthIndex];
+	}
+
+	@Override
+	public String labelFor(int field, int year, int monthIndex, int day) {
+		switch (field) {
+			case FIELD_YEAR:
+				return year + "年";
+			case FIELD_MONTH:
+				return monthIndex >= 0 && monthIndex < 12 ? MONTH_LABELS[monthIndex] : "";
+			case FIELD_DAY:
+				return day >= 1 && day <= 31 ? DAY_LABELS[day] : "";
+			default:
+				return "";
+		}
+	}
+
+	@Override
+	public int toEpochDay(int year, int monthIndex, int day) {
+		checkMonth(year, monthIndex);
+		return Lunar.daysFromCivil(year, monthIndex + 1, day);
+	}
+
+	@Override
+	public int fromEpochDay(int epochDay) {
+		int date = Lunar.civilFromDays(epochDay);
+		int year = date >> 9;
+		checkYear(year);
+		// 月份由 1 起改为下标
+		return date - (1 << 5);
+	}
+
+	/**
+	 * 是否闰年
+	 *
+	 * @param year 公历年份
+	 * @return 闰年返回 true
+	 */
+	public static boolean isLeapYear(int year) {
+		return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+	}
+
+	private static void checkYear(int year) {
+		if (year < MIN_YEAR || year > MAX_YEAR) {
+			throw new IllegalArgumentException("超出公历年份范围(" + MIN_YEAR + "-" + MAX_YEAR + "): " + year);
+		}
+	}
+
+	private static void checkMonth(int year, int monthIndex) {
+		checkYear(year);
+		if (monthIndex < 0 || monthIndex >= 12) {
+			throw new IllegalArgumentException("公历月份下标无效: " + monthIndex);
+		}
+	}
+}
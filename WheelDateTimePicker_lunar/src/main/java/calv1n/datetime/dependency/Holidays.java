@@ -0,0 +1,164 @@
+package calv1n.datetime.dependency;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 法定节假日与调休工作日
+ * <p/>
+ * 放假安排来自随库打包的 holidays.txt, 按年份在首次查询时解析为两个 366 位的位图
+ * (是否休息、是否调休上班), 之后的查询只是一次位运算. 数据中没有的年份按周六周日休息处理.
+ * <p/>
+ * 与 {@link Lunar#isHoliday()} 相互独立: 后者只表示当天是否为节日表中标 * 的节日,
+ * 不考虑放假安排和调休.
+ */
+public final class Holidays {
+
+	private final static String DATA_FILE = "holidays.txt";
+	private final static int FIRST_YEAR = 1900;
+	private final static int LAST_YEAR = 2100;
+
+	/**
+	 * 每年的位图, 下标为年份 - 1900. 前6个 long 为休息日, 后6个 long 为调休上班日, 位序号为当年第几天(从0算起)
+	 */
+	private final static AtomicReferenceArray<long[]> yearBits =
+			new AtomicReferenceArray<long[]>(LAST_YEAR - FIRST_YEAR + 1);
+
+	private Holidays() {
+	}
+
+	/**
+	 * 是否休息日(法定节假日, 或非调休的周末)
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 是否休息日
+	 */
+	public static boolean isDayOff(int epochDay) {
+		int year = Lunar.civilFromDays(epochDay) >> 9;
+		if (year < FIRST_YEAR || year > LAST_YEAR) {
+			return Holidays.isWeekend(epochDay);
+		}
+		return Holidays.testBit(Holidays.getYearBits(year), epochDay - Lunar.daysFromCivil(year, 1, 1));
+	}
+
+	/**
+	 * 是否调休上班的周末
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 是否调休上班日
+	 */
+	public static boolean isAdjustedWorkday(int epochDay) {
+		int year = Lunar.civilFromDays(epochDay) >> 9;
+		if (year < FIRST_YEAR || year > LAST_YEAR) {
+			return false;
+		}
+		return Holidays.testBit(Holidays.getYearBits(year), 366 + epochDay - Lunar.daysFromCivil(year, 1, 1));
+	}
+
+	private static boolean testBit(long[] bits, int index) {
+		return (bits[index >> 6] & (1L << index)) != 0;
+	}
+
+	private static void setBit(long[] bits, int index) {
+		bits[index >> 6] |= 1L << index;
+	}
+
+	private static boolean isWeekend(int epochDay) {
+		// 1970/1/1 为星期四
+		int dayOfWeek = Lunar.floorMod(epochDay + 4, 7);
+		return dayOfWeek == 0 || dayOfWeek == 6;
+	}
+
+	private static long[] getYearBits(int year) {
+		long[] bits = yearBits.get(year - FIRST_YEAR);
+		if (bits == null) {
+			// 并发时可能重复解析, 结果相同, 无需加锁
+			bits = Holidays.loadYear(year);
+			yearBits.set(year - FIRST_YEAR, bits);
+		}
+		return bits;
+	}
+
+	/**
+	 * 生成指定年份的位图: 先按周末填充, 再应用数据文件中该年的放假和调休安排
+	 */
+	private static long[] loadYear(int year) {
+		long[] bits = new long[12];
+		int firstDay = Lunar.daysFromCivil(year, 1, 1);
+		int days = Lunar.daysFromCivil(year + 1, 1, 1) - firstDay;
+		for (int i = 0; i < days; i++) {
+			if (Holidays.isWeekend(firstDay + i)) {
+				Holidays.setBit(bits, i);
+			}
+		}
+		String line = Holidays.findLine(year);
+		if (line == null) {
+			return bits;
+		}
+		boolean isWorkday = false;
+		String[] fields = line.trim().split("\\s+");
+		for (int i = 1; i < fields.length; i++) {
+			String field = fields[i];
+			if (";".equals(field)) {
+				isWorkday = true;
+				continue;
+			}
+			int from = Holidays.parseDay(year, field, 0) - firstDay;
+			int to = field.length() > 4 ? Holidays.parseDay(year, field, 5) - firstDay : from;
+			for (int d = from; d <= to; d++) {
+				if (isWorkday) {
+					bits[d >> 6] &= ~(1L << d);
+					Holidays.setBit(bits, 366 + d);
+				} else {
+					Holidays.setBit(bits, d);
+				}
+			}
+		}
+		return bits;
+	}
+
+	private static int parseDay(int year, String field, int start) {
+		int month = Integer.parseInt(field.substring(start, start + 2));
+		int day = Integer.parseInt(field.substring(start + 2, start + 4));
+		return Lunar.daysFromCivil(year, month, day);
+	}
+
+	/**
+	 * 在数据文件中查找指定年份的一行
+	 *
+	 * @return 该年份的安排, 没有数据返回 null
+	 */
+	private static String findLine(int year) {
+		InputStream in = Holidays.class.getResourceAsStream(DATA_FILE);
+		if (in == null) {
+			return null;
+		}
+		String prefix = year + " ";
+		BufferedReader reader = null;
+		try {
+			reader = new BufferedReader(new InputStreamReader(in, "UTF-8"));
+			String line;
+			while ((line = reader.readLine()) != null) {
+				if (line.startsWith(prefix)) {
+					return line;
+				}
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+		} finally {
+			try {
+				if (reader != null) {
+					reader.close();
+				} else {
+					in.close();
+				}
+			} catch (IOException e) {
+				e.printStackTrace();
+			}
+		}
+		return null;
+	}
+}
@@ -0,0 +1,261 @@
+package calv1n.datetime.dependency;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Locale;
+
+/**
+ * 把农历节日、国历节日和二十四节气导出为 iCalendar (RFC 5545) 日历
+ * <p/>
+ * 用 {@link LunarCursor} 逐日推进, 每个节日或节气直接写出一个全天的 VEVENT.
+ * 节日的判定规则与 {@link Lunar} 的节日字段一致(月周节日, 日期为0的除夕).
+ * 整个导出只复用一个行缓冲, 不为每天创建对象, 内存占用与导出的天数无关.
+ */
+public final class ICalendarExporter {
+
+	/**
+	 * 导出国历节日, 含月周节日(如五月第二个星期日的母亲节)
+	 */
+	public final static int SOLAR_FESTIVALS = 1;
+	/**
+	 * 导出农历节日(闰月不重复导出, 但闰腊月的最后一天仍是除夕).
+	 * 日期为0的节日(除夕)单独成一个事件, 与同一天的其他农历节日(如小腊月廿九的 "1229")并存
+	 */
+	public final static int LUNAR_FESTIVALS = 1 << 1;
+	/**
+	 * 导出二十四节气
+	 */
+	public final static int SOLAR_TERMS = 1 << 2;
+	/**
+	 * 导出全部
+	 */
+	public final static int ALL = SOLAR_FESTIVALS | LUNAR_FESTIVALS | SOLAR_TERMS;
+
+	private final static String CRLF = "\r\n";
+	private final static String PRODID = "-//calv1n//WheelDateTimePicker Lunar//ZH";
+	private final static String UID_DOMAIN = "@calv1n.datetime";
+	/**
+	 * 每行最多 75 个字节(UTF-8), 不含换行
+	 */
+	private final static int MAX_LINE_OCTETS = 75;
+
+	private final Writer out;
+	private final StringBuilder line = new StringBuilder(128);
+	private char[] chars = new char[128];
+	private final String dtStamp;
+
+	ICalendarExporter(Writer out, long stampMillis) {
+		this.out = out;
+		this.dtStamp = ICalendarExporter.formatStamp(stampMillis);
+	}
+
+	/**
+	 * 导出一段连续日期内的节日与节气, 以 UTF-8 编码写入输出流
+	 * <p/>
+	 * 写完后会 flush, 但不会关闭输出流.
+	 *
+	 * @param startEpochDay 起始日期距 1970/1/1 的天数
+	 * @param count         天数
+	 * @param kinds         导出内容, {@link #SOLAR_FESTIVALS}、{@link #LUNAR_FESTIVALS}、{@link #SOLAR_TERMS} 的组合
+	 * @param out           输出流
+	 * @throws IOException              写入失败
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public static void export(int startEpochDay, int count, int kinds, OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, "UTF-8"));
+		ICalendarExporter.export(startEpochDay, count, kinds, writer);
+		writer.flush();
+	}
+
+	/**
+	 * 导出一段连续日期内的节日与节气
+	 * <p/>
+	 * 每行分几次写入, 对未缓冲的 Writer 请自行包装 BufferedWriter. 不会 flush 或关闭 Writer.
+	 *
+	 * @param startEpochDay 起始日期距 1970/1/1 的天数
+	 * @param count         天数
+	 * @param kinds         导出内容, {@link #SOLAR_FESTIVALS}、{@link #LUNAR_FESTIVALS}、{@link #SOLAR_TERMS} 的组合
+	 * @param out           输出
+	 * @throws IOException              写入失败
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public static void export(int startEpochDay, int count, int kinds, Writer out) throws IOException {
+		if (count < 0) {
+			throw new IllegalArgumentException("天数不能为负数: " + count);
+		}
+		if (count > 0 && (Lunar.findTableByDay(startEpochDay) == null
+				|| Lunar.findTableByDay(startEpochDay + count - 1) == null)) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + startEpochDay + "+" + count);
+		}
+		new ICalendarExporter(out, System.currentTimeMillis()).write(startEpochDay, count, kinds);
+	}
+
+	/**
+	 * 导出, 不检查参数
+	 */
+	void write(int startEpochDay, int count, int kinds) throws IOException {
+		out.write("BEGIN:VCALENDAR" + CRLF);
+		out.write("VERSION:2.0" + CRLF);
+		out.write("PRODID:" + PRODID + CRLF);
+		out.write("CALSCALE:GREGORIAN" + CRLF);
+		if (count > 0) {
+			LunarCursor cursor = new LunarCursor(startEpochDay);
+			for (int i = 0; ; ) {
+				if ((kinds & SOLAR_FESTIVALS) != 0) {
+					String name = Lunar.findSFestivalName(cursor.getSolarMonth(), cursor.getSolarDay());
+					if (name != null) {
+						writeEvent(cursor, 'S', name);
+					}
+					Lunar.Festival festival = Lunar.findWeekFestival(cursor.getSolarYear(), cursor.getSolarMonth(),
+							cursor.getSolarDay());
+					if (festival != null) {
+						writeEvent(cursor, 'W', festival.name);
+					}
+				}
+				if ((kinds & LUNAR_FESTIVALS) != 0) {
+					Lunar.Festival festival = cursor.isLeap() ? null
+							: Lunar.lFestivals[cursor.getLunarMonth()][cursor.getLunarDay()];
+					if (festival != null) {
+						writeEvent(cursor, 'L', festival.name);
+					}
+					festival = Lunar.findMonthEndFestival(cursor.getLunarYear(), cursor.getLunarMonth(),
+							cursor.isLeap(), cursor.getLunarDay(), cursor.getMaxDayInMonth());
+					if (festival != null) {
+						writeEvent(cursor, 'E', festival.name);
+					}
+				}
+				if ((kinds & SOLAR_TERMS) != 0 && cursor.getTermIndex() >= 0) {
+					writeEvent(cursor, 'T', Lunar.solarTerm[cursor.getTermIndex()]);
+				}
+				if (++i == count) {
+					break;
+				}
+				cursor.next();
+			}
+		}
+		out.write("END:VCALENDAR" + CRLF);
+	}
+
+	/**
+	 * 写出一个全天事件, UID 由日期和类型组成, 重复导出时保持不变.
+	 * 类型: S 国历节日, W 月周节日, L 农历节日, E 日期为0的农历节日(除夕), T 节气
+	 */
+	private void writeEvent(LunarCursor cursor, char kind, String summary) throws IOException {
+		out.write("BEGIN:VEVENT" + CRLF);
+
+		line.setLength(0);
+		line.append("UID:");
+		appendDate(cursor);
+		line.append('-').append(kind).append(UID_DOMAIN);
+		writeLine();
+
+		line.setLength(0);
+		line.append("DTSTAMP:").append(dtStamp);
+		writeLine();
+
+		line.setLength(0);
+		line.append("DTSTART;VALUE=DATE:");
+		appendDate(cursor);
+		writeLine();
+
+		writeTextProperty("SUMMARY", summary);
+
+		out.write("TRANSP:TRANSPARENT" + CRLF);
+		out.write("END:VEVENT" + CRLF);
+	}
+
+	private void appendDate(LunarCursor cursor) {
+		int month = cursor.getSolarMonth();
+		int day = cursor.getSolarDay();
+		line.append(cursor.getSolarYear());
+		if (month < 10) line.append('0');
+		line.append(month);
+		if (day < 10) line.append('0');
+		line.append(day);
+	}
+
+	/**
+	 * 写出一个 TEXT 类型的属性, 值按 RFC 5545 转义, 超长时折行
+	 */
+	void writeTextProperty(String name, String text) throws IOException {
+		line.setLength(0);
+		line.append(name).append(':');
+		ICalendarExporter.appendText(line, text);
+		writeLine();
+	}
+
+	/**
+	 * 写出行缓冲中的内容, 超过 75 字节时折行(续行以空格开头), 不拆分多字节字符
+	 */
+	private void writeLine() throws IOException {
+		int length = line.length();
+		if (chars.length < length) {
+			chars = new char[Math.max(length, chars.length * 2)];
+		}
+		line.getChars(0, length, chars, 0);
+		int start = 0;
+		int octets = 0;
+		for (int i = 0; i < length; ) {
+			char c = chars[i];
+			int width;
+			int charCount = 1;
+			if (c < 0x80) {
+				width = 1;
+			} else if (c < 0x800) {
+				width = 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < length) {
+				width = 4;
+				charCount = 2;
+			} else {
+				width = 3;
+			}
+			if (octets + width > MAX_LINE_OCTETS) {
+				out.write(chars, start, i - start);
+				out.write(CRLF + " ");
+				start = i;
+				octets = 1;
+			}
+			octets += width;
+			i += charCount;
+		}
+		out.write(chars, start, length - start);
+		out.write(CRLF);
+	}
+
+	/**
+	 * 按 RFC 5545 TEXT 规则转义
+	 */
+	private static void appendText(StringBuilder sb, String text) {
+		for (int i = 0, n = text.length(); i < n; i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '\\':
+				case ';':
+				case ',':
+					sb.append('\\').append(c);
+					break;
+				case '\n':
+					sb.append("\\n");
+					break;
+				case '\r':
+					break;
+				default:
+					sb.append(c);
+			}
+		}
+	}
+
+	/**
+	 * 格式化为 UTC 时间 yyyyMMdd'T'HHmmss'Z'
+	 */
+	private static String formatStamp(long millis) {
+		long days = Lunar.floorDiv(millis, 86400000L);
+		int seconds = (int) ((millis - days * 86400000L) / 1000);
+		int date = Lunar.civilFromDays((int) days);
+		return String.format(Locale.US, "%04d%02d%02dT%02d%02d%02dZ", date >> 9, (date >> 5) & 0xf, date & 0x1f,
+				seconds / 3600, seconds / 60 % 60, seconds % 60);
+	}
+}
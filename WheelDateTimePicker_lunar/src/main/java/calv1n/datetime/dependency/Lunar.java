@@ -0,0 +1,1444 @@
+package calv1n.datetime.dependency;
+
+import java.io.IOException;
+import java.util.Date;
+import java.util.TimeZone;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 农历工具类
+ * Created by duchengzhen on 2014/7/22.
+ */
+public class Lunar {
+	public static void main(String[] args) {
+		Lunar l = new Lunar(System.currentTimeMillis());
+
+		System.out.println("节气:" + l.getTermString());
+		System.out.println("干支历:" + l.getCyclicalDateString());
+		System.out.println("星期" + l.getDayOfWeek());
+		System.out.println("农历" + l.getLunarDateString());
+	}
+
+	private final static int[] lunarInfo = {
+			0x4bd8, 0x4ae0, 0xa570, 0x54d5, 0xd260, 0xd950, 0x5554, 0x56af,
+			0x9ad0, 0x55d2, 0x4ae0, 0xa5b6, 0xa4d0, 0xd250, 0xd295, 0xb54f,
+			0xd6a0, 0xada2, 0x95b0, 0x4977, 0x497f, 0xa4b0, 0xb4b5, 0x6a50,
+			0x6d40, 0xab54, 0x2b6f, 0x9570, 0x52f2, 0x4970, 0x6566, 0xd4a0,
+			0xea50, 0x6a95, 0x5adf, 0x2b60, 0x86e3, 0x92ef, 0xc8d7, 0xc95f,
+			0xd4a0, 0xd8a6, 0xb55f, 0x56a0, 0xa5b4, 0x25df, 0x92d0, 0xd2b2,
+			0xa950, 0xb557, 0x6ca0, 0xb550, 0x5355, 0x4daf, 0xa5b0, 0x4573,
+			0x52bf, 0xa9a8, 0xe950, 0x6aa0, 0xaea6, 0xab50, 0x4b60, 0xaae4,
+			0xa570, 0x5260, 0xf263, 0xd950, 0x5b57, 0x56a0, 0x96d0, 0x4dd5,
+			0x4ad0, 0xa4d0, 0xd4d4, 0xd250, 0xd558, 0xb540, 0xb6a0, 0x95a6,
+			0x95bf, 0x49b0, 0xa974, 0xa4b0, 0xb27a, 0x6a50, 0x6d40, 0xaf46,
+			0xab60, 0x9570, 0x4af5, 0x4970, 0x64b0, 0x74a3, 0xea50, 0x6b58,
+			0x5ac0, 0xab60, 0x96d5, 0x92e0, 0xc960, 0xd954, 0xd4a0, 0xda50,
+			0x7552, 0x56a0, 0xabb7, 0x25d0, 0x92d0, 0xcab5, 0xa950, 0xb4a0,
+			0xbaa4, 0xad50, 0x55d9, 0x4ba0, 0xa5b0, 0x5176, 0x52bf, 0xa930,
+			0x7954, 0x6aa0, 0xad50, 0x5b52, 0x4b60, 0xa6e6, 0xa4e0, 0xd260,
+			0xea65, 0xd530, 0x5aa0, 0x76a3, 0x96d0, 0x4afb, 0x4ad0, 0xa4d0,
+			0xd0b6, 0xd25f, 0xd520, 0xdd45, 0xb5a0, 0x56d0, 0x55b2, 0x49b0,
+			0xa577, 0xa4b0, 0xaa50, 0xb255, 0x6d2f, 0xada0, 0x4b63, 0x937f,
+			0x49f8, 0x4970, 0x64b0, 0x68a6, 0xea5f, 0x6b20, 0xa6c4, 0xaaef,
+			0x92e0, 0xd2e3, 0xc960, 0xd557, 0xd4a0, 0xda50, 0x5d55, 0x56a0,
+			0xa6d0, 0x55d4, 0x52d0, 0xa9b8, 0xa950, 0xb4a0, 0xb6a6, 0xad50,
+			0x55a0, 0xaba4, 0xa5b0, 0x52b0, 0xb273, 0x6930, 0x7337, 0x6aa0,
+			0xad50, 0x4b55, 0x4b6f, 0xa570, 0x54e4, 0xd260, 0xe968, 0xd520,
+			0xdaa0, 0x6aa6, 0x56df, 0x4ae0, 0xa9d4, 0xa4d0, 0xd150, 0xf252, 0xd520
+	};
+	private final static int[] solarTermInfo = {
+			0, 21208, 42467, 63836, 85337, 107014, 128867, 150921,
+			173149, 195551, 218072, 240693, 263343, 285989, 308563, 331033,
+			353350, 375494, 397447, 419210, 440795, 462224, 483532, 504758
+	};
+	public final static String[] Tianan = {
+			"甲", "乙", "丙", "丁", "戊", "己", "庚", "辛", "壬", "癸"
+	};
+	public final static String[] Deqi = {
+			"子", "丑", "寅", "卯", "辰", "巳", "午", "未", "申", "酉", "戌", "亥"
+	};
+	public final static String[] Animals = {
+			"鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪"
+	};
+	public final static String[] solarTerm = {
+			"小寒", "大寒", "立春", "雨水", "惊蛰", "春分",
+			"清明", "谷雨", "立夏", "小满", "芒种", "夏至",
+			"小暑", "大暑", "立秋", "处暑", "白露", "秋分",
+			"寒露", "霜降", "立冬", "小雪", "大雪", "冬至"
+	};
+	public final static String[] lunarNumber = {
+			"零", "一", "二", "三", "四", "五", "六", "七", "八", "九"
+	};
+	public final static String[] lunarString2 = {
+			"初", "十", "廿", "卅", "正", "腊", "冬", "闰"
+	};
+
+	/**
+	 * 60个干支字符串, 下标为干支位置(0为甲子)
+	 */
+	private final static String[] cyclicalStrings = new String[60];
+	/**
+	 * 农历月份字符串, 下标为月份(例:正), 下标0为空串
+	 */
+	private final static String[] lunarMonthStrings = new String[13];
+	/**
+	 * 农历闰月字符串, 下标为月份(例:闰正)
+	 */
+	private final static String[] leapMonthStrings = new String[13];
+	/**
+	 * 农历日字符串, 下标为日(例:初一), 下标0为空串
+	 */
+	private final static String[] lunarDayStrings = new String[31];
+	/**
+	 * 1900-2100 年的汉字年份字符串(例:一九九八年), 下标为年份 - 1900
+	 */
+	private final static String[] hansYearStrings = new String[201];
+
+	static {
+		for (int i = 0; i < cyclicalStrings.length; i++) {
+			cyclicalStrings[i] = Tianan[i % 10] + Deqi[i % 12];
+		}
+		lunarMonthStrings[0] = "";
+		leapMonthStrings[0] = "";
+		for (int i = 1; i < lunarMonthStrings.length; i++) {
+			String month;
+			if (i == 1) {
+				month = lunarString2[4];
+			} else if (i < 10) {
+				month = lunarNumber[i];
+			} else {
+				month = lunarString2[1] + (i % 10 > 0 ? lunarNumber[i % 10] : "");
+			}
+			lunarMonthStrings[i] = month;
+			leapMonthStrings[i] = lunarString2[7] + month;
+		}
+		lunarDayStrings[0] = "";
+		for (int i = 1; i < lunarDayStrings.length; i++) {
+			String c1 = i < 11 ? lunarString2[0] : lunarString2[i / 10];
+			String c2 = i % 10 == 0 ? lunarString2[1] : lunarNumber[i % 10];
+			lunarDayStrings[i] = c1 + c2;
+		}
+		StringBuilder sb = new StringBuilder(5);
+		for (int i = 0; i < hansYearStrings.length; i++) {
+			sb.setLength(0);
+			hansYearStrings[i] = Lunar.appendHansYear(sb, 1900 + i).toString();
+		}
+	}
+
+	/**
+	 * 国历节日 *表示放假日
+	 */
+	private final static String[] sFtv = {
+			"0101*元旦", "0214 情人节", "0308 妇女节", "0312 植树节",
+			"0315 消费者权益日", "0401 愚人节", "0501*劳动节", "0504 青年节",
+			"0509 郝维节", "0512 护士节", "0601 儿童节", "0701 建党节 香港回归纪念",
+			"0801 建军节", "0808 父亲节", "0816 燕衔泥节", "0909 毛泽东逝世纪念",
+			"0910 教师节", "0928 孔子诞辰", "1001*国庆节", "1006 老人节",
+			"1024 联合国日", "1111 光棍节", "1112 孙中山诞辰纪念", "1220 澳门回归纪念",
+			"1225 圣诞节", "1226 毛泽东诞辰纪念"
+	};
+	/**
+	 * 农历节日 *表示放假日
+	 * <p/>
+	 * 日期为00表示该月初一的前一天, 即上个月的最后一天(大月三十、小月廿九), 如 "0100" 除夕.
+	 * 上个月后紧跟同号闰月时算在闰月最后一天. 与同一天的其他农历节日并存, 不互相覆盖
+	 */
+	private final static String[] lFtv = {
+			"0101*春节、弥勒佛诞", "0106 定光佛诞", "0115 元宵节",
+			"0208 释迦牟尼佛出家", "0215 释迦牟尼佛涅槃", "0209 海空上师诞",
+			"0219 观世音菩萨诞", "0221 普贤菩萨诞", "0316 准提菩萨诞",
+			"0404 文殊菩萨诞", "0408 释迦牟尼佛诞", "0415 佛吉祥日——释迦牟尼佛诞生、成道、涅槃三期同一庆(即南传佛教国家的卫塞节)",
+			"0505 端午节", "0513 伽蓝菩萨诞", "0603 护法韦驮尊天菩萨诞",
+			"0619 观世音菩萨成道——此日放生、念佛，功德殊胜",
+			"0707 七夕情人节", "0713 大势至菩萨诞", "0715 中元节",
+			"0724 龙树菩萨诞", "0730 地藏菩萨诞", "0815 中秋节",
+			"0822 燃灯佛诞", "0909 重阳节", "0919 观世音菩萨出家纪念日",
+			"0930 药师琉璃光如来诞", "1005 达摩祖师诞", "1107 阿弥陀佛诞",
+			"1208 释迦如来成道日，腊八节", "1224 小年",
+			"1229 华严菩萨诞", "0100*除夕"
+	};
+	/**
+	 * 月周节日: MMwd 为 MM 月第 w 个星期 d(0为星期日, 6为星期六)
+	 * <p/>
+	 * 第 w 个按当月第 w 次出现该星期几算, 即 (日期 - 1) / 7 + 1, 与1号是星期几无关.
+	 * 如 "0520" 为五月第二个星期日, "0716" 为七月第一个星期六
+	 */
+	private static String[] wFtv = {
+			"0520 母亲节", "0716 合作节", "0730 被奴役国家周"
+	};
+
+	private static int toInt(String str) {
+		try {
+			return Integer.parseInt(str);
+		} catch (Exception e) {
+			return -1;
+		}
+	}
+
+	private final static Pattern sFreg = Pattern.compile("^(\\d{2})(\\d{2})([\\s\\*])(.+)$");
+	private final static Pattern wFreg = Pattern.compile("^(\\d{2})(\\d)(\\d)([\\s\\*])(.+)$");
+
+	/**
+	 * 解析后的节日
+	 */
+	final static class Festival {
+		final String name;
+		final boolean isHoliday;
+
+		Festival(String name, boolean isHoliday) {
+			this.name = name;
+			this.isHoliday = isHoliday;
+		}
+	}
+
+	/**
+	 * 国历节日索引, 下标为 [月][日]
+	 */
+	final static Festival[][] sFestivals = Lunar.compileFestivals(sFtv);
+	/**
+	 * 农历节日索引, 下标为 [月][日]
+	 */
+	final static Festival[][] lFestivals = Lunar.compileFestivals(lFtv);
+	/**
+	 * 月周节日索引, 下标为 月 * 100 + 第几周 * 10 + 星期几(0为星期日)
+	 */
+	final static Festival[] wFestivals = Lunar.compileWeekFestivals(wFtv);
+
+	/**
+	 * 把节日表解析为 [月][日] 索引, 同一天有多个节日时取第一个
+	 */
+	private static Festival[][] compileFestivals(String[] ftv) {
+		Festival[][] festivals = new Festival[13][32];
+		for (String f : ftv) {
+			Matcher m = Lunar.sFreg.matcher(f);
+			if (m.find()) {
+				int month = Lunar.toInt(m.group(1));
+				int day = Lunar.toInt(m.group(2));
+				if (month >= 0 && month < 13 && day >= 0 && day < 32 && festivals[month][day] == null) {
+					festivals[month][day] = new Festival(m.group(4), "*".equals(m.group(3)));
+				}
+			}
+		}
+		return festivals;
+	}
+
+	/**
+	 * 把月周节日表解析为 月 * 100 + 第几周 * 10 + 星期几 的索引
+	 */
+	private static Festival[] compileWeekFestivals(String[] ftv) {
+		Festival[] festivals = new Festival[1300];
+		for (String f : ftv) {
+			Matcher m = Lunar.wFreg.matcher(f);
+			if (m.find()) {
+				int month = Lunar.toInt(m.group(1));
+				if (month >= 0 && month < 13) {
+					int key = month * 100 + Lunar.toInt(m.group(2)) * 10 + Lunar.toInt(m.group(3));
+					if (festivals[key] == null) {
+						festivals[key] = new Festival(m.group(5), "*".equals(m.group(4)));
+					}
+				}
+			}
+		}
+		return festivals;
+	}
+
+	/**
+	 * 查找国历节日名称
+	 *
+	 * @param solarMonth 公历月份(1-12)
+	 * @param solarDay   公历日期
+	 * @return 节日名称, 不是节日返回 null
+	 */
+	static String findSFestivalName(int solarMonth, int solarDay) {
+		Festival festival = Lunar.sFestivals[solarMonth][solarDay];
+		return festival == null ? null : festival.name;
+	}
+
+	/**
+	 * 查找农历月最后一天的节日: 日期为0的节日(如除夕)在下个月初一的前一天.
+	 * 后面紧跟同号闰月时, 下个月是闰月, 这一天不算
+	 *
+	 * @param lunarYear     农历年份
+	 * @param lunarMonth    农历月份(1-12)
+	 * @param isLeap        是否闰月
+	 * @param lunarDay      农历日期
+	 * @param maxDayInMonth 当月天数
+	 * @return 节日, 不是月末或没有节日返回 null
+	 */
+	static Festival findMonthEndFestival(int lunarYear, int lunarMonth, boolean isLeap, int lunarDay,
+										 int maxDayInMonth) {
+		if (lunarDay != maxDayInMonth
+				|| (!isLeap && Lunar.findTableByYear(lunarYear).getLeapMonth(lunarYear) == lunarMonth)) {
+			return null;
+		}
+		return Lunar.lFestivals[lunarMonth % 12 + 1][0];
+	}
+
+	/**
+	 * 查找月周节日: 某月第几个星期几(0为星期日), 第几个按当月第几个该星期几算
+	 *
+	 * @param solarYear  公历年份
+	 * @param solarMonth 公历月份(1-12)
+	 * @param solarDay   公历日期
+	 * @return 节日, 没有返回 null
+	 */
+	static Festival findWeekFestival(int solarYear, int solarMonth, int solarDay) {
+		int w = (solarDay - 1) / 7 + 1;
+		// 1970/1/1 为星期四
+		int d = Lunar.floorMod(Lunar.daysFromCivil(solarYear, solarMonth, solarDay) + 4, 7);
+		return Lunar.wFestivals[solarMonth * 100 + w * 10 + d];
+	}
+
+	/**
+	 * 查找当天的节日, 结果保存在节日字段中, 只执行一次
+	 * <p/>
+	 * 规则:
+	 * <ul>
+	 * <li>国历节日按公历月日查 sFtv</li>
+	 * <li>农历节日按农历月日查 lFtv, 闰月与平月相同; 再按 {@link #findMonthEndFestival} 查日期为0的节日,
+	 * 所以除夕在腊月最后一天. 腊月小月时除夕为廿九, 与 "1229" 同一天, 名称用 "|" 连接, 仍是放假日</li>
+	 * <li>月周节日按 {@link #findWeekFestival} 查 wFtv, 星期日为0, 与国历节日同一天时用 "|" 连接</li>
+	 * </ul>
+	 * 早期版本按 {@link java.util.Calendar#WEEK_OF_MONTH} 和 {@link java.util.Calendar#DAY_OF_WEEK}(星期日为1)查找,
+	 * 星期日的母亲节和日期为0的除夕都查不到, 第几周也随1号是星期几而变
+	 */
+	private synchronized void findFestival() {
+		// 等锁期间可能已由其他线程查找过, 再查会重复拼接节日名称和 "年"
+		if (this.isFinded) return;
+		int sy = this.getSolarYear();
+		Festival festival = Lunar.sFestivals[this.getSolarMonth()][this.getSolarDay()];
+		if (festival != null) {
+			this.isSFestival = true;
+			this.sFestivalName = festival.name;
+			if (festival.isHoliday) this.isHoliday = true;
+		}
+		festival = Lunar.lFestivals[this.getLunarMonth()][this.getLunarDay()];
+		if (festival != null) {
+			this.isLFestival = true;
+			this.lFestivalName = festival.name;
+			if (festival.isHoliday) this.isHoliday = true;
+		}
+		festival = Lunar.findMonthEndFestival(this.lunarYear, this.lunarMonth, this.isLeap, this.lunarDay,
+				this.maxDayInMonth);
+		if (festival != null) {
+			this.isLFestival = true;
+			this.lFestivalName = this.lFestivalName.length() == 0 ? festival.name
+					: this.lFestivalName + "|" + festival.name;
+			if (festival.isHoliday) this.isHoliday = true;
+		}
+
+		festival = Lunar.findWeekFestival(sy, this.getSolarMonth(), this.getSolarDay());
+		if (festival != null) {
+			this.isSFestival = true;
+			this.sFestivalName = this.sFestivalName.length() == 0 ? festival.name
+					: this.sFestivalName + "|" + festival.name;
+			if (festival.isHoliday) this.isHoliday = true;
+		}
+		if (sy > 1874 && sy < 1909)
+			this.description = "光绪" + (((sy - 1874) == 1) ? "元" : "" + (sy - 1874));
+		if (sy > 1908 && sy < 1912)
+			this.description = "宣统" + (((sy - 1908) == 1) ? "元" : String.valueOf(sy - 1908));
+		if (sy > 1911 && sy < 1950)
+			this.description = "民国" + (((sy - 1911) == 1) ? "元" : String.valueOf(sy - 1911));
+		if (sy > 1949)
+			this.description = "共和国" + (((sy - 1949) == 1) ? "元" : String.valueOf(sy - 1949));
+		this.description += "年";
+		this.isFinded = true;
+	}
+
+	/**
+	 * 最后写入, volatile 保证读到 true 时其他节日字段也已可见(实例可能经 {@link LunarCache} 跨线程共享)
+	 */
+	private volatile boolean isFinded = false;
+	private boolean isSFestival = false;
+	private boolean isLFestival = false;
+	private String sFestivalName = "";
+	private String lFestivalName = "";
+	private String description = "";
+	private boolean isHoliday = false;
+
+	/**
+	 * 公历日期距 1970/1/1 的天数
+	 */
+	private int epochDay;
+	/**
+	 * 构建时使用的时区, 按固定时差或公历日期构建时为 null
+	 */
+	private TimeZone zone;
+	/**
+	 * 构建时使用的时差(毫秒), 用于判断是否今日; 按公历日期构建时为 NO_ZONE_OFFSET, 按设备时区判断
+	 */
+	private int zoneOffset;
+	private final static int NO_ZONE_OFFSET = Integer.MIN_VALUE;
+	private int lunarYear;
+	private int lunarMonth;
+	private int lunarDay;
+	private boolean isLeap;
+	private boolean isLeapYear;
+	/**
+	 * 公历日期: 年份 << 9 | 月份(1-12) << 5 | 日期, 首次使用时计算, 0 表示尚未计算
+	 */
+	private int solarDate;
+	/**
+	 * 干支序号: 1 << 18 | 年柱 << 12 | 月柱 << 6 | 日柱, 首次使用时计算, 0 表示尚未计算
+	 * <p/>
+	 * 与 solarDate 一样, 多线程同时首次访问时可能重复计算, 结果相同且 int 写入是原子的, 无需加锁.
+	 */
+	private int cyclical;
+	private int maxDayInMonth = 29;
+
+	/**
+	 * 农历数据表起始日(1900年正月初一, 即公历1900年1月31日)距 1970/1/1 的天数
+	 */
+	private final static int BASE_EPOCH_DAY = -25537;
+	/**
+	 * 支持的最小农历年份, 1900年以前的数据来自扩展数据文件
+	 */
+	public final static int MIN_YEAR = 1600;
+	/**
+	 * 支持的最大农历年份, 2100年以后的数据来自扩展数据文件
+	 */
+	public final static int MAX_YEAR = 2400;
+	/**
+	 * 1900-2100 年的月份索引, 由 lunarInfo 生成
+	 */
+	private final static LunarMonthTable coreTable;
+
+	static {
+		int[] yearInfos = new int[lunarInfo.length];
+		int[] monthDays = new int[12];
+		for (int y = 1900; y < 1900 + lunarInfo.length; y++) {
+			for (int m = 1; m <= 12; m++) {
+				monthDays[m - 1] = Lunar.getLunarMonthDays(y, m);
+			}
+			yearInfos[y - 1900] = LunarMonthTable.encode(monthDays, Lunar.getLunarLeapMonth(y), Lunar.getLunarLeapDays(y));
+		}
+		coreTable = new LunarMonthTable(1900, BASE_EPOCH_DAY, yearInfos);
+	}
+
+	/**
+	 * 返回包含指定日期的月份索引
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 月份索引, 超出数据范围返回 null
+	 */
+	static LunarMonthTable findTableByDay(int epochDay) {
+		return coreTable.containsDay(epochDay) ? coreTable : LunarDataFile.findByDay(epochDay);
+	}
+
+	/**
+	 * 返回包含指定农历年的月份索引
+	 *
+	 * @param lunarYear 农历年份
+	 * @return 月份索引, 超出数据范围返回 null
+	 */
+	static LunarMonthTable findTableByYear(int lunarYear) {
+		return coreTable.containsYear(lunarYear) ? coreTable : LunarDataFile.findByYear(lunarYear);
+	}
+
+	/**
+	 * 返回指定日期的农历日期, 压缩格式见 {@link LunarDate}
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 压缩的农历日期
+	 * @throws IllegalArgumentException 超出数据表范围
+	 */
+	static int packLunarDate(int epochDay) {
+		LunarMonthTable table = Lunar.findTableByDay(epochDay);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + epochDay);
+		}
+		int index = table.findMonthIndex(epochDay);
+		int info = table.getMonthInfo(index);
+		int monthStart = table.getMonthStartDay(index);
+		return LunarDate.pack(info >>> 8, info & 0xf, (info & 0x10) != 0,
+				epochDay - monthStart + 1, table.getMonthStartDay(index + 1) - monthStart);
+	}
+
+	/**
+	 * 批量转换一段连续日期
+	 *
+	 * @param startEpochDay 起始日期距 1970/1/1 的天数
+	 * @param count         天数
+	 * @param packedOut     输出每天的压缩农历日期, 格式同 {@link LunarDate#toPacked()}
+	 * @throws IllegalArgumentException 数组长度不足或超出数据表范围
+	 * @see #convertRange(int, int, int[], byte[], byte[])
+	 */
+	public static void convertRange(int startEpochDay, int count, int[] packedOut) {
+		Lunar.convertRange(startEpochDay, count, packedOut, null, null);
+	}
+
+	/**
+	 * 批量转换一段连续日期, 逐日推进而不是每天重新查找; 较长的区间按农历年拆分后并行转换
+	 *
+	 * @param startEpochDay  起始日期距 1970/1/1 的天数
+	 * @param count          天数
+	 * @param packedOut      输出每天的压缩农历日期, 格式同 {@link LunarDate#toPacked()}
+	 * @param cyclicalDayOut 输出每天的日柱干支序号(0为甲子), 可为 null
+	 * @param termIndexOut   输出每天的节气序号(0从小寒算起, 不是节气日为-1), 可为 null
+	 * @throws IllegalArgumentException 数组长度不足或超出数据表范围
+	 */
+	public static void convertRange(int startEpochDay, int count, int[] packedOut,
+									byte[] cyclicalDayOut, byte[] termIndexOut) {
+		if (count < 0 || packedOut.length < count
+				|| (cyclicalDayOut != null && cyclicalDayOut.length < count)
+				|| (termIndexOut != null && termIndexOut.length < count)) {
+			throw new IllegalArgumentException("输出数组长度不足: " + count);
+		}
+		if (count > PARALLEL_THRESHOLD && isForkJoinAvailable) {
+			LunarRangeTask.invoke(new LunarRangeTask(startEpochDay, count, 0, packedOut, cyclicalDayOut, termIndexOut));
+		} else {
+			Lunar.convertDays(startEpochDay, count, 0, packedOut, cyclicalDayOut, termIndexOut);
+		}
+	}
+
+	/**
+	 * 超过该天数(约11年)才拆分并行转换
+	 */
+	final static int PARALLEL_THRESHOLD = 4096;
+	/**
+	 * ForkJoinPool 是否可用(Android 5.0 以下没有)
+	 */
+	private final static boolean isForkJoinAvailable = Lunar.isClassAvailable("java.util.concurrent.ForkJoinPool");
+
+	private static boolean isClassAvailable(String className) {
+		try {
+			Class.forName(className);
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * 单线程用 {@link LunarCursor} 逐日转换, 结果写入数组的 [offset, offset + count)
+	 */
+	static void convertDays(int startEpochDay, int count, int offset,
+							int[] packedOut, byte[] cyclicalDayOut, byte[] termIndexOut) {
+		if (count <= 0) {
+			return;
+		}
+		LunarCursor cursor = new LunarCursor(startEpochDay);
+		for (int i = offset, end = offset + count; ; ) {
+			packedOut[i] = LunarDate.pack(cursor.getLunarYear(), cursor.getLunarMonth(), cursor.isLeap(),
+					cursor.getLunarDay(), cursor.getMaxDayInMonth());
+			if (cyclicalDayOut != null) {
+				cyclicalDayOut[i] = (byte) cursor.getCyclicalDay();
+			}
+			if (termIndexOut != null) {
+				termIndexOut[i] = (byte) cursor.getTermIndex();
+			}
+			if (++i == end) {
+				break;
+			}
+			cursor.next();
+		}
+	}
+
+	/**
+	 * 农历日期转公历日期
+	 *
+	 * @param lunarYear  农历年份(数字, 1600-2400)
+	 * @param lunarMonth 农历月份(数字, 1-12)
+	 * @param isLeap     是否闰月
+	 * @param lunarDay   农历日(数字, 1-30)
+	 * @return 对应公历日期距 1970/1/1 的天数
+	 * @throws IllegalArgumentException 日期不存在或超出数据表范围
+	 */
+	public static int toSolar(int lunarYear, int lunarMonth, boolean isLeap, int lunarDay) {
+		LunarMonthTable table = Lunar.findTableByYear(lunarYear);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + lunarYear);
+		}
+		if (lunarMonth < 1 || lunarMonth > 12) {
+			throw new IllegalArgumentException("农历月份无效: " + lunarMonth);
+		}
+		int leapMonth = table.getLeapMonth(lunarYear);
+		if (isLeap && leapMonth != lunarMonth) {
+			throw new IllegalArgumentException(lunarYear + "年没有闰" + lunarMonth + "月");
+		}
+		int index = table.getYearFirstMonthIndex(lunarYear) + lunarMonth - 1;
+		// 闰月及闰月之后的月份顺延一位
+		if (leapMonth > 0 && (lunarMonth > leapMonth || isLeap)) {
+			index++;
+		}
+		int monthStart = table.getMonthStartDay(index);
+		if (lunarDay < 1 || lunarDay > table.getMonthStartDay(index + 1) - monthStart) {
+			throw new IllegalArgumentException("农历日无效: " + lunarDay);
+		}
+		return monthStart + lunarDay - 1;
+	}
+
+	/**
+	 * 返回农历年闰月月份
+	 *
+	 * @param lunarYear 指定农历年份(数字)
+	 * @return 该农历年闰月的月份(数字, 没闰返回0)
+	 */
+	private static int getLunarLeapMonth(int lunarYear) {
+		// 数据表中,每个农历年用16bit来表示,
+		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
+		// 若4bit全为1或全为0,表示没闰, 否则4bit的值为闰月月份
+		int leapMonth = Lunar.lunarInfo[lunarYear - 1900] & 0xf;
+		leapMonth = (leapMonth == 0xf ? 0 : leapMonth);
+		return leapMonth;
+	}
+
+	/**
+	 * 返回农历年闰月的天数
+	 *
+	 * @param lunarYear 指定农历年份(数字)
+	 * @return 该农历年闰月的天数(数字)
+	 */
+	private static int getLunarLeapDays(int lunarYear) {
+		// 下一年最后4bit为1111,返回30(大月)
+		// 下一年最后4bit不为1111,返回29(小月)
+		// 若该年没有闰月,返回0
+		return Lunar.getLunarLeapMonth(lunarYear) > 0 ? ((Lunar.lunarInfo[lunarYear - 1899] & 0xf) == 0xf ? 30
+				: 29)
+				: 0;
+	}
+
+	/**
+	 * 返回农历年的总天数
+	 *
+	 * @param lunarYear 指定农历年份(数字)
+	 * @return 该农历年的总天数(数字)
+	 */
+	private static int getLunarYearDays(int lunarYear) {
+		// 按小月计算,农历年最少有12 * 29 = 348天
+		int daysInLunarYear = 348;
+		// 数据表中,每个农历年用16bit来表示,
+		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
+		// 每个大月累加一天
+		for (int i = 0x8000; i > 0x8; i >>= 1) {
+			daysInLunarYear += ((Lunar.lunarInfo[lunarYear - 1900] & i) != 0) ? 1
+					: 0;
+		}
+		// 加上闰月天数
+		daysInLunarYear += Lunar.getLunarLeapDays(lunarYear);
+
+		return daysInLunarYear;
+	}
+
+	/**
+	 * 返回农历年正常月份的总天数
+	 *
+	 * @param lunarYear  指定农历年份(数字)
+	 * @param lunarMonth 指定农历月份(数字)
+	 * @return 该农历年闰月的月份(数字, 没闰返回0)
+	 */
+	private static int getLunarMonthDays(int lunarYear, int lunarMonth) {
+		// 数据表中,每个农历年用16bit来表示,
+		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
+		return ((Lunar.lunarInfo[lunarYear - 1900] & (0x10000 >> lunarMonth)) != 0) ? 30 : 29;
+	}
+
+	/**
+	 * 一天的毫秒数
+	 */
+	private final static long DAY_MILLIS = 86400000L;
+	/**
+	 * 节气计算基准时刻: 1900年1月6日2时5分(UTC), 即1900年小寒
+	 */
+	private final static long TERM_BASE_MILLIS = -25562 * DAY_MILLIS + (2 * 60 + 5) * 60000L;
+	/**
+	 * 每个公历年24节气所在日期(所在月份的第几天)的缓存, 下标为公历年份 - MIN_YEAR
+	 */
+	private final static AtomicReferenceArray<byte[]> solarTermDayCache =
+			new AtomicReferenceArray<byte[]>(MAX_YEAR - MIN_YEAR + 2);
+
+	/**
+	 * 向下取整的除法
+	 */
+	static long floorDiv(long x, long y) {
+		long q = x / y;
+		if ((x % y != 0) && ((x ^ y) < 0)) {
+			q--;
+		}
+		return q;
+	}
+
+	/**
+	 * 向下取整的取模, 结果与除数同号
+	 */
+	static int floorMod(int x, int y) {
+		int m = x % y;
+		return (m != 0 && ((m ^ y) < 0)) ? m + y : m;
+	}
+
+	/**
+	 * 返回公历日期距 1970/1/1 的天数
+	 *
+	 * @param y 公历年份
+	 * @param m 公历月份(1-12)
+	 * @param d 公历日期
+	 * @return 距 1970/1/1 的天数
+	 */
+	static int daysFromCivil(int y, int m, int d) {
+		if (m <= 2) y--;
+		int era = (y >= 0 ? y : y - 399) / 400;
+		int yoe = y - era * 400;
+		int doy = (153 * (m > 2 ? m - 3 : m + 9) + 2) / 5 + d - 1;
+		int doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+		return era * 146097 + doe - 719468;
+	}
+
+	/**
+	 * 返回距 1970/1/1 指定天数的公历日期
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 公历日期: 年份 << 9 | 月份(1-12) << 5 | 日期
+	 */
+	static int civilFromDays(int epochDay) {
+		int z = epochDay + 719468;
+		int era = (z >= 0 ? z : z - 146096) / 146097;
+		int doe = z - era * 146097;
+		int yoe = (doe - doe / 1460 + doe / 36524 - doe / 146096) / 365;
+		int doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+		int mp = (5 * doy + 2) / 153;
+		int d = doy - (153 * mp + 2) / 5 + 1;
+		int m = mp < 10 ? mp + 3 : mp - 9;
+		int y = yoe + era * 400 + (m <= 2 ? 1 : 0);
+		return y << 9 | m << 5 | d;
+	}
+
+	/**
+	 * 取 Date 对象中用全球标准时间 (UTC) 表示的日期
+	 *
+	 * @param date 指定日期
+	 * @return UTC 全球标准时间 (UTC) 表示的日期
+	 */
+	public static int getUTCDay(Date date) {
+		return Lunar.civilFromDays((int) Lunar.floorDiv(date.getTime(), DAY_MILLIS)) & 0x1f;
+	}
+
+	/**
+	 * 返回全球标准时间 (UTC) (或 GMT) 的 1970 年 1 月 1 日到所指定日期之间所间隔的毫秒数。
+	 *
+	 * @param y   指定年份
+	 * @param m   指定月份
+	 * @param d   指定日期
+	 * @param h   指定小时
+	 * @param min 指定分钟
+	 * @param sec 指定秒数
+	 * @return 全球标准时间 (UTC) (或 GMT) 的 1970 年 1 月 1 日到所指定日期之间所间隔的毫秒数
+	 */
+	public static long UTC(int y, int m, int d, int h, int min, int sec) {
+		// 与 Calendar 的宽松模式一致, 月份越界时进位到年份
+		y += (int) Lunar.floorDiv(m, 12);
+		m -= (int) Lunar.floorDiv(m, 12) * 12;
+		long days = Lunar.daysFromCivil(y, m + 1, 1) + d - 1L;
+		return days * DAY_MILLIS + ((h * 60L + min) * 60L + sec) * 1000L;
+	}
+
+	/**
+	 * 返回公历年节气的日期
+	 *
+	 * @param solarYear 指定公历年份(数字)
+	 * @param index     指定节气序号(数字,0从小寒算起)
+	 * @return 日期(数字, 所在月份的第几天)
+	 */
+	private static int getSolarTermDay(int solarYear, int index) {
+		return Lunar.getSolarTermDays(solarYear)[index];
+	}
+
+	/**
+	 * 返回公历年全部24节气的日期, 数据表范围内的年份计算一次后缓存
+	 *
+	 * @param solarYear 指定公历年份(数字)
+	 * @return 日期数组(下标为节气序号, 值为所在月份的第几天)
+	 */
+	static byte[] getSolarTermDays(int solarYear) {
+		int i = solarYear - MIN_YEAR;
+		if (i < 0 || i >= solarTermDayCache.length()) {
+			return Lunar.computeSolarTermDays(solarYear);
+		}
+		byte[] days = solarTermDayCache.get(i);
+		if (days == null) {
+			// 并发时可能重复计算, 结果相同, 无需加锁
+			days = Lunar.computeSolarTermDays(solarYear);
+			solarTermDayCache.set(i, days);
+		}
+		return days;
+	}
+
+	private static byte[] computeSolarTermDays(int solarYear) {
+		byte[] days = new byte[solarTermInfo.length];
+		long yearMillis = (long) 31556925974.7 * (solarYear - 1900) + TERM_BASE_MILLIS;
+		for (int i = 0; i < days.length; i++) {
+			long l = yearMillis + solarTermInfo[i] * 60000L;
+			days[i] = (byte) (Lunar.civilFromDays((int) Lunar.floorDiv(l, DAY_MILLIS)) & 0x1f);
+		}
+		return days;
+	}
+
+	/**
+	 * 中国标准时间(东八区)与 UTC 的时差, 单位毫秒
+	 */
+	public final static int CHINA_STANDARD_OFFSET = 8 * 3600000;
+
+	/**
+	 * 通过 Date 对象构建农历信息, 按设备时区取日期
+	 *
+	 * @param date 指定日期对象
+	 */
+	public Lunar(Date date) {
+		this(date == null ? System.currentTimeMillis() : date.getTime(), TimeZone.getDefault());
+	}
+
+	/**
+	 * 通过 TimeInMillis 构建农历信息, 按设备时区取日期
+	 * <p/>
+	 * 日期随设备所在时区变化; 需要确定结果时用 {@link #Lunar(long, int)} 指定时差.
+	 *
+	 * @param TimeInMillis 距 1970/1/1 0:00 UTC 的毫秒数
+	 */
+	public Lunar(long TimeInMillis) {
+		this(TimeInMillis, TimeZone.getDefault());
+	}
+
+	/**
+	 * 通过 TimeInMillis 构建农历信息, 按指定时区取日期
+	 * <p/>
+	 * 时差取该时刻的实际时差(含夏令时).
+	 *
+	 * @param TimeInMillis 距 1970/1/1 0:00 UTC 的毫秒数
+	 * @param zone         时区
+	 */
+	public Lunar(long TimeInMillis, TimeZone zone) {
+		this.zone = zone;
+		this.init(TimeInMillis, zone.getOffset(TimeInMillis));
+	}
+
+	/**
+	 * 通过 TimeInMillis 构建农历信息, 按固定时差取日期
+	 * <p/>
+	 * 只做整数运算, 不查询时区. 按中国标准时间计算时传入 {@link #CHINA_STANDARD_OFFSET}.
+	 *
+	 * @param TimeInMillis 距 1970/1/1 0:00 UTC 的毫秒数
+	 * @param zoneOffset   与 UTC 的时差, 单位毫秒(例:东八区为 8 * 3600000)
+	 */
+	public Lunar(long TimeInMillis, int zoneOffset) {
+		this.init(TimeInMillis, zoneOffset);
+	}
+
+	private Lunar() {
+	}
+
+	/**
+	 * 通过公历日期构建农历信息, 与时区无关({@link #isToday()} 按设备时区判断)
+	 *
+	 * @param epochDay 公历日期距 1970/1/1 的天数
+	 * @return 农历信息
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public static Lunar ofEpochDay(int epochDay) {
+		Lunar lunar = new Lunar();
+		lunar.zoneOffset = NO_ZONE_OFFSET;
+		lunar.init(epochDay);
+		return lunar;
+	}
+
+	private void init(long TimeInMillis, int zoneOffset) {
+		this.zoneOffset = zoneOffset;
+		this.init((int) Lunar.floorDiv(TimeInMillis + zoneOffset, DAY_MILLIS));
+	}
+
+	private void init(int epochDay) {
+		// 在农历月索引中二分查找所在月份
+		LunarMonthTable table = Lunar.findTableByDay(epochDay);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + epochDay);
+		}
+		int index = table.findMonthIndex(epochDay);
+		int info = table.getMonthInfo(index);
+		// 农历年数字
+		this.lunarYear = info >>> 8;
+		// 是否闰年
+		this.isLeapYear = table.getLeapMonth(this.lunarYear) > 0;
+		// 农历月数字
+		this.lunarMonth = info & 0xf;
+		// 是否闰月
+		this.isLeap = (info & 0x10) != 0;
+		// 农历日数字
+		this.lunarDay = epochDay - table.getMonthStartDay(index) + 1;
+		this.maxDayInMonth = table.getMonthStartDay(index + 1) - table.getMonthStartDay(index);
+		this.epochDay = epochDay;
+	}
+
+	/**
+	 * 公历日期, 首次调用时由 epochDay 推算
+	 *
+	 * @return 年份 << 9 | 月份(1-12) << 5 | 日期
+	 */
+	private int getSolarDate() {
+		int solarDate = this.solarDate;
+		if (solarDate == 0) {
+			solarDate = Lunar.civilFromDays(this.epochDay);
+			this.solarDate = solarDate;
+		}
+		return solarDate;
+	}
+
+	/**
+	 * 干支序号, 首次调用时计算
+	 *
+	 * @return 1 << 18 | 年柱 << 12 | 月柱 << 6 | 日柱
+	 */
+	private int getCyclical() {
+		int cyclical = this.cyclical;
+		if (cyclical == 0) {
+			cyclical = this.getCyclicalData();
+			this.cyclical = cyclical;
+		}
+		return cyclical;
+	}
+
+	/**
+	 * 取干支历 不是历年，历月干支，而是中国的从立春节气开始的节月，是中国的太阳十二宫，阳历的。
+	 *
+	 * @return 干支序号, 格式同 {@link #getCyclical()}
+	 */
+	private int getCyclicalData() {
+		int solarYear = this.getSolarYear();
+		int solarMonth = this.getSolarMonth() - 1;
+		int solarDay = this.getSolarDay();
+		// 干支历
+		int cyclicalYear = 0;
+		int cyclicalMonth = 0;
+		int cyclicalDay = 0;
+
+		// 干支年 1900年立春後为庚子年(60进制36)
+		int term2 = Lunar.getSolarTermDay(solarYear, 2); // 立春日期
+		// 依节气调整二月分的年柱, 以立春为界
+		if (solarMonth < 1 || (solarMonth == 1 && solarDay < term2)) {
+			cyclicalYear = Lunar.floorMod(solarYear - 1900 + 36 - 1, 60);
+		} else {
+			cyclicalYear = Lunar.floorMod(solarYear - 1900 + 36, 60);
+		}
+
+		// 干支月 1900年1月小寒以前为 丙子月(60进制12)
+		int firstNode = Lunar.getSolarTermDay(solarYear, solarMonth * 2); // 传回当月「节」为几日开始
+		// 依节气月柱, 以「节」为界
+		if (solarDay < firstNode) {
+			cyclicalMonth = Lunar.floorMod((solarYear - 1900) * 12 + solarMonth + 12, 60);
+		} else {
+			cyclicalMonth = Lunar.floorMod((solarYear - 1900) * 12 + solarMonth + 13, 60);
+		}
+
+		// 当月一日与 1900/1/1 相差天数
+		// 1900/1/1与 1970/1/1 相差25567日, 1900/1/1 日柱为甲戌日(60进制10)
+		cyclicalDay = Lunar.floorMod(this.epochDay + 25567 + 10, 60);
+		return 1 << 18 | cyclicalYear << 12 | cyclicalMonth << 6 | cyclicalDay;
+	}
+
+	/**
+	 * 取农历年生肖
+	 *
+	 * @return 农历年生肖(例:龙)
+	 */
+	public String getAnimalString() {
+		return Lunar.Animals[(this.lunarYear - 4) % 12];
+	}
+
+	/**
+	 * 返回公历日期的节气字符串
+	 *
+	 * @return 二十四节气字符串, 若不是节气日, 返回空串(例:冬至)
+	 */
+	public String getTermString() {
+		// 二十四节气
+		String termString = "";
+		int solarMonth = this.getSolarMonth() - 1;
+		int solarDay = this.getSolarDay();
+		byte[] termDays = Lunar.getSolarTermDays(this.getSolarYear());
+		if (termDays[solarMonth * 2] == solarDay) {
+			termString = Lunar.solarTerm[solarMonth * 2];
+		} else if (termDays[solarMonth * 2 + 1] == solarDay) {
+			termString = Lunar.solarTerm[solarMonth * 2 + 1];
+		}
+		return termString;
+	}
+
+
+	/**
+	 * 取得干支历字符串
+	 *
+	 * @return 干支历字符串(例:甲子年甲子月甲子日)
+	 */
+	public String getCyclicalDateString() {
+		return this.formatCyclicalTo(new StringBuilder(9)).toString();
+	}
+
+	/**
+	 * 把干支历字符串追加到 StringBuilder
+	 *
+	 * @param sb 目标
+	 * @return 传入的 sb
+	 */
+	public StringBuilder formatCyclicalTo(StringBuilder sb) {
+		return sb.append(Lunar.cyclicalStrings[this.getCyclicalYear()]).append('年')
+				.append(Lunar.cyclicalStrings[this.getCyclicalMonth()]).append('月')
+				.append(Lunar.cyclicalStrings[this.getCyclicalDay()]).append('日');
+	}
+
+	private int getCyclicalYear() {
+		return this.getCyclical() >> 12 & 0x3f;
+	}
+
+	private int getCyclicalMonth() {
+		return this.getCyclical() >> 6 & 0x3f;
+	}
+
+	private int getCyclicalDay() {
+		return this.getCyclical() & 0x3f;
+	}
+
+	/**
+	 * 年份天干
+	 *
+	 * @return 年份天干
+	 */
+	public int getTiananY() {
+		return Lunar.getTianan(this.getCyclicalYear());
+	}
+
+	/**
+	 * 月份天干
+	 *
+	 * @return 月份天干
+	 */
+	public int getTiananM() {
+		return Lunar.getTianan(this.getCyclicalMonth());
+	}
+
+	/**
+	 * 日期天干
+	 *
+	 * @return 日期天干
+	 */
+	public int getTiananD() {
+		return Lunar.getTianan(this.getCyclicalDay());
+	}
+
+	/**
+	 * 年份地支
+	 *
+	 * @return 年分地支
+	 */
+	public int getDeqiY() {
+		return Lunar.getDeqi(this.getCyclicalYear());
+	}
+
+	/**
+	 * 月份地支
+	 *
+	 * @return 月份地支
+	 */
+	public int getDeqiM() {
+		return Lunar.getDeqi(this.getCyclicalMonth());
+	}
+
+	/**
+	 * 日期地支
+	 *
+	 * @return 日期地支
+	 */
+	public int getDeqiD() {
+		return Lunar.getDeqi(this.getCyclicalDay());
+	}
+
+	/**
+	 * 取得干支年字符串
+	 *
+	 * @return 干支年字符串
+	 */
+	public String getCyclicaYear() {
+		return Lunar.getCyclicalString(this.getCyclicalYear());
+	}
+
+	/**
+	 * 取得干支月字符串
+	 *
+	 * @return 干支月字符串
+	 */
+	public String getCyclicaMonth() {
+		return Lunar.getCyclicalString(this.getCyclicalMonth());
+	}
+
+	/**
+	 * 取得干支日字符串
+	 *
+	 * @return 干支日字符串
+	 */
+	public String getCyclicaDay() {
+		return Lunar.getCyclicalString(this.getCyclicalDay());
+	}
+
+	/**
+	 * 返回农历日期字符串
+	 *
+	 * @return 农历日期字符串
+	 */
+	public String getLunarDayString() {
+		return Lunar.getLunarDayString(this.lunarDay);
+	}
+
+	/**
+	 * 返回农历日期字符串
+	 *
+	 * @return 农历日期字符串
+	 */
+	public String getLunarMonthString() {
+		return Lunar.getLunarMonthString(this.lunarMonth, this.isLeap());
+	}
+
+	/**
+	 * 返回指定农历月份的字符串
+	 *
+	 * @param lunarMonth 农历月份(数字, 1-12)
+	 * @param isLeap     是否闰月
+	 * @return 农历月份字符串 (例: 正、闰四)
+	 */
+	static String getLunarMonthString(int lunarMonth, boolean isLeap) {
+		return (isLeap ? Lunar.leapMonthStrings : Lunar.lunarMonthStrings)[lunarMonth];
+	}
+
+	/**
+	 * 返回农历日期字符串
+	 *
+	 * @return 农历日期字符串
+	 */
+	public String getLunarYearString() {
+		return Lunar.getLunarYearString(this.lunarYear);
+	}
+
+	/**
+	 * 返回农历表示字符串
+	 *
+	 * @return 农历字符串(例:甲子年正月初三)
+	 */
+	public String getLunarDateString() {
+		return this.formatTo(new StringBuilder(10)).toString();
+	}
+
+	/**
+	 * 把农历表示字符串追加到 StringBuilder, 不产生中间字符串
+	 *
+	 * @param sb 目标
+	 * @return 传入的 sb
+	 */
+	public StringBuilder formatTo(StringBuilder sb) {
+		return sb.append(this.getLunarYearString()).append('年')
+				.append(this.getLunarMonthString()).append('月')
+				.append(this.getLunarDayString()).append('日');
+	}
+
+	/**
+	 * 把农历表示字符串写入 Appendable(例:甲子年正月初三)
+	 *
+	 * @param out 目标
+	 * @throws IOException 写入失败
+	 */
+	public void formatTo(Appendable out) throws IOException {
+		out.append(this.getLunarYearString()).append('年')
+				.append(this.getLunarMonthString()).append('月')
+				.append(this.getLunarDayString()).append('日');
+	}
+
+	/**
+	 * 农历年是否是闰月
+	 *
+	 * @return 农历年是否是闰月
+	 */
+	public boolean isLeap() {
+		return isLeap;
+	}
+
+	/**
+	 * 农历年是否是闰年
+	 *
+	 * @return 农历年是否是闰年
+	 */
+	public boolean isLeapYear() {
+		return isLeapYear;
+	}
+
+	/**
+	 * 当前农历月是否是大月
+	 *
+	 * @return 当前农历月是大月
+	 */
+	public boolean isBigMonth() {
+		return this.getMaxDayInMonth() > 29;
+	}
+
+	/**
+	 * 当前农历月有多少天
+	 *
+	 * @return 当前农历月有多少天
+	 */
+	public int getMaxDayInMonth() {
+		return this.maxDayInMonth;
+	}
+
+	/**
+	 * 农历日期
+	 *
+	 * @return 农历日期
+	 */
+	public int getLunarDay() {
+		return lunarDay;
+	}
+
+	/**
+	 * 农历月份
+	 *
+	 * @return 农历月份
+	 */
+	public int getLunarMonth() {
+		return lunarMonth;
+	}
+
+	/**
+	 * 农历年份
+	 *
+	 * @return 农历年份
+	 */
+	public int getLunarYear() {
+		return lunarYear;
+	}
+
+	/**
+	 * 公历日期
+	 *
+	 * @return 公历日期
+	 */
+	public int getSolarDay() {
+		return this.getSolarDate() & 0x1f;
+	}
+
+	/**
+	 * 公历月份
+	 *
+	 * @return 公历月份 (不是从0算起)
+	 */
+	public int getSolarMonth() {
+		return this.getSolarDate() >> 5 & 0xf;
+	}
+
+	/**
+	 * 公历年份
+	 *
+	 * @return 公历年份
+	 */
+	public int getSolarYear() {
+		return this.getSolarDate() >> 9;
+	}
+
+	/**
+	 * 星期几
+	 *
+	 * @return 星期几(星期日为:1, 星期六为:7)
+	 */
+	public int getDayOfWeek() {
+		// 1970/1/1 为星期四
+		return Lunar.floorMod(this.epochDay + 4, 7) + 1;
+	}
+
+	/**
+	 * 黑色星期五
+	 *
+	 * @return 是否黑色星期五
+	 */
+	public boolean isBlackFriday() {
+		return (this.getSolarDay() == 13 && this.getDayOfWeek() == 6);
+	}
+
+	/**
+	 * 是否是今日
+	 *
+	 * @return 是否是今日
+	 */
+	public boolean isToday() {
+		long now = System.currentTimeMillis();
+		int offset = this.zoneOffset;
+		if (this.zone != null) {
+			offset = this.zone.getOffset(now);
+		} else if (offset == NO_ZONE_OFFSET) {
+			offset = TimeZone.getDefault().getOffset(now);
+		}
+		return Lunar.floorDiv(now + offset, DAY_MILLIS) == this.epochDay;
+	}
+
+	/**
+	 * 取得公历节日名称
+	 *
+	 * @return 公历节日名称, 如果不是节日返回空串
+	 */
+	public String getSFestivalName() {
+		if (!this.isFinded) this.findFestival();
+		return this.sFestivalName;
+	}
+
+	/**
+	 * 取得农历节日名称
+	 *
+	 * @return 农历节日名称, 如果不是节日返回空串
+	 */
+	public String getLFestivalName() {
+		if (!this.isFinded) this.findFestival();
+		return this.lFestivalName;
+	}
+
+	/**
+	 * 是否是农历节日
+	 *
+	 * @return 是否是农历节日
+	 */
+	public boolean isLFestival() {
+		if (!this.isFinded) this.findFestival();
+		return this.isLFestival;
+	}
+
+	/**
+	 * 是否是公历节日
+	 *
+	 * @return 是否是公历节日
+	 */
+	public boolean isSFestival() {
+		if (!this.isFinded) this.findFestival();
+		return this.isSFestival;
+	}
+
+	/**
+	 * 是否是节日
+	 *
+	 * @return 是否是节日
+	 */
+	public boolean isFestival() {
+		return this.isSFestival() || this.isLFestival();
+	}
+
+	/**
+	 * 是否是放假日
+	 * <p/>
+	 * 只看当天是否为节日表中标 * 的节日, 不含实际放假安排和调休, 放假安排见 {@link Holidays}
+	 *
+	 * @return 是否是放假日
+	 */
+	public boolean isHoliday() {
+		if (!this.isFinded) this.findFestival();
+		return this.isHoliday;
+	}
+
+	/**
+	 * 其它日期说明
+	 *
+	 * @return 日期说明(如:民国2年)
+	 */
+	public String getDescription() {
+		if (!this.isFinded) this.findFestival();
+		return this.description;
+	}
+
+	/**
+	 * 干支字符串
+	 *
+	 * @param cyclicalNumber 指定干支位置(数字,0为甲子)
+	 * @return 干支字符串
+	 */
+	private static String getCyclicalString(int cyclicalNumber) {
+		return Lunar.cyclicalStrings[Lunar.floorMod(cyclicalNumber, 60)];
+	}
+
+	/**
+	 * 获得地支
+	 *
+	 * @param cyclicalNumber
+	 * @return 地支 (数字)
+	 */
+	private static int getDeqi(int cyclicalNumber) {
+		return cyclicalNumber % 12;
+	}
+
+	/**
+	 * 获得天干
+	 *
+	 * @param cyclicalNumber
+	 * @return 天干 (数字)
+	 */
+	private static int getTianan(int cyclicalNumber) {
+		return cyclicalNumber % 10;
+	}
+
+	/**
+	 * 返回指定数字的农历年份表示字符串
+	 *
+	 * @param lunarYear 农历年份(数字,0为甲子)
+	 * @return 农历年份字符串
+	 */
+	private static String getLunarYearString(int lunarYear) {
+		return Lunar.getCyclicalString(lunarYear - 1900 + 36);
+	}
+
+	/**
+	 * 返回指定数字的农历日表示字符串
+	 *
+	 * @param lunarDay 农历日(数字)
+	 * @return 农历日字符串 (例: 21对应廿一)
+	 */
+	public static String getLunarDayString(int lunarDay) {
+		if (lunarDay < 1 || lunarDay > 30) return "";
+		return Lunar.lunarDayStrings[lunarDay];
+	}
+
+	public String[] getLunarDays(int daysInLunarMonth) {
+		String[] lunarDays = new String[daysInLunarMonth];
+		for (int i = 1; i <= daysInLunarMonth; i++) {
+			lunarDays[i - 1] = Lunar.getLunarDayString(i);
+		}
+		return lunarDays;
+	}
+
+	/**
+	 * 将给定的阿拉伯年份(1998)转为汉字显示
+	 * <p/>
+	 * 1900-2100年取预先生成的字符串, 其它年份现拼
+	 *
+	 * @param yearNum 四位年份
+	 * @return 如:一九九八年
+	 */
+	public static String getHansYear(int yearNum) {
+		int index = yearNum - 1900;
+		if (index >= 0 && index < Lunar.hansYearStrings.length) return Lunar.hansYearStrings[index];
+		return Lunar.appendHansYear(new StringBuilder(5), yearNum).toString();
+	}
+
+	/**
+	 * 把给定的阿拉伯年份(1998)以汉字追加到 StringBuilder
+	 *
+	 * @param sb      目标
+	 * @param yearNum 四位年份
+	 * @return 传入的 sb, 追加如:一九九八年
+	 */
+	public static StringBuilder appendHansYear(StringBuilder sb, int yearNum) {
+		return sb.append(lunarNumber[yearNum / 1000])
+				.append(lunarNumber[(yearNum % 1000) / 100])
+				.append(lunarNumber[(yearNum % 100) / 10])
+				.append(lunarNumber[yearNum % 10])
+				.append('年');
+	}
+
+	/**
+	 * 获取当前农历年份
+	 *
+	 * @return 例:一九九八年 显示
+	 */
+	public String getLunarHansYear() {
+		return Lunar.getHansYear(getLunarYear());
+	}
+}
@@ -0,0 +1,385 @@
+package calv1n.datetime.dependency;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 天文算法推算节气与朔(可选)
+ * <p/>
+ * {@link Lunar} 的节气日期由 solarTermInfo 线性推算, 个别年份会差一天, 也只覆盖数据表范围.
+ * 本类按天文算法计算任意年份节气和朔的精确时刻:
+ * 太阳位置用截断的 VSOP87 地球级数(Meeus《Astronomical Algorithms》附录三), 加章动和光行差修正;
+ * 朔用 Meeus 第49章由 ELP-2000/82 拟合的级数; 力学时与世界时之差 ΔT 取 Espenak-Meeus 多项式.
+ * 1600-2400 年间误差在一分钟以内(ΔT 外推的年份误差更大). 1582 年以前按外推的公历计算.
+ * <p/>
+ * 1600-2401 年的计算结果按公历年缓存, 同一年的级数在进程内只计算一次; 其他年份每次重新计算.
+ * <p/>
+ * 本类是独立的可选 API: {@link Lunar}、{@link LunarCursor} 和 {@link LunarEventIndex} 的节气日期
+ * 仍取自 {@code Lunar.getSolarTermDays} 的线性推算, 与原始实现逐日一致, 不会调用本类.
+ * 需要精确时刻(或按天文算法核对节气日期)时直接调用本类.
+ */
+public final class LunarAstronomy {
+
+	private final static double J2000 = 2451545.0;
+	/**
+	 * 1970/1/1 0:00 UTC 的儒略日
+	 */
+	private final static double UNIX_EPOCH_JD = 2440587.5;
+	private final static double DAY_MILLIS = 86400000.0;
+	private final static double TROPICAL_YEAR = 365.2422;
+
+	/**
+	 * 每个公历年的计算结果, 下标为公历年份 - {@link Lunar#MIN_YEAR}
+	 */
+	private final static AtomicReferenceArray<YearData> yearCache =
+			new AtomicReferenceArray<YearData>(Lunar.MAX_YEAR - Lunar.MIN_YEAR + 2);
+
+	private LunarAstronomy() {
+	}
+
+	private final static class YearData {
+		/**
+		 * 24个节气的 UTC 毫秒数, 下标为节气序号(0为小寒)
+		 */
+		final long[] solarTerms;
+		/**
+		 * 当年(UTC)内各次朔的 UTC 毫秒数, 按先后排列
+		 */
+		final long[] newMoons;
+
+		YearData(long[] solarTerms, long[] newMoons) {
+			this.solarTerms = solarTerms;
+			this.newMoons = newMoons;
+		}
+	}
+
+	/**
+	 * 节气的精确时刻
+	 *
+	 * @param solarYear 公历年份
+	 * @param index     节气序号(数字, 0从小寒算起, 同 {@link Lunar#solarTerm})
+	 * @return 距 1970/1/1 0:00 UTC 的毫秒数
+	 * @throws IllegalArgumentException 节气序号无效
+	 */
+	public static long getSolarTermMillis(int solarYear, int index) {
+		if (index < 0 || index >= 24) {
+			throw new IllegalArgumentException("节气序号无效: " + index);
+		}
+		return LunarAstronomy.getYearData(solarYear).solarTerms[index];
+	}
+
+	/**
+	 * 公历年内(按 UTC)朔的次数, 12或13
+	 *
+	 * @param solarYear 公历年份
+	 * @return 朔的次数
+	 */
+	public static int getNewMoonCount(int solarYear) {
+		return LunarAstronomy.getYearData(solarYear).newMoons.length;
+	}
+
+	/**
+	 * 公历年内(按 UTC)第几次朔的精确时刻
+	 *
+	 * @param solarYear 公历年份
+	 * @param index     第几次, 从0算起, 小于 {@link #getNewMoonCount(int)}
+	 * @return 距 1970/1/1 0:00 UTC 的毫秒数
+	 * @throws IllegalArgumentException 序号无效
+	 */
+	public static long getNewMoonMillis(int solarYear, int index) {
+		long[] newMoons = LunarAstronomy.getYearData(solarYear).newMoons;
+		if (index < 0 || index >= newMoons.length) {
+			throw new IllegalArgumentException(solarYear + "年没有第" + (index + 1) + "次朔");
+		}
+		return newMoons[index];
+	}
+
+	private static YearData getYearData(int solarYear) {
+		int i = solarYear - Lunar.MIN_YEAR;
+		if (i < 0 || i >= yearCache.length()) {
+			return LunarAstronomy.computeYear(solarYear);
+		}
+		YearData data = yearCache.get(i);
+		if (data == null) {
+			// 并发时可能重复计算, 结果相同, 保留先放入的
+			data = LunarAstronomy.computeYear(solarYear);
+			if (!yearCache.compareAndSet(i, null, data)) {
+				data = yearCache.get(i);
+			}
+		}
+		return data;
+	}
+
+	private static YearData computeYear(int solarYear) {
+		long[] solarTerms = new long[24];
+		for (int i = 0; i < solarTerms.length; i++) {
+			// 小寒为黄经285°, 之后每个节气加15°
+			solarTerms[i] = LunarAstronomy.toMillis(LunarAstronomy.solarTermJde(solarYear, (285 + 15 * i) % 360));
+		}
+
+		long first = LunarAstronomy.toMillis(Lunar.daysFromCivil(solarYear, 1, 1) + UNIX_EPOCH_JD);
+		long end = LunarAstronomy.toMillis(Lunar.daysFromCivil(solarYear + 1, 1, 1) + UNIX_EPOCH_JD);
+		long[] candidates = new long[15];
+		int count = 0;
+		// k=0 为 2000/1/6 的朔
+		int k = (int) Math.floor((solarYear - 2000) * 12.3685) - 1;
+		for (int i = 0; i < candidates.length; i++, k++) {
+			long millis = LunarAstronomy.toMillis(LunarAstronomy.newMoonJde(k));
+			if (millis >= first && millis < end) {
+				candidates[count++] = millis;
+			}
+		}
+		long[] newMoons = new long[count];
+		System.arraycopy(candidates, 0, newMoons, 0, count);
+		return new YearData(solarTerms, newMoons);
+	}
+
+	/**
+	 * 力学时儒略日转为 UTC 毫秒数
+	 */
+	private static long toMillis(double jde) {
+		double year = 2000 + (jde - J2000) / 365.25;
+		double ut = jde - LunarAstronomy.deltaT(year) / 86400;
+		return Math.round((ut - UNIX_EPOCH_JD) * DAY_MILLIS);
+	}
+
+	/**
+	 * 太阳视黄经到达指定度数的时刻(力学时儒略日)
+	 */
+	private static double solarTermJde(int year, double longitude) {
+		double jde = J2000 + (year - 2000) * TROPICAL_YEAR + (((longitude - 280) % 360 + 360) % 360) * TROPICAL_YEAR / 360;
+		for (int i = 0; i < 20; i++) {
+			double d = LunarAstronomy.normalizeDegrees(longitude - LunarAstronomy.apparentSunLongitude(jde) + 180) - 180;
+			jde += d * TROPICAL_YEAR / 360;
+			if (Math.abs(d) < 1e-7) {
+				break;
+			}
+		}
+		return jde;
+	}
+
+	private static double normalizeDegrees(double degrees) {
+		degrees %= 360;
+		return degrees < 0 ? degrees + 360 : degrees;
+	}
+
+	// VSOP87 地球日心黄经的周期项: 振幅(1e-8 弧度), 相位, 频率; 每组依次为 L0..L5
+	private final static double[][] EARTH_L = {
+			{
+					175347046, 0, 0, 3341656, 4.6692568, 6283.07585, 34894, 4.6261, 12566.1517,
+					3497, 2.7441, 5753.3849, 3418, 2.8289, 3.5231, 3136, 3.6277, 77713.7715,
+					2676, 4.4181, 7860.4194, 2343, 6.1352, 3930.2097, 1324, 0.7425, 11506.7698,
+					1273, 2.0371, 529.691, 1199, 1.1096, 1577.3435, 990, 5.233, 5884.927,
+					902, 2.045, 26.298, 857, 3.508, 398.149, 780, 1.179, 5223.694,
+					753, 2.533, 5507.553, 505, 4.583, 18849.228, 492, 4.205, 775.523,
+					357, 2.92, 0.067, 317, 5.849, 11790.629, 284, 1.899, 796.298,
+					271, 0.315, 10977.079, 243, 0.345, 5486.778, 206, 4.806, 2544.314,
+					205, 1.869, 5573.143, 202, 2.458, 6069.777, 156, 0.833, 213.299,
+					132, 3.411, 2942.463, 126, 1.083, 20.775, 115, 0.645, 0.98,
+					103, 0.636, 4694.003, 102, 0.976, 15720.839, 102, 4.267, 7.114,
+					99, 6.21, 2146.17, 98, 0.68, 155.42, 86, 5.98, 161000.69,
+					85, 1.3, 6275.96, 85, 3.67, 71430.7, 80, 1.81, 17260.15,
+					79, 3.04, 12036.46, 75, 1.76, 5088.63, 74, 3.5, 3154.69,
+					74, 4.68, 801.82, 70, 0.83, 9437.76, 62, 3.98, 8827.39,
+					61, 1.82, 7084.9, 57, 2.78, 6286.6, 56, 4.39, 14143.5,
+					56, 3.47, 6279.55, 52, 0.19, 12139.55, 52, 1.33, 1748.02,
+					51, 0.28, 5856.48, 49, 0.49, 1194.45, 41, 5.37, 8429.24,
+					41, 2.4, 19651.05, 39, 6.17, 10447.39, 37, 6.04, 10213.29,
+					37, 2.57, 1059.38, 36, 1.71, 2352.87, 36, 1.78, 6812.77,
+					33, 0.59, 17789.85, 30, 0.44, 83996.85, 30, 2.74, 1349.87,
+					25, 3.16, 4690.48
+			},
+			{
+					628331966747.0, 0, 0, 206059, 2.678235, 6283.07585, 4303, 2.6351, 12566.1517,
+					425, 1.59, 3.523, 119, 5.796, 26.298, 109, 2.966, 1577.344,
+					93, 2.59, 18849.23, 72, 1.14, 529.69, 68, 1.87, 398.15,
+					67, 4.41, 5507.55, 59, 2.89, 5223.69, 56, 2.17, 155.42,
+					45, 0.4, 796.3, 36, 0.47, 775.52, 29, 2.65, 7.11,
+					21, 5.34, 0.98, 19, 1.85, 5486.78, 19, 4.97, 213.3,
+					17, 2.99, 6275.96, 16, 0.03, 2544.31, 16, 1.43, 2146.17,
+					15, 1.21, 10977.08, 12, 2.83, 1748.02, 12, 3.26, 5088.63,
+					12, 5.27, 1194.45, 12, 2.08, 4694, 11, 0.77, 553.57,
+					10, 1.3, 6286.6, 10, 4.24, 1349.87, 9, 2.7, 242.73,
+					9, 5.64, 951.72, 8, 5.3, 2352.87, 6, 2.65, 9437.76,
+					6, 4.67, 4690.48
+			},
+			{
+					52919, 0, 0, 8720, 1.0721, 6283.0758, 309, 0.867, 12566.152,
+					27, 0.05, 3.52, 16, 5.19, 26.3, 16, 3.68, 155.42,
+					10, 0.76, 18849.23, 9, 2.06, 77713.77, 7, 0.83, 775.52,
+					5, 4.66, 1577.34, 4, 1.03, 7.11, 4, 3.44, 5573.14,
+					3, 5.14, 796.3, 3, 6.05, 5507.55, 3, 1.19, 242.73,
+					3, 6.12, 529.69, 3, 0.31, 398.15, 3, 2.28, 553.57,
+					2, 4.38, 5223.69, 2, 3.75, 0.98
+			},
+			{
+					289, 5.844, 6283.076, 35, 0, 0, 17, 5.49, 12566.15,
+					3, 5.2, 155.42, 1, 4.72, 3.52, 1, 5.3, 18849.23,
+					1, 5.97, 242.73
+			},
+			{
+					114, 3.142, 0, 8, 4.13, 6283.08, 1, 3.84, 12566.15
+			},
+			{
+					1, 3.14, 0
+			}
+	};
+
+	// VSOP87 地球日地距离的主要周期项(1e-8 天文单位), 只用于光行差, 依次为 R0, R1
+	private final static double[][] EARTH_R = {
+			{
+					100013989, 0, 0, 1670700, 3.0984635, 6283.07585, 13956, 3.05525, 12566.1517,
+					3084, 5.1985, 77713.7715, 1628, 1.1739, 5753.3849, 1576, 2.8469, 7860.4194
+			},
+			{
+					103019, 1.10749, 6283.07585, 1721, 1.0644, 12566.1517
+			}
+	};
+
+	private static double sumSeries(double[][] series, double tau) {
+		double result = 0;
+		double power = 1;
+		for (double[] terms : series) {
+			double sum = 0;
+			for (int i = 0; i < terms.length; i += 3) {
+				sum += terms[i] * Math.cos(terms[i + 1] + terms[i + 2] * tau);
+			}
+			result += sum * power;
+			power *= tau;
+		}
+		return result / 1e8;
+	}
+
+	/**
+	 * 太阳视黄经(度), Meeus 第25章高精度算法
+	 */
+	private static double apparentSunLongitude(double jde) {
+		double tau = (jde - J2000) / 365250;
+		double t = tau * 10;
+		// 地心黄经 = 地球日心黄经 + 180°, 再转到 FK5 系统
+		double longitude = Math.toDegrees(LunarAstronomy.sumSeries(EARTH_L, tau)) + 180 - 0.09033 / 3600;
+		double radius = LunarAstronomy.sumSeries(EARTH_R, tau);
+		// 黄经章动(Meeus 第22章简化式, 精度0.5")
+		double omega = Math.toRadians(125.04452 - 1934.136261 * t);
+		double sunMean = Math.toRadians(280.4665 + 36000.7698 * t);
+		double moonMean = Math.toRadians(218.3165 + 481267.8813 * t);
+		double nutation = -17.20 * Math.sin(omega) - 1.32 * Math.sin(2 * sunMean)
+				- 0.23 * Math.sin(2 * moonMean) + 0.21 * Math.sin(2 * omega);
+		// 光行差
+		double aberration = -20.4898 / radius;
+		return LunarAstronomy.normalizeDegrees(longitude + (nutation + aberration) / 3600);
+	}
+
+	// Meeus 第49章 朔的周期项: 系数, E的幂, M, M', F, Ω
+	private final static double[] NEW_MOON_TERMS = {
+			-0.40720, 0, 0, 1, 0, 0, 0.17241, 1, 1, 0, 0, 0, 0.01608, 0, 0, 2, 0, 0,
+			0.01039, 0, 0, 0, 2, 0, 0.00739, 1, -1, 1, 0, 0, -0.00514, 1, 1, 1, 0, 0,
+			0.00208, 2, 2, 0, 0, 0, -0.00111, 0, 0, 1, -2, 0, -0.00057, 0, 0, 1, 2, 0,
+			0.00056, 1, 1, 2, 0, 0, -0.00042, 0, 0, 3, 0, 0, 0.00042, 1, 1, 0, 2, 0,
+			0.00038, 1, 1, 0, -2, 0, -0.00024, 1, -1, 2, 0, 0, -0.00017, 0, 0, 0, 0, 1,
+			-0.00007, 0, 2, 1, 0, 0, 0.00004, 0, 0, 2, -2, 0, 0.00004, 0, 3, 0, 0, 0,
+			0.00003, 0, 1, 1, -2, 0, 0.00003, 0, 0, 2, 2, 0, -0.00003, 0, 1, 1, 2, 0,
+			0.00003, 0, -1, 1, 2, 0, -0.00002, 0, -1, 1, -2, 0, -0.00002, 0, 1, 3, 0, 0,
+			0.00002, 0, 0, 4, 0, 0
+	};
+	// 行星摄动项: 初值, 每朔增量, 系数
+	private final static double[] PLANETARY_TERMS = {
+			299.77, 0.107408, 0.000325, 251.88, 0.016321, 0.000165, 251.83, 26.651886, 0.000164,
+			349.42, 36.412478, 0.000126, 84.66, 18.206239, 0.000110, 141.74, 53.303771, 0.000062,
+			207.14, 2.453732, 0.000060, 154.84, 7.306860, 0.000056, 34.52, 27.261239, 0.000047,
+			207.19, 0.121824, 0.000042, 291.34, 1.844379, 0.000040, 161.72, 24.198154, 0.000037,
+			239.56, 25.513099, 0.000035, 331.55, 3.592518, 0.000023
+	};
+
+	/**
+	 * 第 k 个朔(k=0 为2000年1月6日)的时刻(力学时儒略日), Meeus 第49章
+	 */
+	private static double newMoonJde(int k) {
+		double t = k / 1236.85;
+		double t2 = t * t;
+		double t3 = t2 * t;
+		double t4 = t3 * t;
+		double jde = 2451550.09766 + 29.530588861 * k + 0.00015437 * t2 - 0.000000150 * t3 + 0.00000000073 * t4;
+		double m = Math.toRadians(2.5534 + 29.10535670 * k - 0.0000014 * t2 - 0.00000011 * t3);
+		double mp = Math.toRadians(201.5643 + 385.81693528 * k + 0.0107582 * t2 + 0.00001238 * t3 - 0.000000058 * t4);
+		double f = Math.toRadians(160.7108 + 390.67050284 * k - 0.0016118 * t2 - 0.00000227 * t3 + 0.000000011 * t4);
+		double omega = Math.toRadians(124.7746 - 1.56375588 * k + 0.0020672 * t2 + 0.00000215 * t3);
+		double e = 1 - 0.002516 * t - 0.0000074 * t2;
+		for (int i = 0; i < NEW_MOON_TERMS.length; i += 6) {
+			double amplitude = NEW_MOON_TERMS[i];
+			for (int p = (int) NEW_MOON_TERMS[i + 1]; p > 0; p--) {
+				amplitude *= e;
+			}
+			jde += amplitude * Math.sin(NEW_MOON_TERMS[i + 2] * m + NEW_MOON_TERMS[i + 3] * mp
+					+ NEW_MOON_TERMS[i + 4] * f + NEW_MOON_TERMS[i + 5] * omega);
+		}
+		for (int i = 0; i < PLANETARY_TERMS.length; i += 3) {
+			double a = PLANETARY_TERMS[i] + PLANETARY_TERMS[i + 1] * k - (i == 0 ? 0.009173 * t2 : 0);
+			jde += PLANETARY_TERMS[i + 2] * Math.sin(Math.toRadians(a));
+		}
+		return jde;
+	}
+
+	/**
+	 * Espenak-Meeus ΔT 多项式, 单位秒
+	 */
+	private static double deltaT(double y) {
+		double t;
+		if (y < -500 || y >= 2150) {
+			double u = (y - 1820) / 100;
+			return -20 + 32 * u * u;
+		}
+		if (y < 500) {
+			double u = y / 100;
+			return 10583.6 + u * (-1014.41 + u * (33.78311 + u * (-5.952053
+					+ u * (-0.1798452 + u * (0.022174192 + u * 0.0090316521)))));
+		}
+		if (y < 1600) {
+			double u = (y - 1000) / 100;
+			return 1574.2 + u * (-556.01 + u * (71.23472 + u * (0.319781
+					+ u * (-0.8503463 + u * (-0.005050998 + u * 0.0083572073)))));
+		}
+		if (y < 1700) {
+			t = y - 1600;
+			return 120 - 0.9808 * t - 0.01532 * t * t + t * t * t / 7129;
+		}
+		if (y < 1800) {
+			t = y - 1700;
+			return 8.83 + t * (0.1603 + t * (-0.0059285 + t * (0.00013336 - t / 1174000)));
+		}
+		if (y < 1860) {
+			t = y - 1800;
+			return 13.72 + t * (-0.332447 + t * (0.0068612 + t * (0.0041116 + t * (-0.00037436
+					+ t * (0.0000121272 + t * (-0.0000001699 + t * 0.000000000875))))));
+		}
+		if (y < 1900) {
+			t = y - 1860;
+			return 7.62 + t * (0.5737 + t * (-0.251754 + t * (0.01680668 + t * (-0.0004473624 + t / 233174))));
+		}
+		if (y < 1920) {
+			t = y - 1900;
+			return -2.79 + t * (1.494119 + t * (-0.0598939 + t * (0.0061966 - t * 0.000197)));
+		}
+		if (y < 1941) {
+			t = y - 1920;
+			return 21.20 + t * (0.84493 + t * (-0.076100 + t * 0.0020936));
+		}
+		if (y < 1961) {
+			t = y - 1950;
+			return 29.07 + t * (0.407 + t * (-1.0 / 233 + t / 2547));
+		}
+		if (y < 1986) {
+			t = y - 1975;
+			return 45.45 + t * (1.067 + t * (-1.0 / 260 - t / 718));
+		}
+		if (y < 2005) {
+			t = y - 2000;
+			return 63.86 + t * (0.3345 + t * (-0.060374 + t * (0.0017275 + t * (0.000651814 + t * 0.00002373599))));
+		}
+		if (y < 2050) {
+			t = y - 2000;
+			return 62.92 + t * (0.32217 + t * 0.005589);
+		}
+		double u = (y - 1820) / 100;
+		return -20 + 32 * u * u - 0.5628 * (2150 - y);
+	}
+}
@@ -0,0 +1,293 @@
+package calv1n.datetime.dependency;
+
+import java.util.Arrays;
+
+/**
+ * 按日期缓存 {@link Lunar} 的有界 LRU 缓存
+ * <p/>
+ * 键为公历日期距 1970/1/1 的天数, 与时区无关. 缓存分为若干段, 每段各自加锁并按最近使用淘汰,
+ * 不同线程访问不同日期时基本不会互相等待. 未命中时在锁外构建 {@link Lunar}, 再放回缓存.
+ * 每段用数组保存键、值和链表指针, 查询不装箱也不分配对象.
+ * <p/>
+ * 缓存的 Lunar 由多个调用方共享, 不要修改其状态.
+ */
+public final class LunarCache {
+
+	/**
+	 * 默认缓存大小, 约为一年半的天数
+	 */
+	public final static int DEFAULT_MAX_SIZE = 512;
+	/**
+	 * 分段数为 2 ^ STRIPE_BITS, 由哈希值的高位选段
+	 */
+	private final static int STRIPE_BITS = 3;
+	private final static int STRIPES = 1 << STRIPE_BITS;
+
+	private final Segment[] segments = new Segment[STRIPES];
+	private final int maxSize;
+
+	/**
+	 * 进程内共享的缓存, 首次使用时创建
+	 */
+	private static class DefaultHolder {
+		static final LunarCache INSTANCE = new LunarCache(DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * 进程内共享的缓存, 大小为 {@link #DEFAULT_MAX_SIZE}
+	 *
+	 * @return 共享的缓存
+	 */
+	public static LunarCache getDefault() {
+		return DefaultHolder.INSTANCE;
+	}
+
+	/**
+	 * @param maxSize 最多缓存的天数, 向上取整为分段数的倍数
+	 * @throws IllegalArgumentException maxSize 小于1
+	 */
+	public LunarCache(int maxSize) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("缓存大小必须大于0: " + maxSize);
+		}
+		int capacity = (maxSize + STRIPES - 1) / STRIPES;
+		this.maxSize = capacity * STRIPES;
+		for (int i = 0; i < STRIPES; i++) {
+			segments[i] = new Segment(capacity);
+		}
+	}
+
+	/**
+	 * 取指定公历日期的农历信息
+	 *
+	 * @param year       公历年份
+	 * @param month      公历月份(1-12)
+	 * @param dayOfMonth 公历日期
+	 * @return 共享的农历信息
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public Lunar get(int year, int month, int dayOfMonth) {
+		return get(Lunar.daysFromCivil(year, month, dayOfMonth));
+	}
+
+	/**
+	 * 取指定公历日期的农历信息
+	 *
+	 * @param epochDay 公历日期距 1970/1/1 的天数
+	 * @return 共享的农历信息
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public Lunar get(int epochDay) {
+		int hash = LunarCache.hash(epochDay);
+		Segment segment = segments[hash >>> (32 - STRIPE_BITS)];
+		Lunar lunar = segment.get(epochDay, hash);
+		if (lunar == null) {
+			lunar = segment.put(epochDay, hash, Lunar.ofEpochDay(epochDay));
+		}
+		return lunar;
+	}
+
+	/**
+	 * 最多缓存的天数
+	 *
+	 * @return 缓存大小(已取整为分段数的倍数)
+	 */
+	public int getMaxSize() {
+		return maxSize;
+	}
+
+	/**
+	 * 当前缓存的天数
+	 *
+	 * @return 缓存的天数
+	 */
+	public int size() {
+		int size = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				size += segment.size;
+			}
+		}
+		return size;
+	}
+
+	/**
+	 * 命中次数
+	 *
+	 * @return 命中次数
+	 */
+	public long getHitCount() {
+		long count = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				count += segment.hitCount;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 未命中次数
+	 *
+	 * @return 未命中次数
+	 */
+	public long getMissCount() {
+		long count = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				count += segment.missCount;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * 因超出大小被淘汰的次数
+	 *
+	 * @return 淘汰次数
+	 */
+	public long getEvictionCount() {
+		long count = 0;
+		for (Segment segment : segments) {
+			synchronized (segment) {
+				count += segment.evictionCount;
+			}
+		}
+		return count;
+	}
+
+	@Override
+	public String toString() {
+		return "LunarCache[size=" + size() + "/" + maxSize + ", hits=" + getHitCount()
+				+ ", misses=" + getMissCount() + ", evictions=" + getEvictionCount() + "]";
+	}
+
+	/**
+	 * 打散相邻日期, 高位选段, 低位选桶
+	 */
+	private static int hash(int key) {
+		return key * 0x9E3779B9;
+	}
+
+	/**
+	 * 一段缓存: 条目存放在数组中, 用下标串成哈希桶链和 LRU 双向链表
+	 */
+	private final static class Segment {
+		final int[] keys;
+		final Lunar[] values;
+		/**
+		 * 同一哈希桶中的下一个条目, -1 表示链尾
+		 */
+		final int[] bucketNext;
+		/**
+		 * 每个哈希桶的第一个条目, -1 表示空桶
+		 */
+		final int[] buckets;
+		/**
+		 * LRU 链表, head 为最近使用, tail 为最久未使用
+		 */
+		final int[] before;
+		final int[] after;
+		int head = -1;
+		int tail = -1;
+		int size;
+		long hitCount;
+		long missCount;
+		long evictionCount;
+
+		Segment(int capacity) {
+			keys = new int[capacity];
+			values = new Lunar[capacity];
+			bucketNext = new int[capacity];
+			before = new int[capacity];
+			after = new int[capacity];
+			int bucketCount = Integer.highestOneBit(capacity * 2 - 1) << 1;
+			buckets = new int[bucketCount];
+			Arrays.fill(buckets, -1);
+		}
+
+		synchronized Lunar get(int key, int hash) {
+			int i = find(key, hash);
+			if (i < 0) {
+				missCount++;
+				return null;
+			}
+			hitCount++;
+			moveToHead(i);
+			return values[i];
+		}
+
+		/**
+		 * 放入缓存; 若其他线程已先放入同一天, 返回已有的实例
+		 */
+		synchronized Lunar put(int key, int hash, Lunar value) {
+			int i = find(key, hash);
+			if (i >= 0) {
+				moveToHead(i);
+				return values[i];
+			}
+			if (size < keys.length) {
+				i = size++;
+			} else {
+				i = tail;
+				unlink(i);
+				removeFromBucket(i);
+				evictionCount++;
+			}
+			keys[i] = key;
+			values[i] = value;
+			int bucket = hash & (buckets.length - 1);
+			bucketNext[i] = buckets[bucket];
+			buckets[bucket] = i;
+			linkAtHead(i);
+			return value;
+		}
+
+		private int find(int key, int hash) {
+			for (int i = buckets[hash & (buckets.length - 1)]; i >= 0; i = bucketNext[i]) {
+				if (keys[i] == key) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		private void removeFromBucket(int i) {
+			int bucket = LunarCache.hash(keys[i]) & (buckets.length - 1);
+			if (buckets[bucket] == i) {
+				buckets[bucket] = bucketNext[i];
+				return;
+			}
+			for (int j = buckets[bucket]; j >= 0; j = bucketNext[j]) {
+				if (bucketNext[j] == i) {
+					bucketNext[j] = bucketNext[i];
+					return;
+				}
+			}
+		}
+
+		private void moveToHead(int i) {
+			if (head != i) {
+				unlink(i);
+				linkAtHead(i);
+			}
+		}
+
+		private void unlink(int i) {
+			int b = before[i];
+			int a = after[i];
+			if (b >= 0) after[b] = a;
+			else head = a;
+			if (a >= 0) before[a] = b;
+			else tail = b;
+		}
+
+		private void linkAtHead(int i) {
+			before[i] = -1;
+			after[i] = head;
+			if (head >= 0) before[head] = i;
+			head = i;
+			if (tail < 0) tail = i;
+		}
+	}
+}
@@ -0,0 +1,112 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 农历
+ * <p/>
+ * 直接查月份索引: 年内月份下标加上该年正月在索引中的下标即为月份在索引中的下标,
+ * 相邻两个月初一之差即为当月天数. 闰年有13个月, 闰月紧随同名平月之后.
+ */
+public final class LunarCalendarSystem implements CalendarSystem {
+
+	public final static LunarCalendarSystem INSTANCE = new LunarCalendarSystem();
+
+	/**
+	 * 月份文字(例:正月), 下标为月份
+	 */
+	private final static String[] MONTH_LABELS = new String[13];
+	/**
+	 * 闰月文字(例:闰正月), 下标为月份
+	 */
+	private final static String[] LEAP_MONTH_LABELS = new String[13];
+
+	static {
+		MONTH_LABELS[0] = "";
+		LEAP_MONTH_LABELS[0] = "";
+		for (int i = 1; i < MONTH_LABELS.length; i++) {
+			MONTH_LABELS[i] = Lunar.getLunarMonthString(i, false) + "月";
+			LEAP_MONTH_LABELS[i] = Lunar.getLunarMonthString(i, true) + "月";
+		}
+	}
+
+	private LunarCalendarSystem() {
+	}
+
+	@Override
+	public int getMinYear() {
+		return Lunar.MIN_YEAR;
+	}
+
+	@Override
+	public int getMaxYear() {
+		return Lunar.MAX_YEAR;
+	}
+
+	@Override
+	public int monthsInYear(int year) {
+		return LunarCalendarSystem.findTable(year).getLeapMonth(year) > 0 ? 13 : 12;
+	}
+
+	@Override
+	public int monthLength(int year, int monthIndex) {
+		LunarMonthTable table = LunarCalendarSystem.findTable(year);
+		int index = LunarCalendarSystem.indexOf(table, year, monthIndex);
+		return table.getMonthStartDay(index + 1) - table.getMonthStartDay(index);
+	}
+
+	@Override
+	public String labelFor(int field, int year, int monthIndex, int day) {
+		switch (field) {
+			case FIELD_YEAR:
+				return Lunar.getHansYear(year);
+			case FIELD_MONTH:
+				LunarMonthTable table = Lunar.findTableByYear(year);
+				if (table == null || monthIndex < 0 || monthIndex >= monthsInYear(year)) {
+					return "";
+				}
+				int info = table.getMonthInfo(table.getYearFirstMonthIndex(year) + monthIndex);
+				return ((info & 0x10) != 0 ? LEAP_MONTH_LABELS : MONTH_LABELS)[info & 0xf];
+			case FIELD_DAY:
+				return Lunar.getLunarDayString(day);
+			default:
+				return "";
+		}
+	}
+
+	@Override
+	public int toEpochDay(int year, int monthIndex, int day) {
+		LunarMonthTable table = LunarCalendarSystem.findTable(year);
+		return table.getMonthStartDay(LunarCalendarSystem.indexOf(table, year, monthIndex)) + day - 1;
+	}
+
+	@Override
+	public int fromEpochDay(int epochDay) {
+		LunarMonthTable table = Lunar.findTableByDay(epochDay);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + epochDay);
+		}
+		int index = table.findMonthIndex(epochDay);
+		int year = table.getMonthInfo(index) >>> 8;
+		int monthIndex = index - table.getYearFirstMonthIndex(year);
+		int day = epochDay - table.getMonthStartDay(index) + 1;
+		return year << 9 | monthIndex << 5 | day;
+	}
+
+	private static LunarMonthTable findTable(int year) {
+		LunarMonthTable table = Lunar.findTableByYear(year);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + year);
+		}
+		return table;
+	}
+
+	/**
+	 * 年内月份下标在月份索引中的下标
+	 */
+	private static int indexOf(LunarMonthTable table, int year, int monthIndex) {
+		int months = table.getLeapMonth(year) > 0 ? 13 : 12;
+		if (monthIndex < 0 || monthIndex >= months) {
+			throw new IllegalArgumentException("农历月份下标无效: " + year + "年第" + monthIndex);
+		}
+		return table.getYearFirstMonthIndex(year) + monthIndex;
+	}
+}
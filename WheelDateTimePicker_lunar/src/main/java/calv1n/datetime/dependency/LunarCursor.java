@@ -0,0 +1,292 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 可逐日移动的农历游标
+ * <p/>
+ * 与每天构建一个 {@link Lunar} 不同, 游标只在跨月、跨年时读取农历月索引和节气表,
+ * 逐日移动只做加减, 不分配对象. 适合一次渲染整月或整年的农历标签.
+ */
+public class LunarCursor {
+
+	private int epochDay;
+	private LunarMonthTable table;
+	private int monthIndex;
+	private int lunarYear;
+	private int lunarMonth;
+	private int lunarDay;
+	private boolean isLeap;
+	private int maxDayInMonth;
+	private int solarYear;
+	private int solarMonth;
+	private int solarDay;
+	private int cyclicalDay;
+	private int termIndex;
+	private byte[] termDays;
+
+	/**
+	 * 构建指向指定日期的游标
+	 *
+	 * @param epochDay 公历日期距 1970/1/1 的天数
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public LunarCursor(int epochDay) {
+		moveTo(epochDay);
+	}
+
+	/**
+	 * 移动到指定日期
+	 *
+	 * @param epochDay 公历日期距 1970/1/1 的天数
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public void moveTo(int epochDay) {
+		LunarMonthTable table = Lunar.findTableByDay(epochDay);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + epochDay);
+		}
+		int index = table.findMonthIndex(epochDay);
+		this.epochDay = epochDay;
+		this.table = table;
+		loadMonth(index);
+		this.lunarDay = epochDay - table.getMonthStartDay(index) + 1;
+
+		int solar = Lunar.civilFromDays(epochDay);
+		this.solarYear = solar >> 9;
+		this.solarMonth = (solar >> 5) & 0xf;
+		this.solarDay = solar & 0x1f;
+		this.termDays = Lunar.getSolarTermDays(solarYear);
+		// 1900/1/1 与 1970/1/1 相差25567日, 1900/1/1 日柱为甲戌日(60进制10)
+		this.cyclicalDay = Lunar.floorMod(epochDay + 25567 + 10, 60);
+		updateTerm();
+	}
+
+	/**
+	 * 后移一天
+	 *
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public void next() {
+		if (lunarDay < maxDayInMonth) {
+			lunarDay++;
+		} else {
+			if (monthIndex + 1 < table.getMonthCount()) {
+				loadMonth(monthIndex + 1);
+			} else {
+				// 进入下一段数据表
+				switchTable(table.getEndDay());
+				loadMonth(0);
+			}
+			lunarDay = 1;
+		}
+		epochDay++;
+		cyclicalDay = cyclicalDay == 59 ? 0 : cyclicalDay + 1;
+
+		if (solarDay < getSolarMonthDays(solarYear, solarMonth)) {
+			solarDay++;
+		} else {
+			solarDay = 1;
+			if (solarMonth < 12) {
+				solarMonth++;
+			} else {
+				solarMonth = 1;
+				termDays = Lunar.getSolarTermDays(++solarYear);
+			}
+		}
+		updateTerm();
+	}
+
+	/**
+	 * 前移一天
+	 *
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public void previous() {
+		if (lunarDay > 1) {
+			lunarDay--;
+		} else {
+			if (monthIndex > 0) {
+				loadMonth(monthIndex - 1);
+			} else {
+				// 进入上一段数据表
+				switchTable(table.getFirstDay() - 1);
+				loadMonth(table.getMonthCount() - 1);
+			}
+			lunarDay = maxDayInMonth;
+		}
+		epochDay--;
+		cyclicalDay = cyclicalDay == 0 ? 59 : cyclicalDay - 1;
+
+		if (solarDay > 1) {
+			solarDay--;
+		} else {
+			if (solarMonth > 1) {
+				solarMonth--;
+			} else {
+				solarMonth = 12;
+				termDays = Lunar.getSolarTermDays(--solarYear);
+			}
+			solarDay = getSolarMonthDays(solarYear, solarMonth);
+		}
+		updateTerm();
+	}
+
+	/**
+	 * 移动指定天数
+	 *
+	 * @param days 天数, 负数表示前移
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public void plusDays(int days) {
+		if (days == 1) {
+			next();
+		} else if (days == -1) {
+			previous();
+		} else if (days != 0) {
+			moveTo(epochDay + days);
+		}
+	}
+
+	private void switchTable(int epochDay) {
+		LunarMonthTable table = Lunar.findTableByDay(epochDay);
+		if (table == null) {
+			throw new IllegalArgumentException("超出农历数据表范围(1600-2400): " + epochDay);
+		}
+		this.table = table;
+	}
+
+	private void loadMonth(int index) {
+		int info = table.getMonthInfo(index);
+		int monthStart = table.getMonthStartDay(index);
+		this.monthIndex = index;
+		this.lunarYear = info >>> 8;
+		this.lunarMonth = info & 0xf;
+		this.isLeap = (info & 0x10) != 0;
+		this.maxDayInMonth = table.getMonthStartDay(index + 1) - monthStart;
+	}
+
+	private void updateTerm() {
+		int first = (solarMonth - 1) * 2;
+		if (termDays[first] == solarDay) {
+			termIndex = first;
+		} else if (termDays[first + 1] == solarDay) {
+			termIndex = first + 1;
+		} else {
+			termIndex = -1;
+		}
+	}
+
+	private static int getSolarMonthDays(int year, int month) {
+		if (month == 2) {
+			return (year % 4 == 0 && year % 100 != 0) || year % 400 == 0 ? 29 : 28;
+		}
+		return month == 4 || month == 6 || month == 9 || month == 11 ? 30 : 31;
+	}
+
+	/**
+	 * 当前日期距 1970/1/1 的天数
+	 *
+	 * @return 距 1970/1/1 的天数
+	 */
+	public int getEpochDay() {
+		return epochDay;
+	}
+
+	/**
+	 * 农历年份
+	 *
+	 * @return 农历年份
+	 */
+	public int getLunarYear() {
+		return lunarYear;
+	}
+
+	/**
+	 * 农历月份
+	 *
+	 * @return 农历月份(1-12)
+	 */
+	public int getLunarMonth() {
+		return lunarMonth;
+	}
+
+	/**
+	 * 农历日期
+	 *
+	 * @return 农历日期
+	 */
+	public int getLunarDay() {
+		return lunarDay;
+	}
+
+	/**
+	 * 是否闰月
+	 *
+	 * @return 是否闰月
+	 */
+	public boolean isLeap() {
+		return isLeap;
+	}
+
+	/**
+	 * 当前农历月有多少天
+	 *
+	 * @return 当前农历月有多少天
+	 */
+	public int getMaxDayInMonth() {
+		return maxDayInMonth;
+	}
+
+	/**
+	 * 公历年份
+	 *
+	 * @return 公历年份
+	 */
+	public int getSolarYear() {
+		return solarYear;
+	}
+
+	/**
+	 * 公历月份
+	 *
+	 * @return 公历月份 (不是从0算起)
+	 */
+	public int getSolarMonth() {
+		return solarMonth;
+	}
+
+	/**
+	 * 公历日期
+	 *
+	 * @return 公历日期
+	 */
+	public int getSolarDay() {
+		return solarDay;
+	}
+
+	/**
+	 * 日柱干支序号
+	 *
+	 * @return 干支序号(数字, 0为甲子)
+	 */
+	public int getCyclicalDay() {
+		return cyclicalDay;
+	}
+
+	/**
+	 * 节气序号
+	 *
+	 * @return 节气序号(数字, 0从小寒算起), 若不是节气日, 返回-1
+	 */
+	public int getTermIndex() {
+		return termIndex;
+	}
+
+	/**
+	 * 返回节气字符串
+	 *
+	 * @return 二十四节气字符串, 若不是节气日, 返回空串(例:冬至)
+	 */
+	public String getTermString() {
+		return termIndex < 0 ? "" : Lunar.solarTerm[termIndex];
+	}
+}
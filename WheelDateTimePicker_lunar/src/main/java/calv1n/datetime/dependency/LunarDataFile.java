@@ -0,0 +1,190 @@
+package calv1n.datetime.dependency;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 扩展农历数据(1600-1899, 2101-2400)
+ * <p/>
+ * 数据打包在 lunar_ext.dat 中(由 tools/gen_lunar_data.py 生成), 按分段存放, 每年3字节.
+ * 首次访问扩展年份时只读取文件头, 之后按需加载用到的分段, 1900-2100 年的查询不会触碰该文件.
+ * 没有打包该文件时扩展年份按超出数据范围处理; 文件损坏或读取失败时抛出 {@link IllegalStateException}.
+ */
+final class LunarDataFile {
+
+	private final static String DATA_FILE = "lunar_ext.dat";
+	private final static int MAGIC = 0x4C554E52;
+
+	/**
+	 * 文件头, 首次访问扩展年份时加载; 读取失败时不缓存, 下次访问重新读取并再次抛出异常
+	 */
+	private static volatile Header loadedHeader;
+
+	private LunarDataFile() {
+	}
+
+	/**
+	 * 文件头: 每个分段的起始年份、年数、起止日期和在文件中的偏移
+	 */
+	static final class Header {
+		final int[] firstYears;
+		final int[] yearCounts;
+		final int[] firstDays;
+		final int[] endDays;
+		final int[] offsets;
+		final AtomicReferenceArray<LunarMonthTable> tables;
+
+		Header(int count) {
+			firstYears = new int[count];
+			yearCounts = new int[count];
+			firstDays = new int[count];
+			endDays = new int[count];
+			offsets = new int[count];
+			tables = new AtomicReferenceArray<LunarMonthTable>(count);
+		}
+	}
+
+	/**
+	 * 返回包含指定日期的分段
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 分段月份索引, 超出数据范围返回 null
+	 * @throws IllegalStateException 数据文件存在但已损坏或无法读取
+	 */
+	static LunarMonthTable findByDay(int epochDay) {
+		Header header = LunarDataFile.getHeader();
+		for (int i = 0; i < header.firstDays.length; i++) {
+			if (epochDay >= header.firstDays[i] && epochDay < header.endDays[i]) {
+				return LunarDataFile.getTable(header, i);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 返回包含指定农历年的分段
+	 *
+	 * @param year 农历年份
+	 * @return 分段月份索引, 超出数据范围返回 null
+	 * @throws IllegalStateException 数据文件存在但已损坏或无法读取
+	 */
+	static LunarMonthTable findByYear(int year) {
+		Header header = LunarDataFile.getHeader();
+		for (int i = 0; i < header.firstYears.length; i++) {
+			if (year >= header.firstYears[i] && year < header.firstYears[i] + header.yearCounts[i]) {
+				return LunarDataFile.getTable(header, i);
+			}
+		}
+		return null;
+	}
+
+	private static LunarMonthTable getTable(Header header, int chunk) {
+		LunarMonthTable table = header.tables.get(chunk);
+		if (table == null) {
+			// 并发时可能重复加载, 结果相同, 无需加锁
+			table = LunarDataFile.readChunk(header, chunk);
+			header.tables.set(chunk, table);
+		}
+		return table;
+	}
+
+	/**
+	 * 没有打包数据文件时扩展年份不可用, 返回没有分段的文件头, 查询按超出数据范围处理;
+	 * 文件存在但已损坏或读取失败时抛出异常, 不静默地当作没有数据
+	 */
+	private static Header getHeader() {
+		Header result = loadedHeader;
+		if (result == null) {
+			InputStream in = LunarDataFile.class.getResourceAsStream(DATA_FILE);
+			if (in == null) {
+				result = new Header(0);
+			} else {
+				try {
+					result = LunarDataFile.readHeader(new DataInputStream(in));
+				} catch (IOException e) {
+					throw new IllegalStateException("读取 " + DATA_FILE + " 失败", e);
+				} finally {
+					LunarDataFile.close(in);
+				}
+			}
+			loadedHeader = result;
+		}
+		return result;
+	}
+
+	/**
+	 * 解析文件头
+	 *
+	 * @throws IOException 读取失败, 或文件头不完整
+	 * @throws IllegalStateException 文件标识或分段信息不正确
+	 */
+	static Header readHeader(DataInputStream in) throws IOException {
+		if (in.readInt() != MAGIC) {
+			throw new IllegalStateException(DATA_FILE + " 的文件标识不正确");
+		}
+		int count = in.readShort();
+		if (count < 0) {
+			throw new IllegalStateException(DATA_FILE + " 的分段数不正确: " + count);
+		}
+		Header header = new Header(count);
+		int offset = 6 + count * 12;
+		for (int i = 0; i < count; i++) {
+			header.firstYears[i] = in.readShort();
+			header.yearCounts[i] = in.readShort();
+			header.firstDays[i] = in.readInt();
+			header.endDays[i] = in.readInt();
+			header.offsets[i] = offset;
+			if (header.yearCounts[i] <= 0 || header.endDays[i] <= header.firstDays[i]) {
+				throw new IllegalStateException(DATA_FILE + " 的第 " + i + " 个分段不正确");
+			}
+			offset += header.yearCounts[i] * 3;
+		}
+		return header;
+	}
+
+	private static LunarMonthTable readChunk(Header header, int chunk) {
+		InputStream in = LunarDataFile.class.getResourceAsStream(DATA_FILE);
+		if (in == null) {
+			throw new IllegalStateException("找不到 " + DATA_FILE);
+		}
+		try {
+			return LunarDataFile.readChunk(new DataInputStream(in), header, chunk);
+		} catch (IOException e) {
+			throw new IllegalStateException("读取 " + DATA_FILE + " 失败", e);
+		} finally {
+			LunarDataFile.close(in);
+		}
+	}
+
+	/**
+	 * 跳到分段的偏移处读取每年的数据
+	 *
+	 * @throws IOException 读取失败, 或文件在分段结束前截断
+	 */
+	static LunarMonthTable readChunk(DataInputStream in, Header header, int chunk) throws IOException {
+		int remaining = header.offsets[chunk];
+		while (remaining > 0) {
+			int skipped = in.skipBytes(remaining);
+			if (skipped <= 0) {
+				throw new EOFException(DATA_FILE + " 在第 " + chunk + " 个分段之前截断");
+			}
+			remaining -= skipped;
+		}
+		int[] yearInfos = new int[header.yearCounts[chunk]];
+		for (int i = 0; i < yearInfos.length; i++) {
+			yearInfos[i] = in.readUnsignedByte() << 16 | in.readUnsignedByte() << 8 | in.readUnsignedByte();
+		}
+		return new LunarMonthTable(header.firstYears[chunk], header.firstDays[chunk], yearInfos);
+	}
+
+	private static void close(InputStream in) {
+		try {
+			in.close();
+		} catch (IOException e) {
+			// 只读的资源流, 数据已读完, 关闭失败不影响结果
+		}
+	}
+}
@@ -0,0 +1,138 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 不可变的农历日期
+ * <p/>
+ * 年、月、闰月标记、日和当月天数压缩在一个 int 中, 可在线程间共享, 也可直接作为 Map 的键.
+ * 压缩值按时间先后有序: 年份 << 11 | 月份 << 7 | 闰月 << 6 | 日 << 1 | 大月
+ */
+public final class LunarDate implements Comparable<LunarDate> {
+
+	private final int packed;
+
+	private LunarDate(int packed) {
+		this.packed = packed;
+	}
+
+	static int pack(int year, int month, boolean isLeap, int day, int monthLength) {
+		return year << 11 | month << 7 | (isLeap ? 1 << 6 : 0) | day << 1 | (monthLength > 29 ? 1 : 0);
+	}
+
+	/**
+	 * 通过公历日期构建农历日期
+	 *
+	 * @param epochDay 公历日期距 1970/1/1 的天数
+	 * @return 农历日期
+	 * @throws IllegalArgumentException 超出农历数据表范围
+	 */
+	public static LunarDate ofEpochDay(int epochDay) {
+		return new LunarDate(Lunar.packLunarDate(epochDay));
+	}
+
+	/**
+	 * 通过农历年月日构建农历日期
+	 *
+	 * @param year   农历年份
+	 * @param month  农历月份(1-12)
+	 * @param isLeap 是否闰月
+	 * @param day    农历日
+	 * @return 农历日期
+	 * @throws IllegalArgumentException 日期不存在或超出农历数据表范围
+	 */
+	public static LunarDate of(int year, int month, boolean isLeap, int day) {
+		return LunarDate.ofEpochDay(Lunar.toSolar(year, month, isLeap, day));
+	}
+
+	/**
+	 * 通过 {@link #toPacked()} 的返回值还原农历日期
+	 *
+	 * @param packed 压缩的农历日期
+	 * @return 农历日期
+	 */
+	public static LunarDate fromPacked(int packed) {
+		return new LunarDate(packed);
+	}
+
+	/**
+	 * 农历年份
+	 *
+	 * @return 农历年份
+	 */
+	public int getYear() {
+		return packed >>> 11;
+	}
+
+	/**
+	 * 农历月份
+	 *
+	 * @return 农历月份(1-12)
+	 */
+	public int getMonth() {
+		return (packed >>> 7) & 0xf;
+	}
+
+	/**
+	 * 是否闰月
+	 *
+	 * @return 是否闰月
+	 */
+	public boolean isLeap() {
+		return (packed & (1 << 6)) != 0;
+	}
+
+	/**
+	 * 农历日
+	 *
+	 * @return 农历日(1-30)
+	 */
+	public int getDay() {
+		return (packed >>> 1) & 0x1f;
+	}
+
+	/**
+	 * 当前农历月有多少天
+	 *
+	 * @return 29 或 30
+	 */
+	public int getMaxDayInMonth() {
+		return 29 + (packed & 1);
+	}
+
+	/**
+	 * 对应的公历日期
+	 *
+	 * @return 公历日期距 1970/1/1 的天数
+	 */
+	public int toEpochDay() {
+		return Lunar.toSolar(getYear(), getMonth(), isLeap(), getDay());
+	}
+
+	/**
+	 * 压缩值
+	 *
+	 * @return 压缩的农历日期
+	 */
+	public int toPacked() {
+		return packed;
+	}
+
+	@Override
+	public int compareTo(LunarDate another) {
+		return packed < another.packed ? -1 : (packed == another.packed ? 0 : 1);
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		return o instanceof LunarDate && ((LunarDate) o).packed == packed;
+	}
+
+	@Override
+	public int hashCode() {
+		return packed;
+	}
+
+	@Override
+	public String toString() {
+		return getYear() + "-" + (isLeap() ? "闰" : "") + getMonth() + "-" + getDay();
+	}
+}
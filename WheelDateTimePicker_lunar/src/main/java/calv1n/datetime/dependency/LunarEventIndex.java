@@ -0,0 +1,272 @@
+package calv1n.datetime.dependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * 节日与节气的查找索引
+ * <p/>
+ * 每个公历年的国历节日、农历节日、月周节日和二十四节气按日期排序后缓存,
+ * 首次查询某年时生成. 查找前后最近的节日只需在当年(或相邻年份)的索引中二分查找.
+ */
+public final class LunarEventIndex {
+
+	/**
+	 * 国历节日(sFtv)
+	 */
+	public final static int SOLAR_FESTIVAL = 1;
+	/**
+	 * 农历节日(lFtv), 闰月不重复
+	 */
+	public final static int LUNAR_FESTIVAL = 1 << 1;
+	/**
+	 * 二十四节气
+	 */
+	public final static int SOLAR_TERM = 1 << 2;
+	/**
+	 * 月周节日(wFtv), 如五月第二个星期日的母亲节
+	 */
+	public final static int WEEK_FESTIVAL = 1 << 3;
+	/**
+	 * 全部类型
+	 */
+	public final static int ALL = SOLAR_FESTIVAL | LUNAR_FESTIVAL | SOLAR_TERM | WEEK_FESTIVAL;
+
+	/**
+	 * 每个公历年的索引, 下标为年份 - MIN_YEAR
+	 */
+	private final static AtomicReferenceArray<YearIndex> yearIndexes =
+			new AtomicReferenceArray<YearIndex>(Lunar.MAX_YEAR - Lunar.MIN_YEAR + 1);
+
+	private LunarEventIndex() {
+	}
+
+	/**
+	 * 节日或节气
+	 */
+	public final static class Event {
+		private final int epochDay;
+		private final int kind;
+		private final String name;
+		private final boolean isHoliday;
+
+		Event(int epochDay, int kind, String name, boolean isHoliday) {
+			this.epochDay = epochDay;
+			this.kind = kind;
+			this.name = name;
+			this.isHoliday = isHoliday;
+		}
+
+		/**
+		 * 日期
+		 *
+		 * @return 距 1970/1/1 的天数
+		 */
+		public int getEpochDay() {
+			return epochDay;
+		}
+
+		/**
+		 * 类型
+		 *
+		 * @return {@link #SOLAR_FESTIVAL}、{@link #LUNAR_FESTIVAL}、{@link #SOLAR_TERM} 或 {@link #WEEK_FESTIVAL}
+		 */
+		public int getKind() {
+			return kind;
+		}
+
+		/**
+		 * 名称
+		 *
+		 * @return 节日或节气名称(例:春节、清明)
+		 */
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * 是否放假日
+		 *
+		 * @return 节日表中标记为放假的返回 true
+		 */
+		public boolean isHoliday() {
+			return isHoliday;
+		}
+
+		@Override
+		public String toString() {
+			int date = Lunar.civilFromDays(epochDay);
+			return (date >> 9) + "-" + ((date >> 5) & 0xf) + "-" + (date & 0x1f) + " " + name;
+		}
+	}
+
+	/**
+	 * 一年的索引, days 与 events 一一对应, 按日期排序
+	 */
+	private final static class YearIndex {
+		final int[] days;
+		final Event[] events;
+
+		YearIndex(Event[] events) {
+			this.events = events;
+			this.days = new int[events.length];
+			for (int i = 0; i < events.length; i++) {
+				days[i] = events[i].epochDay;
+			}
+		}
+	}
+
+	/**
+	 * 查找指定日期(含)之后最近的节日或节气
+	 *
+	 * @param fromEpochDay 起始日期距 1970/1/1 的天数
+	 * @param kinds        要查找的类型, SOLAR_FESTIVAL 等的组合
+	 * @return 最近的节日或节气, 到 2400 年仍没有时返回 null
+	 */
+	public static Event nextEvent(int fromEpochDay, int kinds) {
+		int year = Lunar.civilFromDays(fromEpochDay) >> 9;
+		if (year < Lunar.MIN_YEAR) {
+			year = Lunar.MIN_YEAR;
+		}
+		for (; year <= Lunar.MAX_YEAR; year++) {
+			YearIndex index = LunarEventIndex.getYearIndex(year);
+			int i = LunarEventIndex.lowerBound(index.days, fromEpochDay);
+			for (; i < index.events.length; i++) {
+				if ((index.events[i].kind & kinds) != 0) {
+					return index.events[i];
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 查找指定日期(含)之前最近的节日或节气
+	 *
+	 * @param fromEpochDay 起始日期距 1970/1/1 的天数
+	 * @param kinds        要查找的类型, SOLAR_FESTIVAL 等的组合
+	 * @return 最近的节日或节气, 到 1600 年仍没有时返回 null
+	 */
+	public static Event previousEvent(int fromEpochDay, int kinds) {
+		int year = Lunar.civilFromDays(fromEpochDay) >> 9;
+		if (year > Lunar.MAX_YEAR) {
+			year = Lunar.MAX_YEAR;
+		}
+		for (; year >= Lunar.MIN_YEAR; year--) {
+			YearIndex index = LunarEventIndex.getYearIndex(year);
+			int i = LunarEventIndex.lowerBound(index.days, fromEpochDay + 1) - 1;
+			for (; i >= 0; i--) {
+				if ((index.events[i].kind & kinds) != 0) {
+					return index.events[i];
+				}
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 第一个不小于 key 的下标
+	 */
+	private static int lowerBound(int[] days, int key) {
+		int low = 0;
+		int high = days.length;
+		while (low < high) {
+			int mid = (low + high) >>> 1;
+			if (days[mid] < key) {
+				low = mid + 1;
+			} else {
+				high = mid;
+			}
+		}
+		return low;
+	}
+
+	private static YearIndex getYearIndex(int year) {
+		YearIndex index = yearIndexes.get(year - Lunar.MIN_YEAR);
+		if (index == null) {
+			// 并发时可能重复生成, 结果相同, 无需加锁
+			index = LunarEventIndex.buildYearIndex(year);
+			yearIndexes.set(year - Lunar.MIN_YEAR, index);
+		}
+		return index;
+	}
+
+	private static YearIndex buildYearIndex(int year) {
+		int firstDay = Lunar.daysFromCivil(year, 1, 1);
+		int endDay = Lunar.daysFromCivil(year + 1, 1, 1);
+		List<Event> events = new ArrayList<Event>(64);
+
+		for (int month = 1; month <= 12; month++) {
+			int monthDays = Lunar.daysFromCivil(month == 12 ? year + 1 : year, month % 12 + 1, 1)
+					- Lunar.daysFromCivil(year, month, 1);
+			for (int day = 1; day <= monthDays; day++) {
+				Lunar.Festival festival = Lunar.sFestivals[month][day];
+				if (festival != null) {
+					events.add(new Event(Lunar.daysFromCivil(year, month, day), SOLAR_FESTIVAL,
+							festival.name, festival.isHoliday));
+				}
+			}
+		}
+
+		// 月周节日: 下标为 月 * 100 + 第几周 * 10 + 星期几(0为星期日)
+		for (int key = 0; key < Lunar.wFestivals.length; key++) {
+			Lunar.Festival festival = Lunar.wFestivals[key];
+			int month = key / 100;
+			int week = key / 10 % 10;
+			if (festival == null || month < 1 || week < 1) {
+				continue;
+			}
+			int monthFirstDay = Lunar.daysFromCivil(year, month, 1);
+			// 1970/1/1 为星期四
+			int epochDay = monthFirstDay + Lunar.floorMod(key % 10 - (monthFirstDay + 4), 7) + (week - 1) * 7;
+			if ((Lunar.civilFromDays(epochDay) >> 5 & 0xf) == month) {
+				events.add(new Event(epochDay, WEEK_FESTIVAL, festival.name, festival.isHoliday));
+			}
+		}
+
+		byte[] termDays = Lunar.getSolarTermDays(year);
+		for (int i = 0; i < termDays.length; i++) {
+			events.add(new Event(Lunar.daysFromCivil(year, i / 2 + 1, termDays[i]), SOLAR_TERM,
+					Lunar.solarTerm[i], false));
+		}
+
+		// 公历年内的农历节日来自上一个和本农历年
+		for (int lunarYear = year - 1; lunarYear <= year; lunarYear++) {
+			LunarMonthTable table = Lunar.findTableByYear(lunarYear);
+			if (table != null) {
+				LunarEventIndex.addLunarFestivals(table, lunarYear, firstDay, endDay, events);
+			}
+		}
+
+		Event[] sorted = events.toArray(new Event[events.size()]);
+		Arrays.sort(sorted, new Comparator<Event>() {
+			@Override
+			public int compare(Event lhs, Event rhs) {
+				return lhs.epochDay < rhs.epochDay ? -1 : (lhs.epochDay == rhs.epochDay ? 0 : 1);
+			}
+		});
+		return new YearIndex(sorted);
+	}
+
+	private static void addLunarFestivals(LunarMonthTable table, int lunarYear, int firstDay, int endDay,
+										  List<Event> events) {
+		int leapMonth = table.getLeapMonth(lunarYear);
+		int firstIndex = table.getYearFirstMonthIndex(lunarYear);
+		for (int month = 1; month <= 12; month++) {
+			int index = firstIndex + month - 1 + (leapMonth > 0 && month > leapMonth ? 1 : 0);
+			int monthStart = table.getMonthStartDay(index);
+			int monthDays = table.getMonthStartDay(index + 1) - monthStart;
+			// 日期为0表示本月初一的前一天(如除夕), 与同一天的其他农历节日各为一个事件, 同 Lunar 和 ICalendarExporter
+			for (int day = 0; day <= monthDays; day++) {
+				Lunar.Festival festival = Lunar.lFestivals[month][day];
+				int epochDay = monthStart + day - 1;
+				if (festival != null && epochDay >= firstDay && epochDay < endDay) {
+					events.add(new Event(epochDay, LUNAR_FESTIVAL, festival.name, festival.isHoliday));
+				}
+			}
+		}
+	}
+}
@@ -0,0 +1,173 @@
+package calv1n.datetime.dependency;
+
+/**
+ * 一段连续农历年份的月份索引
+ * <p/>
+ * 记录每个农历月初一距 1970/1/1 的天数, 按时间先后排列, 可二分查找某天所在的月份.
+ * 每年的信息用 {@link #encode(int[], int, int)} 的格式表示, 与扩展数据文件 lunar_ext.dat 一致.
+ */
+final class LunarMonthTable {
+
+	private final int firstYear;
+	private final int lastYear;
+	/**
+	 * 每个农历月初一距 1970/1/1 的天数, 末尾多存一项作为表尾(下一年正月初一)
+	 */
+	private final int[] monthStartDays;
+	/**
+	 * 与 monthStartDays 一一对应的月份信息: 年份 << 8 | 闰月标记(0x10) | 月份
+	 */
+	private final int[] monthInfos;
+	/**
+	 * 每个农历年正月在 monthStartDays 中的下标
+	 */
+	private final int[] yearFirstMonthIndex;
+	/**
+	 * 每个农历年的闰月月份, 没闰为0
+	 */
+	private final byte[] leapMonths;
+
+	/**
+	 * @param firstYear 起始农历年份
+	 * @param firstDay  起始年正月初一距 1970/1/1 的天数
+	 * @param yearInfos 每年的信息, 格式见 {@link #encode(int[], int, int)}
+	 */
+	LunarMonthTable(int firstYear, int firstDay, int[] yearInfos) {
+		this.firstYear = firstYear;
+		this.lastYear = firstYear + yearInfos.length - 1;
+		int count = 0;
+		for (int info : yearInfos) {
+			count += (info >> 12 & 0xf) > 0 ? 13 : 12;
+		}
+		monthStartDays = new int[count + 1];
+		monthInfos = new int[count];
+		yearFirstMonthIndex = new int[yearInfos.length];
+		leapMonths = new byte[yearInfos.length];
+		int index = 0;
+		int day = firstDay;
+		for (int i = 0; i < yearInfos.length; i++) {
+			int year = firstYear + i;
+			int info = yearInfos[i];
+			int leapMonth = info >> 12 & 0xf;
+			yearFirstMonthIndex[i] = index;
+			leapMonths[i] = (byte) leapMonth;
+			for (int m = 1; m <= 12; m++) {
+				monthStartDays[index] = day;
+				monthInfos[index++] = year << 8 | m;
+				day += (info & (1 << (12 - m))) != 0 ? 30 : 29;
+				if (m == leapMonth) {
+					monthStartDays[index] = day;
+					monthInfos[index++] = year << 8 | 0x10 | m;
+					day += (info & (1 << 16)) != 0 ? 30 : 29;
+				}
+			}
+		}
+		monthStartDays[index] = day;
+	}
+
+	/**
+	 * 把一个农历年编码为 24bit: bit 0-11 十二月..正月是否大月(正月在 bit 11), bit 12-15 闰月月份, bit 16 闰月是否大月
+	 *
+	 * @param monthDays 正月..十二月的天数
+	 * @param leapMonth 闰月月份, 没闰为0
+	 * @param leapDays  闰月天数
+	 * @return 编码后的年份信息
+	 */
+	static int encode(int[] monthDays, int leapMonth, int leapDays) {
+		int info = leapMonth << 12 | (leapDays > 29 ? 1 << 16 : 0);
+		for (int m = 1; m <= 12; m++) {
+			if (monthDays[m - 1] > 29) {
+				info |= 1 << (12 - m);
+			}
+		}
+		return info;
+	}
+
+	int getFirstYear() {
+		return firstYear;
+	}
+
+	int getLastYear() {
+		return lastYear;
+	}
+
+	/**
+	 * 起始年正月初一距 1970/1/1 的天数
+	 */
+	int getFirstDay() {
+		return monthStartDays[0];
+	}
+
+	/**
+	 * 表尾(最后一年的下一年正月初一)距 1970/1/1 的天数
+	 */
+	int getEndDay() {
+		return monthStartDays[monthInfos.length];
+	}
+
+	boolean containsDay(int epochDay) {
+		return epochDay >= monthStartDays[0] && epochDay < monthStartDays[monthInfos.length];
+	}
+
+	boolean containsYear(int year) {
+		return year >= firstYear && year <= lastYear;
+	}
+
+	/**
+	 * 二分查找指定日期所在的农历月
+	 *
+	 * @param epochDay 距 1970/1/1 的天数
+	 * @return 所在农历月的下标, 不在本表范围内返回-1
+	 */
+	int findMonthIndex(int epochDay) {
+		if (!containsDay(epochDay)) {
+			return -1;
+		}
+		int low = 0;
+		int high = monthInfos.length - 1;
+		while (low < high) {
+			int mid = (low + high + 1) >>> 1;
+			if (monthStartDays[mid] <= epochDay) {
+				low = mid;
+			} else {
+				high = mid - 1;
+			}
+		}
+		return low;
+	}
+
+	/**
+	 * 月份总数
+	 */
+	int getMonthCount() {
+		return monthInfos.length;
+	}
+
+	/**
+	 * 指定月份初一距 1970/1/1 的天数, 下标等于月份总数时返回表尾
+	 */
+	int getMonthStartDay(int index) {
+		return monthStartDays[index];
+	}
+
+	/**
+	 * 指定月份的信息: 年份 << 8 | 闰月标记(0x10) | 月份
+	 */
+	int getMonthInfo(int index) {
+		return monthInfos[index];
+	}
+
+	/**
+	 * 指定农历年正月的下标
+	 */
+	int getYearFirstMonthIndex(int year) {
+		return yearFirstMonthIndex[year - firstYear];
+	}
+
+	/**
+	 * 指定农历年的闰月月份, 没闰返回0
+	 */
+	int getLeapMonth(int year) {
+		return leapMonths[year - firstYear];
+	}
+}
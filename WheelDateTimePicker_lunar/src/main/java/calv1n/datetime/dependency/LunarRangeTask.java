@@ -0,0 +1,60 @@
+package calv1n.datetime.dependency;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 并行批量转换, 见 {@link Lunar#convertRange(int, int, int[], byte[], byte[])}
+ * <p/>
+ * 超过阈值的区间在农历年边界处对半拆分, 每段从年首开始逐日转换.
+ * 仅在 ForkJoinPool 可用时加载(Android 5.0 以下没有该类).
+ */
+final class LunarRangeTask extends RecursiveAction {
+
+	private static final long serialVersionUID = 1L;
+
+	private final int startEpochDay;
+	private final int count;
+	private final int offset;
+	private final int[] packedOut;
+	private final byte[] cyclicalDayOut;
+	private final byte[] termIndexOut;
+
+	LunarRangeTask(int startEpochDay, int count, int offset,
+				   int[] packedOut, byte[] cyclicalDayOut, byte[] termIndexOut) {
+		this.startEpochDay = startEpochDay;
+		this.count = count;
+		this.offset = offset;
+		this.packedOut = packedOut;
+		this.cyclicalDayOut = cyclicalDayOut;
+		this.termIndexOut = termIndexOut;
+	}
+
+	/**
+	 * 共享的线程池, 首次并行转换时创建
+	 */
+	private static class PoolHolder {
+		static final ForkJoinPool POOL = new ForkJoinPool();
+	}
+
+	static void invoke(LunarRangeTask task) {
+		PoolHolder.POOL.invoke(task);
+	}
+
+	@Override
+	protected void compute() {
+		if (count > Lunar.PARALLEL_THRESHOLD) {
+			// 在中点所在农历年的正月初一拆分, 两段都从年首开始
+			int middle = startEpochDay + count / 2;
+			int split = Lunar.toSolar(LunarDate.ofEpochDay(middle).getYear(), 1, false, 1);
+			if (split <= startEpochDay) {
+				split = middle;
+			}
+			int left = split - startEpochDay;
+			invokeAll(new LunarRangeTask(startEpochDay, left, offset, packedOut, cyclicalDayOut, termIndexOut),
+					new LunarRangeTask(split, count - left, offset + left, packedOut, cyclicalDayOut, termIndexOut));
+		} else {
+			Lunar.convertDays(startEpochDay, count, offset, packedOut, cyclicalDayOut, termIndexOut);
+		}
+	}
+}
@@ -0,0 +1,219 @@
+package calv1n.datetime.dependency;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * 按农历每年重复的事件(生日、纪念日等)
+ * <p/>
+ * 展开时直接定位到每个农历年的目标月份, 只读一次月份索引, 不逐日扫描.
+ * 本月没有的日期(如小月三十)和闰月的处理方式由构造参数指定.
+ */
+public final class LunarRecurrence {
+
+	/**
+	 * 本月没有该日时, 当年跳过
+	 */
+	public final static int MISSING_DAY_SKIP = 0;
+	/**
+	 * 本月没有该日时, 改在本月最后一天(默认)
+	 */
+	public final static int MISSING_DAY_LAST_DAY = 1;
+	/**
+	 * 本月没有该日时, 顺延到下个月初一
+	 */
+	public final static int MISSING_DAY_NEXT_DAY = 2;
+
+	/**
+	 * 只在与事件完全相同的月份发生: 闰月事件只在有该闰月的年份发生, 平月事件不在闰月发生
+	 */
+	public final static int LEAP_MONTH_EXACT = 0;
+	/**
+	 * 闰月事件在没有该闰月的年份改在同名平月发生, 平月事件不在闰月发生(默认)
+	 */
+	public final static int LEAP_MONTH_FALLBACK = 1;
+	/**
+	 * 平月事件在有同名闰月的年份再发生一次; 闰月事件同 {@link #LEAP_MONTH_FALLBACK}
+	 */
+	public final static int LEAP_MONTH_BOTH = 2;
+
+	private final int lunarMonth;
+	private final boolean isLeap;
+	private final int lunarDay;
+	private final int leapMonthPolicy;
+	private final int missingDayPolicy;
+
+	/**
+	 * 每年农历某月某日, 使用默认的 {@link #LEAP_MONTH_FALLBACK} 和 {@link #MISSING_DAY_LAST_DAY}
+	 *
+	 * @param lunarMonth 农历月份(数字, 1-12)
+	 * @param isLeap     是否闰月
+	 * @param lunarDay   农历日(数字, 1-30)
+	 * @throws IllegalArgumentException 月份或日期无效
+	 */
+	public LunarRecurrence(int lunarMonth, boolean isLeap, int lunarDay) {
+		this(lunarMonth, isLeap, lunarDay, LEAP_MONTH_FALLBACK, MISSING_DAY_LAST_DAY);
+	}
+
+	/**
+	 * 每年农历某月某日
+	 *
+	 * @param lunarMonth       农历月份(数字, 1-12)
+	 * @param isLeap           是否闰月
+	 * @param lunarDay         农历日(数字, 1-30)
+	 * @param leapMonthPolicy  闰月处理方式, LEAP_MONTH_* 之一
+	 * @param missingDayPolicy 本月没有该日时的处理方式, MISSING_DAY_* 之一
+	 * @throws IllegalArgumentException 参数无效
+	 */
+	public LunarRecurrence(int lunarMonth, boolean isLeap, int lunarDay, int leapMonthPolicy, int missingDayPolicy) {
+		if (lunarMonth < 1 || lunarMonth > 12) {
+			throw new IllegalArgumentException("农历月份无效: " + lunarMonth);
+		}
+		if (lunarDay < 1 || lunarDay > 30) {
+			throw new IllegalArgumentException("农历日无效: " + lunarDay);
+		}
+		if (leapMonthPolicy < LEAP_MONTH_EXACT || leapMonthPolicy > LEAP_MONTH_BOTH) {
+			throw new IllegalArgumentException("闰月处理方式无效: " + leapMonthPolicy);
+		}
+		if (missingDayPolicy < MISSING_DAY_SKIP || missingDayPolicy > MISSING_DAY_NEXT_DAY) {
+			throw new IllegalArgumentException("缺日处理方式无效: " + missingDayPolicy);
+		}
+		this.lunarMonth = lunarMonth;
+		this.isLeap = isLeap;
+		this.lunarDay = lunarDay;
+		this.leapMonthPolicy = leapMonthPolicy;
+		this.missingDayPolicy = missingDayPolicy;
+	}
+
+	/**
+	 * 从指定日期(含)起依次返回每次发生的日期, 到数据表末尾(2400年)为止
+	 *
+	 * @param fromEpochDay 起始日期距 1970/1/1 的天数
+	 * @return 惰性计算的迭代器
+	 */
+	public Occurrences iterator(int fromEpochDay) {
+		return new Occurrences(fromEpochDay);
+	}
+
+	/**
+	 * 从指定日期(含)起的前几次发生日期, 写入数组
+	 *
+	 * @param fromEpochDay 起始日期距 1970/1/1 的天数
+	 * @param out          输出每次发生的日期距 1970/1/1 的天数, 最多写满数组
+	 * @return 写入的个数, 到数据表末尾时可能小于数组长度
+	 */
+	public int next(int fromEpochDay, int[] out) {
+		Occurrences occurrences = new Occurrences(fromEpochDay);
+		int count = 0;
+		while (count < out.length && occurrences.hasNext()) {
+			out[count++] = occurrences.nextEpochDay();
+		}
+		return count;
+	}
+
+	/**
+	 * 计算指定农历年内的发生日期, 按先后写入 out
+	 *
+	 * @return 个数(0-2)
+	 */
+	private int occurrencesInYear(int year, int[] out) {
+		LunarMonthTable table = Lunar.findTableByYear(year);
+		int leapMonth = table.getLeapMonth(year);
+		int index = table.getYearFirstMonthIndex(year) + lunarMonth - 1;
+		if (leapMonth > 0 && lunarMonth > leapMonth) {
+			index++;
+		}
+		// index 为同名平月, 有同名闰月时闰月紧随其后
+		boolean hasLeap = leapMonth == lunarMonth;
+		int count = 0;
+		if (isLeap) {
+			if (hasLeap) {
+				count = resolveDay(table, index + 1, out, count);
+			} else if (leapMonthPolicy != LEAP_MONTH_EXACT) {
+				count = resolveDay(table, index, out, count);
+			}
+		} else {
+			count = resolveDay(table, index, out, count);
+			if (hasLeap && leapMonthPolicy == LEAP_MONTH_BOTH) {
+				count = resolveDay(table, index + 1, out, count);
+			}
+		}
+		return count;
+	}
+
+	private int resolveDay(LunarMonthTable table, int monthIndex, int[] out, int count) {
+		int monthStart = table.getMonthStartDay(monthIndex);
+		int monthDays = table.getMonthStartDay(monthIndex + 1) - monthStart;
+		if (lunarDay <= monthDays || missingDayPolicy == MISSING_DAY_NEXT_DAY) {
+			// 顺延时 monthStart + 29 正是下个月初一
+			out[count++] = monthStart + lunarDay - 1;
+		} else if (missingDayPolicy == MISSING_DAY_LAST_DAY) {
+			out[count++] = monthStart + monthDays - 1;
+		}
+		return count;
+	}
+
+	/**
+	 * 事件每次发生的公历日期, 按先后顺序惰性计算
+	 * <p/>
+	 * {@link #nextEpochDay()} 不装箱; {@link #next()} 为兼容 Iterator 返回 Integer.
+	 */
+	public final class Occurrences implements Iterator<Integer> {
+
+		private final int[] pending = new int[2];
+		private int pendingCount;
+		private int pendingIndex;
+		private int year;
+		private final int fromEpochDay;
+
+		private Occurrences(int fromEpochDay) {
+			this.fromEpochDay = fromEpochDay;
+			LunarMonthTable table = Lunar.findTableByDay(fromEpochDay);
+			if (table != null) {
+				year = table.getMonthInfo(table.findMonthIndex(fromEpochDay)) >>> 8;
+			} else {
+				// 早于数据表时从第一年开始, 晚于数据表时没有结果
+				year = fromEpochDay < 0 ? Lunar.MIN_YEAR : Lunar.MAX_YEAR + 1;
+			}
+		}
+
+		@Override
+		public boolean hasNext() {
+			while (pendingIndex == pendingCount) {
+				if (year > Lunar.MAX_YEAR) {
+					return false;
+				}
+				pendingCount = occurrencesInYear(year++, pending);
+				pendingIndex = 0;
+				// 只在第一年需要过滤起始日期之前的结果
+				while (pendingIndex < pendingCount && pending[pendingIndex] < fromEpochDay) {
+					pendingIndex++;
+				}
+			}
+			return true;
+		}
+
+		/**
+		 * 下一次发生的日期
+		 *
+		 * @return 距 1970/1/1 的天数
+		 * @throws NoSuchElementException 已到数据表末尾
+		 */
+		public int nextEpochDay() {
+			if (!hasNext()) {
+				throw new NoSuchElementException();
+			}
+			return pending[pendingIndex++];
+		}
+
+		@Override
+		public Integer next() {
+			return nextEpochDay();
+		}
+
+		@Override
+		public void remove() {
+			throw new UnsupportedOperationException();
+		}
+	}
+}
@@ -0,0 +1,126 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * holidays.txt 覆盖 2015 ~ 2025 年, 其他年份按周六周日休息
+ */
+public class HolidaysTest {
+
+	@Test
+	public void statutoryHolidaysAreDaysOff() {
+		// 国庆节 2015/10/1 ~ 10/7, 其中 10/5 为星期一
+		assertDaysOff(2015, 10, 1, 7);
+		assertTrue(Holidays.isDayOff(Lunar.daysFromCivil(2015, 9, 3)));
+		// 春节 2024/2/10 ~ 2/17, 2025/1/28 ~ 2/4(除夕起)
+		assertDaysOff(2024, 2, 10, 8);
+		assertDaysOff(2025, 1, 28, 8);
+		// 2020 年春节延长至 2/2
+		assertDaysOff(2020, 1, 24, 10);
+		// 2023 年中秋国庆连休 9/29 ~ 10/6
+		assertDaysOff(2023, 9, 29, 8);
+		// 节前节后的工作日
+		assertFalse(Holidays.isDayOff(Lunar.daysFromCivil(2024, 2, 9)));
+		assertFalse(Holidays.isDayOff(Lunar.daysFromCivil(2025, 2, 5)));
+		assertFalse(Holidays.isAdjustedWorkday(Lunar.daysFromCivil(2025, 1, 28)));
+	}
+
+	@Test
+	public void adjustedWorkdaysAreWorkingWeekends() {
+		int[][] workdays = {{2015, 1, 4}, {2015, 10, 10}, {2018, 12, 29}, {2019, 2, 2}, {2019, 2, 3},
+				{2020, 1, 19}, {2024, 2, 4}, {2024, 2, 18}, {2025, 1, 26}, {2025, 2, 8}};
+		for (int[] date : workdays) {
+			int day = Lunar.daysFromCivil(date[0], date[1], date[2]);
+			String name = date[0] + "/" + date[1] + "/" + date[2];
+			assertTrue(name, isWeekend(day));
+			assertFalse(name, Holidays.isDayOff(day));
+			assertTrue(name, Holidays.isAdjustedWorkday(day));
+		}
+	}
+
+	@Test
+	public void plainWeekendsAreDaysOff() {
+		int[][] weekends = {{2015, 1, 10}, {2015, 1, 11}, {2019, 3, 9}, {2020, 3, 1}, {2024, 2, 25},
+				{2025, 3, 8}, {2025, 12, 28}};
+		for (int[] date : weekends) {
+			int day = Lunar.daysFromCivil(date[0], date[1], date[2]);
+			String name = date[0] + "/" + date[1] + "/" + date[2];
+			assertTrue(name, isWeekend(day));
+			assertTrue(name, Holidays.isDayOff(day));
+			assertFalse(name, Holidays.isAdjustedWorkday(day));
+		}
+		// 普通工作日
+		assertFalse(Holidays.isDayOff(Lunar.daysFromCivil(2024, 3, 5)));
+		assertFalse(Holidays.isAdjustedWorkday(Lunar.daysFromCivil(2024, 3, 5)));
+	}
+
+	@Test
+	public void everyCoveredYearHasNewYearSpringFestivalAndNationalDay() {
+		for (int year = 2015; year <= 2025; year++) {
+			String name = String.valueOf(year);
+			assertTrue(name, Holidays.isDayOff(Lunar.daysFromCivil(year, 1, 1)));
+			assertTrue(name, Holidays.isDayOff(Lunar.toSolar(year, 1, false, 1)));
+			// 国庆节法定放假3天(2023 年 10/7 调休上班)
+			assertDaysOff(year, 10, 1, 3);
+			int firstDay = Lunar.daysFromCivil(year, 1, 1);
+			int lastDay = Lunar.daysFromCivil(year, 12, 31);
+			int adjusted = 0;
+			for (int day = firstDay; day <= lastDay; day++) {
+				if (Holidays.isAdjustedWorkday(day)) {
+					adjusted++;
+					// 调休上班日都是周末, 且不休息
+					assertTrue(name, isWeekend(day));
+					assertFalse(name, Holidays.isDayOff(day));
+				} else if (isWeekend(day)) {
+					assertTrue(name, Holidays.isDayOff(day));
+				}
+			}
+			assertTrue(name, adjusted >= 4);
+		}
+	}
+
+	@Test
+	public void uncoveredYearsFollowWeekends() {
+		// 数据文件中没有的年份, 以及 1900 ~ 2100 以外的年份
+		int[] years = {1600, 1899, 1969, 1970, 2014, 2026, 2100, 2101, 2400};
+		for (int year : years) {
+			int firstDay = Lunar.daysFromCivil(year, 1, 1);
+			int lastDay = Lunar.daysFromCivil(year, 12, 31);
+			for (int day = firstDay; day <= lastDay; day++) {
+				assertEquals(year + ":" + day, isWeekend(day), Holidays.isDayOff(day));
+				assertFalse(year + ":" + day, Holidays.isAdjustedWorkday(day));
+			}
+		}
+		// 2014/10/1 为星期三, 2026/1/1 为星期四, 都没有放假数据
+		assertFalse(Holidays.isDayOff(Lunar.daysFromCivil(2014, 10, 1)));
+		assertFalse(Holidays.isDayOff(Lunar.daysFromCivil(2026, 1, 1)));
+		// 1970/1/1 之前: 1969/12/28 为星期日, 12/29 为星期一
+		assertTrue(Holidays.isDayOff(-4));
+		assertFalse(Holidays.isDayOff(-3));
+	}
+
+	private static void assertDaysOff(int year, int month, int day, int count) {
+		int first = Lunar.daysFromCivil(year, month, day);
+		for (int i = 0; i < count; i++) {
+			assertTrue(year + "/" + month + "/" + (day + i), Holidays.isDayOff(first + i));
+		}
+	}
+
+	/**
+	 * 按 java.util.Calendar 判断是否周六周日, 不依赖 Holidays 的星期算法
+	 */
+	private static boolean isWeekend(int epochDay) {
+		Calendar cal = Calendar.getInstance(TimeZone.getTimeZone("UTC"));
+		cal.clear();
+		cal.setTimeInMillis(epochDay * 86400000L);
+		int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+		return dayOfWeek == Calendar.SATURDAY || dayOfWeek == Calendar.SUNDAY;
+	}
+}
@@ -0,0 +1,137 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ICalendarExporterTest {
+	/**
+	 * 2015/10/16 01:02:03 UTC
+	 */
+	private static final long STAMP = 1444957323000L;
+
+	@Test
+	public void writesGoldenOutputWithFoldedSummary() throws IOException {
+		// 2015/6/1 是儿童节, 也是农历四月十五, 后者名称超过 75 字节需要折行
+		String expected = "BEGIN:VCALENDAR\r\n"
+				+ "VERSION:2.0\r\n"
+				+ "PRODID:-//calv1n//WheelDateTimePicker Lunar//ZH\r\n"
+				+ "CALSCALE:GREGORIAN\r\n"
+				+ "BEGIN:VEVENT\r\n"
+				+ "UID:20150601-S@calv1n.datetime\r\n"
+				+ "DTSTAMP:20151016T010203Z\r\n"
+				+ "DTSTART;VALUE=DATE:20150601\r\n"
+				+ "SUMMARY:儿童节\r\n"
+				+ "TRANSP:TRANSPARENT\r\n"
+				+ "END:VEVENT\r\n"
+				+ "BEGIN:VEVENT\r\n"
+				+ "UID:20150601-L@calv1n.datetime\r\n"
+				+ "DTSTAMP:20151016T010203Z\r\n"
+				+ "DTSTART;VALUE=DATE:20150601\r\n"
+				+ "SUMMARY:佛吉祥日——释迦牟尼佛诞生、成道、涅槃三期同\r\n"
+				+ " 一庆(即南传佛教国家的卫塞节)\r\n"
+				+ "TRANSP:TRANSPARENT\r\n"
+				+ "END:VEVENT\r\n"
+				+ "END:VCALENDAR\r\n";
+		assertEquals(expected, export(Lunar.daysFromCivil(2015, 5, 31), 2, ICalendarExporter.ALL));
+	}
+
+	@Test
+	public void escapesTextAndFoldsWithoutSplittingCharacters() throws IOException {
+		StringWriter out = new StringWriter();
+		new ICalendarExporter(out, STAMP).writeTextProperty("DESCRIPTION",
+				"a,b;c\\d\r\ne:f 一二三四五六七八九十一二三四五六七八九十一二三四五六七八九十 🌙🌙");
+		// 第一行 73 字节, 下一个汉字会超过 75 字节; 续行以空格开头, 代理对不拆开
+		assertEquals("DESCRIPTION:a\\,b\\;c\\\\d\\ne:f 一二三四五六七八九十一二三四五\r\n"
+				+ " 六七八九十一二三四五六七八九十 🌙🌙\r\n", out.toString());
+	}
+
+	@Test
+	public void everyLineFitsInSeventyFiveOctets() throws IOException {
+		String calendar = export(Lunar.daysFromCivil(2015, 1, 1), 365, ICalendarExporter.ALL);
+		for (String line : calendar.split("\r\n")) {
+			assertTrue(line, line.getBytes("UTF-8").length <= 75);
+		}
+	}
+
+	@Test
+	public void exportsNewYearsEveAndMothersDay() throws IOException {
+		String calendar = export(Lunar.daysFromCivil(2015, 1, 1), 365, ICalendarExporter.ALL);
+		// 乙未年春节为 2015/2/19, 除夕为前一天(腊月三十); 母亲节为五月第二个星期日
+		assertTrue(calendar.contains("UID:20150218-E@calv1n.datetime\r\nDTSTAMP:20151016T010203Z\r\n"
+				+ "DTSTART;VALUE=DATE:20150218\r\nSUMMARY:除夕\r\n"));
+		assertTrue(calendar.contains("UID:20150510-W@calv1n.datetime\r\nDTSTAMP:20151016T010203Z\r\n"
+				+ "DTSTART;VALUE=DATE:20150510\r\nSUMMARY:母亲节\r\n"));
+	}
+
+	@Test
+	public void matchesLunarFestivalFieldsForAYearWithoutLeapMonth() throws IOException {
+		// 2015 年的公历日期都不在闰月, 导出的节日应与 Lunar 的节日字段完全一致
+		int first = Lunar.daysFromCivil(2015, 1, 1);
+		int count = 365;
+		List<String> exported = parseEvents(export(first, count, ICalendarExporter.ALL));
+
+		List<String> expected = new ArrayList<String>();
+		for (int day = first; day < first + count; day++) {
+			Lunar lunar = Lunar.ofEpochDay(day);
+			String date = String.format("%04d%02d%02d", lunar.getSolarYear(), lunar.getSolarMonth(),
+					lunar.getSolarDay());
+			assertTrue(!lunar.isLeap());
+			if (lunar.isSFestival()) {
+				for (String name : lunar.getSFestivalName().split("\\|")) {
+					expected.add(date + " " + name);
+				}
+			}
+			if (lunar.isLFestival()) {
+				for (String name : lunar.getLFestivalName().split("\\|")) {
+					expected.add(date + " " + name);
+				}
+			}
+			if (lunar.getTermString().length() > 0) {
+				expected.add(date + " " + lunar.getTermString());
+			}
+		}
+		Collections.sort(expected);
+		Collections.sort(exported);
+		assertEquals(expected, exported);
+	}
+
+	@Test
+	public void exportsNewYearsEveBesideTwelfthMonthTwentyNinth() throws IOException {
+		// 甲辰年腊月为小月, 除夕为腊月廿九(2025/1/28), 与华严菩萨诞各为一个事件
+		String calendar = export(Lunar.daysFromCivil(2025, 1, 28), 1, ICalendarExporter.LUNAR_FESTIVALS);
+		assertEquals(Arrays.asList("20250128 华严菩萨诞", "20250128 除夕"), parseEvents(calendar));
+		assertTrue(calendar.contains("UID:20250128-L@calv1n.datetime\r\n"));
+		assertTrue(calendar.contains("UID:20250128-E@calv1n.datetime\r\n"));
+	}
+
+	private static String export(int startEpochDay, int count, int kinds) throws IOException {
+		StringWriter out = new StringWriter();
+		new ICalendarExporter(out, STAMP).write(startEpochDay, count, kinds);
+		return out.toString();
+	}
+
+	/**
+	 * 展开折行, 取出每个事件的 "日期 名称"
+	 */
+	private static List<String> parseEvents(String calendar) {
+		List<String> events = new ArrayList<String>();
+		String date = null;
+		for (String line : calendar.replace("\r\n ", "").split("\r\n")) {
+			if (line.startsWith("DTSTART;VALUE=DATE:")) {
+				date = line.substring("DTSTART;VALUE=DATE:".length());
+			} else if (line.startsWith("SUMMARY:")) {
+				events.add(date + " " + line.substring("SUMMARY:".length()));
+			}
+		}
+		return events;
+	}
+}
@@ -8,19 +8,10 @@ import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
 /**
- * 农历工具类
+ * 农历工具类的原始实现, 只用于 {@link LunarDifferential} 对照, 不要修改
  * Created by duchengzhen on 2014/7/22.
  */
-public class Lunar {
-	public static void main(String[] args) {
-		Lunar l = new Lunar(System.currentTimeMillis());
-
-		System.out.println("节气:" + l.getTermString());
-		System.out.println("干支历:" + l.getCyclicalDateString());
-		System.out.println("星期" + l.getDayOfWeek());
-		System.out.println("农历" + l.getLunarDateString());
-	}
-
+public class LegacyLunar {
 	private final static int[] lunarInfo = {
 			0x4bd8, 0x4ae0, 0xa570, 0x54d5, 0xd260, 0xd950, 0x5554, 0x56af,
 			0x9ad0, 0x55d2, 0x4ae0, 0xa5b6, 0xa4d0, 0xd250, 0xd295, 0xb54f,
@@ -129,10 +120,10 @@ public class Lunar {
 		int lD = this.getLunarDay();
 		int sy = this.getSolarYear();
 		Matcher m;
-		for (int i = 0; i < Lunar.sFtv.length; i++) {
-			m = Lunar.sFreg.matcher(Lunar.sFtv[i]);
+		for (int i = 0; i < LegacyLunar.sFtv.length; i++) {
+			m = LegacyLunar.sFreg.matcher(LegacyLunar.sFtv[i]);
 			if (m.find()) {
-				if (sM == Lunar.toInt(m.group(1)) && sD == Lunar.toInt(m.group(2))) {
+				if (sM == LegacyLunar.toInt(m.group(1)) && sD == LegacyLunar.toInt(m.group(2))) {
 					this.isSFestival = true;
 					this.sFestivalName = m.group(4);
 					if ("*".equals(m.group(3))) this.isHoliday = true;
@@ -140,10 +131,10 @@ public class Lunar {
 				}
 			}
 		}
-		for (int i = 0; i < Lunar.lFtv.length; i++) {
-			m = Lunar.sFreg.matcher(Lunar.lFtv[i]);
+		for (int i = 0; i < LegacyLunar.lFtv.length; i++) {
+			m = LegacyLunar.sFreg.matcher(LegacyLunar.lFtv[i]);
 			if (m.find()) {
-				if (lM == Lunar.toInt(m.group(1)) && lD == Lunar.toInt(m.group(2))) {
+				if (lM == LegacyLunar.toInt(m.group(1)) && lD == LegacyLunar.toInt(m.group(2))) {
 					this.isLFestival = true;
 					this.lFestivalName = m.group(4);
 					if ("*".equals(m.group(3))) this.isHoliday = true;
@@ -154,12 +145,12 @@ public class Lunar {
 
 		// 月周节日
 		int w, d;
-		for (int i = 0; i < Lunar.wFtv.length; i++) {
-			m = Lunar.wFreg.matcher(Lunar.wFtv[i]);
+		for (int i = 0; i < LegacyLunar.wFtv.length; i++) {
+			m = LegacyLunar.wFreg.matcher(LegacyLunar.wFtv[i]);
 			if (m.find()) {
-				if (this.getSolarMonth() == Lunar.toInt(m.group(1))) {
-					w = Lunar.toInt(m.group(2));
-					d = Lunar.toInt(m.group(3));
+				if (this.getSolarMonth() == LegacyLunar.toInt(m.group(1))) {
+					w = LegacyLunar.toInt(m.group(2));
+					d = LegacyLunar.toInt(m.group(3));
 					if (this.solar.get(Calendar.WEEK_OF_MONTH) == w &&
 							this.solar.get(Calendar.DAY_OF_WEEK) == d) {
 						this.isSFestival = true;
@@ -214,7 +205,7 @@ public class Lunar {
 		// 数据表中,每个农历年用16bit来表示,
 		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
 		// 若4bit全为1或全为0,表示没闰, 否则4bit的值为闰月月份
-		int leapMonth = Lunar.lunarInfo[lunarYear - 1900] & 0xf;
+		int leapMonth = LegacyLunar.lunarInfo[lunarYear - 1900] & 0xf;
 		leapMonth = (leapMonth == 0xf ? 0 : leapMonth);
 		return leapMonth;
 	}
@@ -229,7 +220,7 @@ public class Lunar {
 		// 下一年最后4bit为1111,返回30(大月)
 		// 下一年最后4bit不为1111,返回29(小月)
 		// 若该年没有闰月,返回0
-		return Lunar.getLunarLeapMonth(lunarYear) > 0 ? ((Lunar.lunarInfo[lunarYear - 1899] & 0xf) == 0xf ? 30
+		return LegacyLunar.getLunarLeapMonth(lunarYear) > 0 ? ((LegacyLunar.lunarInfo[lunarYear - 1899] & 0xf) == 0xf ? 30
 				: 29)
 				: 0;
 	}
@@ -247,11 +238,11 @@ public class Lunar {
 		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
 		// 每个大月累加一天
 		for (int i = 0x8000; i > 0x8; i >>= 1) {
-			daysInLunarYear += ((Lunar.lunarInfo[lunarYear - 1900] & i) != 0) ? 1
+			daysInLunarYear += ((LegacyLunar.lunarInfo[lunarYear - 1900] & i) != 0) ? 1
 					: 0;
 		}
 		// 加上闰月天数
-		daysInLunarYear += Lunar.getLunarLeapDays(lunarYear);
+		daysInLunarYear += LegacyLunar.getLunarLeapDays(lunarYear);
 
 		return daysInLunarYear;
 	}
@@ -266,7 +257,7 @@ public class Lunar {
 	private static int getLunarMonthDays(int lunarYear, int lunarMonth) {
 		// 数据表中,每个农历年用16bit来表示,
 		// 前12bit分别表示12个月份的大小月,最后4bit表示闰月
-		return ((Lunar.lunarInfo[lunarYear - 1900] & (0x10000 >> lunarMonth)) != 0) ? 30 : 29;
+		return ((LegacyLunar.lunarInfo[lunarYear - 1900] & (0x10000 >> lunarMonth)) != 0) ? 30 : 29;
 	}
 
 	/**
@@ -276,7 +267,7 @@ public class Lunar {
 	 * @return UTC 全球标准时间 (UTC) 表示的日期
 	 */
 	public static synchronized int getUTCDay(Date date) {
-		Lunar.makeUTCCalendar();
+		LegacyLunar.makeUTCCalendar();
 		synchronized (utcCal) {
 			utcCal.clear();
 			utcCal.setTimeInMillis(date.getTime());
@@ -287,8 +278,8 @@ public class Lunar {
 	private static GregorianCalendar utcCal = null;
 
 	private static synchronized void makeUTCCalendar() {
-		if (Lunar.utcCal == null) {
-			Lunar.utcCal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+		if (LegacyLunar.utcCal == null) {
+			LegacyLunar.utcCal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
 		}
 	}
 
@@ -304,7 +295,7 @@ public class Lunar {
 	 * @return 全球标准时间 (UTC) (或 GMT) 的 1970 年 1 月 1 日到所指定日期之间所间隔的毫秒数
 	 */
 	public static synchronized long UTC(int y, int m, int d, int h, int min, int sec) {
-		Lunar.makeUTCCalendar();
+		LegacyLunar.makeUTCCalendar();
 		synchronized (utcCal) {
 			utcCal.clear();
 			utcCal.set(y, m, d, h, min, sec);
@@ -322,8 +313,8 @@ public class Lunar {
 	private static int getSolarTermDay(int solarYear, int index) {
 		long l = (long) 31556925974.7 * (solarYear - 1900) +
 				solarTermInfo[index] * 60000L;
-		l = l + Lunar.UTC(1900, 0, 6, 2, 5, 0);
-		return Lunar.getUTCDay(new Date(l));
+		l = l + LegacyLunar.UTC(1900, 0, 6, 2, 5, 0);
+		return LegacyLunar.getUTCDay(new Date(l));
 	}
 
 	/**
@@ -331,7 +322,7 @@ public class Lunar {
 	 *
 	 * @param date 指定日期对象
 	 */
-	public Lunar(Date date) {
+	public LegacyLunar(Date date) {
 		if (date == null)
 			date = new Date();
 		this.init(date.getTime());
@@ -342,7 +333,7 @@ public class Lunar {
 	 *
 	 * @param TimeInMillis
 	 */
-	public Lunar(long TimeInMillis) {
+	public LegacyLunar(long TimeInMillis) {
 		this.init(TimeInMillis);
 	}
 
@@ -354,17 +345,17 @@ public class Lunar {
 		long offset = (TimeInMillis - baseDate.getTimeInMillis()) / 86400000;
 		// 按农历年递减每年的农历天数，确定农历年份
 		this.lunarYear = 1900;
-		int daysInLunarYear = Lunar.getLunarYearDays(this.lunarYear);
+		int daysInLunarYear = LegacyLunar.getLunarYearDays(this.lunarYear);
 		while (this.lunarYear < 2100 && offset >= daysInLunarYear) {
 			offset -= daysInLunarYear;
-			daysInLunarYear = Lunar.getLunarYearDays(++this.lunarYear);
+			daysInLunarYear = LegacyLunar.getLunarYearDays(++this.lunarYear);
 		}
 		// 农历年数字
 
 		// 按农历月递减每月的农历天数，确定农历月份
 		int lunarMonth = 1;
 		// 所在农历年闰哪个月,若没有返回0
-		int leapMonth = Lunar.getLunarLeapMonth(this.lunarYear);
+		int leapMonth = LegacyLunar.getLunarLeapMonth(this.lunarYear);
 		// 是否闰年
 		this.isLeapYear = leapMonth > 0;
 		// 闰月是否递减
@@ -374,11 +365,11 @@ public class Lunar {
 		while (lunarMonth < 13 && offset > 0) {
 			if (isLeap && leapDec) { // 如果是闰年,并且是闰月
 				// 所在农历年闰月的天数
-				daysInLunarMonth = Lunar.getLunarLeapDays(this.lunarYear);
+				daysInLunarMonth = LegacyLunar.getLunarLeapDays(this.lunarYear);
 				leapDec = false;
 			} else {
 				// 所在农历年指定月的天数
-				daysInLunarMonth = Lunar.getLunarMonthDays(this.lunarYear, lunarMonth);
+				daysInLunarMonth = LegacyLunar.getLunarMonthDays(this.lunarYear, lunarMonth);
 			}
 			if (offset < daysInLunarMonth) {
 				break;
@@ -418,7 +409,7 @@ public class Lunar {
 		int cyclicalDay = 0;
 
 		// 干支年 1900年立春後为庚子年(60进制36)
-		int term2 = Lunar.getSolarTermDay(solarYear, 2); // 立春日期
+		int term2 = LegacyLunar.getSolarTermDay(solarYear, 2); // 立春日期
 		// 依节气调整二月分的年柱, 以立春为界
 		if (solarMonth < 1 || (solarMonth == 1 && solarDay < term2)) {
 			cyclicalYear = (solarYear - 1900 + 36 - 1) % 60;
@@ -427,7 +418,7 @@ public class Lunar {
 		}
 
 		// 干支月 1900年1月小寒以前为 丙子月(60进制12)
-		int firstNode = Lunar.getSolarTermDay(solarYear, solarMonth * 2); // 传回当月「节」为几日开始
+		int firstNode = LegacyLunar.getSolarTermDay(solarYear, solarMonth * 2); // 传回当月「节」为几日开始
 		// 依节气月柱, 以「节」为界
 		if (solarDay < firstNode) {
 			cyclicalMonth = ((solarYear - 1900) * 12 + solarMonth + 12) % 60;
@@ -437,7 +428,7 @@ public class Lunar {
 
 		// 当月一日与 1900/1/1 相差天数
 		// 1900/1/1与 1970/1/1 相差25567日, 1900/1/1 日柱为甲戌日(60进制10)
-		cyclicalDay = (int) (Lunar.UTC(solarYear, solarMonth, solarDay, 0, 0, 0) / 86400000 + 25567 + 10) % 60;
+		cyclicalDay = (int) (LegacyLunar.UTC(solarYear, solarMonth, solarDay, 0, 0, 0) / 86400000 + 25567 + 10) % 60;
 		this.cyclicalYear = cyclicalYear;
 		this.cyclicalMonth = cyclicalMonth;
 		this.cyclicalDay = cyclicalDay;
@@ -449,7 +440,7 @@ public class Lunar {
 	 * @return 农历年生肖(例:龙)
 	 */
 	public String getAnimalString() {
-		return Lunar.Animals[(this.lunarYear - 4) % 12];
+		return LegacyLunar.Animals[(this.lunarYear - 4) % 12];
 	}
 
 	/**
@@ -460,10 +451,10 @@ public class Lunar {
 	public String getTermString() {
 		// 二十四节气
 		String termString = "";
-		if (Lunar.getSolarTermDay(solarYear, solarMonth * 2) == solarDay) {
-			termString = Lunar.solarTerm[solarMonth * 2];
-		} else if (Lunar.getSolarTermDay(solarYear, solarMonth * 2 + 1) == solarDay) {
-			termString = Lunar.solarTerm[solarMonth * 2 + 1];
+		if (LegacyLunar.getSolarTermDay(solarYear, solarMonth * 2) == solarDay) {
+			termString = LegacyLunar.solarTerm[solarMonth * 2];
+		} else if (LegacyLunar.getSolarTermDay(solarYear, solarMonth * 2 + 1) == solarDay) {
+			termString = LegacyLunar.solarTerm[solarMonth * 2 + 1];
 		}
 		return termString;
 	}
@@ -485,7 +476,7 @@ public class Lunar {
 	 * @return 年份天干
 	 */
 	public int getTiananY() {
-		return Lunar.getTianan(this.cyclicalYear);
+		return LegacyLunar.getTianan(this.cyclicalYear);
 	}
 
 	/**
@@ -494,7 +485,7 @@ public class Lunar {
 	 * @return 月份天干
 	 */
 	public int getTiananM() {
-		return Lunar.getTianan(this.cyclicalMonth);
+		return LegacyLunar.getTianan(this.cyclicalMonth);
 	}
 
 	/**
@@ -503,7 +494,7 @@ public class Lunar {
 	 * @return 日期天干
 	 */
 	public int getTiananD() {
-		return Lunar.getTianan(this.cyclicalDay);
+		return LegacyLunar.getTianan(this.cyclicalDay);
 	}
 
 	/**
@@ -512,7 +503,7 @@ public class Lunar {
 	 * @return 年分地支
 	 */
 	public int getDeqiY() {
-		return Lunar.getDeqi(this.cyclicalYear);
+		return LegacyLunar.getDeqi(this.cyclicalYear);
 	}
 
 	/**
@@ -521,7 +512,7 @@ public class Lunar {
 	 * @return 月份地支
 	 */
 	public int getDeqiM() {
-		return Lunar.getDeqi(this.cyclicalMonth);
+		return LegacyLunar.getDeqi(this.cyclicalMonth);
 	}
 
 	/**
@@ -530,7 +521,7 @@ public class Lunar {
 	 * @return 日期地支
 	 */
 	public int getDeqiD() {
-		return Lunar.getDeqi(this.cyclicalDay);
+		return LegacyLunar.getDeqi(this.cyclicalDay);
 	}
 
 	/**
@@ -539,7 +530,7 @@ public class Lunar {
 	 * @return 干支年字符串
 	 */
 	public String getCyclicaYear() {
-		return Lunar.getCyclicalString(this.cyclicalYear);
+		return LegacyLunar.getCyclicalString(this.cyclicalYear);
 	}
 
 	/**
@@ -548,7 +539,7 @@ public class Lunar {
 	 * @return 干支月字符串
 	 */
 	public String getCyclicaMonth() {
-		return Lunar.getCyclicalString(this.cyclicalMonth);
+		return LegacyLunar.getCyclicalString(this.cyclicalMonth);
 	}
 
 	/**
@@ -557,7 +548,7 @@ public class Lunar {
 	 * @return 干支日字符串
 	 */
 	public String getCyclicaDay() {
-		return Lunar.getCyclicalString(this.cyclicalDay);
+		return LegacyLunar.getCyclicalString(this.cyclicalDay);
 	}
 
 	/**
@@ -566,7 +557,7 @@ public class Lunar {
 	 * @return 农历日期字符串
 	 */
 	public String getLunarDayString() {
-		return Lunar.getLunarDayString(this.lunarDay);
+		return LegacyLunar.getLunarDayString(this.lunarDay);
 	}
 
 	/**
@@ -575,7 +566,7 @@ public class Lunar {
 	 * @return 农历日期字符串
 	 */
 	public String getLunarMonthString() {
-		return (this.isLeap() ? "闰" : "") + Lunar.getLunarMonthString(this.lunarMonth);
+		return (this.isLeap() ? "闰" : "") + LegacyLunar.getLunarMonthString(this.lunarMonth);
 	}
 
 	/**
@@ -584,7 +575,7 @@ public class Lunar {
 	 * @return 农历日期字符串
 	 */
 	public String getLunarYearString() {
-		return Lunar.getLunarYearString(this.lunarYear);
+		return LegacyLunar.getLunarYearString(this.lunarYear);
 	}
 
 	/**
@@ -792,7 +783,7 @@ public class Lunar {
 	 * @return 干支字符串
 	 */
 	private static String getCyclicalString(int cyclicalNumber) {
-		return Lunar.Tianan[Lunar.getTianan(cyclicalNumber)] + Lunar.Deqi[Lunar.getDeqi(cyclicalNumber)];
+		return LegacyLunar.Tianan[LegacyLunar.getTianan(cyclicalNumber)] + LegacyLunar.Deqi[LegacyLunar.getDeqi(cyclicalNumber)];
 	}
 
 	/**
@@ -822,7 +813,7 @@ public class Lunar {
 	 * @return 农历年份字符串
 	 */
 	private static String getLunarYearString(int lunarYear) {
-		return Lunar.getCyclicalString(lunarYear - 1900 + 36);
+		return LegacyLunar.getCyclicalString(lunarYear - 1900 + 36);
 	}
 
 	/**
@@ -834,12 +825,12 @@ public class Lunar {
 	private static String getLunarMonthString(int lunarMonth) {
 		String lunarMonthString = "";
 		if (lunarMonth == 1) {
-			lunarMonthString = Lunar.lunarString2[4];
+			lunarMonthString = LegacyLunar.lunarString2[4];
 		} else {
 			if (lunarMonth > 9)
-				lunarMonthString += Lunar.lunarString2[1];
+				lunarMonthString += LegacyLunar.lunarString2[1];
 			if (lunarMonth % 10 > 0)
-				lunarMonthString += Lunar.lunarNumber[lunarMonth % 10];
+				lunarMonthString += LegacyLunar.lunarNumber[lunarMonth % 10];
 		}
 		return lunarMonthString;
 	}
@@ -854,17 +845,17 @@ public class Lunar {
 		if (lunarDay < 1 || lunarDay > 30) return "";
 		int i1 = lunarDay / 10;
 		int i2 = lunarDay % 10;
-		String c1 = Lunar.lunarString2[i1];
-		String c2 = Lunar.lunarNumber[i2];
-		if (lunarDay < 11) c1 = Lunar.lunarString2[0];
-		if (i2 == 0) c2 = Lunar.lunarString2[1];
+		String c1 = LegacyLunar.lunarString2[i1];
+		String c2 = LegacyLunar.lunarNumber[i2];
+		if (lunarDay < 11) c1 = LegacyLunar.lunarString2[0];
+		if (i2 == 0) c2 = LegacyLunar.lunarString2[1];
 		return c1 + c2;
 	}
 
 	public String[] getLunarDays(int daysInLunarMonth) {
 		String[] lunarDays = new String[daysInLunarMonth];
 		for (int i = 1; i <= daysInLunarMonth; i++) {
-			lunarDays[i] = Lunar.getLunarDayString(i);
+			lunarDays[i] = LegacyLunar.getLunarDayString(i);
 		}
 		return lunarDays;
 	}
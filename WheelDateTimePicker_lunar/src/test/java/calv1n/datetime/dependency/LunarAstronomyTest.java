@@ -0,0 +1,64 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.TimeZone;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 与公开星历表对照: 2024 年的二分二至和朔(美国海军天文台公布值, UTC, 精确到分)
+ * <p/>
+ * 公布值舍入到分钟, 允许误差为一分钟
+ */
+public class LunarAstronomyTest {
+
+	private static final long TOLERANCE_MILLIS = 60 * 1000L;
+
+	@Test
+	public void equinoxesAndSolsticesOf2024() {
+		// 春分、夏至、秋分、冬至的节气序号(0为小寒)
+		assertInstant(utc(2024, 3, 20, 3, 6), LunarAstronomy.getSolarTermMillis(2024, 5));
+		assertInstant(utc(2024, 6, 20, 20, 51), LunarAstronomy.getSolarTermMillis(2024, 11));
+		assertInstant(utc(2024, 9, 22, 12, 44), LunarAstronomy.getSolarTermMillis(2024, 17));
+		assertInstant(utc(2024, 12, 21, 9, 21), LunarAstronomy.getSolarTermMillis(2024, 23));
+	}
+
+	@Test
+	public void newMoonsOf2024() {
+		long[] expected = {
+				utc(2024, 1, 11, 11, 57), utc(2024, 2, 9, 22, 59), utc(2024, 3, 10, 9, 0),
+				utc(2024, 4, 8, 18, 21), utc(2024, 5, 8, 3, 22), utc(2024, 6, 6, 12, 38),
+				utc(2024, 7, 5, 22, 57), utc(2024, 8, 4, 11, 13), utc(2024, 9, 3, 1, 55),
+				utc(2024, 10, 2, 18, 49), utc(2024, 11, 1, 12, 47), utc(2024, 12, 1, 6, 21),
+				utc(2024, 12, 30, 22, 27)
+		};
+		assertEquals(expected.length, LunarAstronomy.getNewMoonCount(2024));
+		for (int i = 0; i < expected.length; i++) {
+			assertInstant(expected[i], LunarAstronomy.getNewMoonMillis(2024, i));
+		}
+	}
+
+	@Test
+	public void cachedAndUncachedYearsAreStable() {
+		// 缓存范围内外重复查询结果相同
+		for (int year : new int[]{1599, 1600, 2401, 2402}) {
+			assertEquals(LunarAstronomy.getSolarTermMillis(year, 5), LunarAstronomy.getSolarTermMillis(year, 5));
+			assertTrue(LunarAstronomy.getNewMoonCount(year) >= 12);
+		}
+	}
+
+	private static void assertInstant(long expected, long actual) {
+		assertTrue("差 " + (actual - expected) / 1000 + " 秒", Math.abs(actual - expected) <= TOLERANCE_MILLIS);
+	}
+
+	private static long utc(int year, int month, int day, int hour, int minute) {
+		Calendar cal = new GregorianCalendar(TimeZone.getTimeZone("UTC"));
+		cal.clear();
+		cal.set(year, month - 1, day, hour, minute);
+		return cal.getTimeInMillis();
+	}
+}
@@ -0,0 +1,206 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class LunarCacheTest {
+	private static final int FIRST_DAY = Lunar.daysFromCivil(2015, 1, 1);
+
+	@Test
+	public void roundsMaxSizeUpToStripes() {
+		assertEquals(16, new LunarCache(10).getMaxSize());
+		assertEquals(8, new LunarCache(1).getMaxSize());
+		assertEquals(LunarCache.DEFAULT_MAX_SIZE, LunarCache.getDefault().getMaxSize());
+		assertSame(LunarCache.getDefault(), LunarCache.getDefault());
+		try {
+			new LunarCache(0);
+			fail("缓存大小为0应抛出异常");
+		} catch (IllegalArgumentException expected) {
+			// 缓存大小必须大于0
+		}
+	}
+
+	@Test
+	public void evictsLeastRecentlyUsedWithinStripe() {
+		// 每段容量为2
+		LunarCache cache = new LunarCache(16);
+		int[] days = daysInStripe(0, 3);
+		Lunar a = cache.get(days[0]);
+		Lunar b = cache.get(days[1]);
+		// a 变为最近使用, 放入 c 时淘汰 b
+		assertSame(a, cache.get(days[0]));
+		Lunar c = cache.get(days[2]);
+		assertEquals(1, cache.getEvictionCount());
+		assertSame(a, cache.get(days[0]));
+
+		// b 需要重新构建, 淘汰此时最久未使用的 c
+		Lunar b2 = cache.get(days[1]);
+		assertTrue("b 应已被淘汰", b != b2);
+		assertSameDate(days[1], b2);
+		assertEquals(2, cache.getEvictionCount());
+		assertSame(b2, cache.get(days[1]));
+		assertSame(a, cache.get(days[0]));
+		assertTrue("c 应已被淘汰", c != cache.get(days[2]));
+
+		assertEquals(2, cache.size());
+		assertEquals(4, cache.getHitCount());
+		assertEquals(5, cache.getMissCount());
+		assertEquals(3, cache.getEvictionCount());
+	}
+
+	@Test
+	public void eachStripeHoldsItsShareOfMaxSize() {
+		LunarCache cache = new LunarCache(32);
+		// 同一段放入10天, 只保留4天, 其他段不受影响
+		int[] days = daysInStripe(3, 10);
+		for (int day : days) {
+			cache.get(day);
+		}
+		assertEquals(4, cache.size());
+		assertEquals(6, cache.getEvictionCount());
+		// 最近的4天仍命中, 更早的未命中
+		for (int i = days.length - 4; i < days.length; i++) {
+			cache.get(days[i]);
+		}
+		assertEquals(4, cache.getHitCount());
+		cache.get(days[0]);
+		assertEquals(11, cache.getMissCount());
+
+		// 其他段各自还能放4天
+		for (int day : daysInStripe(5, 4)) {
+			cache.get(day);
+		}
+		assertEquals(8, cache.size());
+		assertEquals(7, cache.getEvictionCount());
+	}
+
+	@Test
+	public void returnsCorrectLunarForEveryDay() {
+		LunarCache cache = new LunarCache(64);
+		for (int day = FIRST_DAY; day < FIRST_DAY + 1000; day++) {
+			assertSameDate(day, cache.get(day));
+		}
+		assertEquals(64, cache.size());
+		assertEquals(1000, cache.getMissCount());
+		assertEquals(1000 - 64, cache.getEvictionCount());
+		int date = Lunar.civilFromDays(FIRST_DAY + 999);
+		assertSame(cache.get(FIRST_DAY + 999), cache.get(date >> 9, date >> 5 & 0xf, date & 0x1f));
+	}
+
+	@Test
+	public void concurrentGetsShareOneInstancePerDay() throws Exception {
+		final int days = 1000;
+		final int rounds = 20;
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		// 足够大, 不会淘汰: 每天只应有一个实例
+		final LunarCache cache = new LunarCache(2048);
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<Lunar[]>> futures = new ArrayList<Future<Lunar[]>>();
+			for (int t = 0; t < threads; t++) {
+				final int offset = t * 37;
+				futures.add(executor.submit(new Callable<Lunar[]>() {
+					@Override
+					public Lunar[] call() throws Exception {
+						start.await();
+						Lunar[] seen = new Lunar[days];
+						for (int r = 0; r < rounds; r++) {
+							for (int i = 0; i < days; i++) {
+								int index = (i + offset) % days;
+								seen[index] = cache.get(FIRST_DAY + index);
+							}
+						}
+						return seen;
+					}
+				}));
+			}
+			start.countDown();
+			Lunar[] first = futures.get(0).get();
+			for (Future<Lunar[]> future : futures) {
+				Lunar[] seen = future.get();
+				for (int i = 0; i < days; i++) {
+					assertSame(first[i], seen[i]);
+				}
+			}
+			for (int i = 0; i < days; i++) {
+				assertSameDate(FIRST_DAY + i, first[i]);
+			}
+			assertEquals(days, cache.size());
+			assertEquals(0, cache.getEvictionCount());
+			assertEquals((long) threads * rounds * days, cache.getHitCount() + cache.getMissCount());
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@Test
+	public void concurrentGetsWithEvictionStayWithinBounds() throws Exception {
+		final LunarCache cache = new LunarCache(64);
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		final CountDownLatch start = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<?>> futures = new ArrayList<Future<?>>();
+			for (int t = 0; t < threads; t++) {
+				final int seed = t;
+				futures.add(executor.submit(new Callable<Void>() {
+					@Override
+					public Void call() throws Exception {
+						start.await();
+						int x = seed;
+						for (int i = 0; i < 20000; i++) {
+							x = x * 1103515245 + 12345;
+							int day = FIRST_DAY + ((x >>> 8) % 300);
+							assertSameDate(day, cache.get(day));
+						}
+						return null;
+					}
+				}));
+			}
+			start.countDown();
+			for (Future<?> future : futures) {
+				future.get();
+			}
+			assertEquals(64, cache.size());
+			assertEquals((long) threads * 20000, cache.getHitCount() + cache.getMissCount());
+			// 每次未命中都放入一天, 放满后每次放入都淘汰一天; 并发时同一天可能被两个线程同时未命中
+			assertTrue(cache.getMissCount() - cache.getEvictionCount() >= 64);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/**
+	 * 从 FIRST_DAY 开始找落在指定段中的若干天, 选段方式与 LunarCache 相同: 8段, 哈希值高3位选段
+	 */
+	private static int[] daysInStripe(int stripe, int count) {
+		int[] days = new int[count];
+		int n = 0;
+		for (int day = FIRST_DAY; n < count; day++) {
+			if ((day * 0x9E3779B9) >>> 29 == stripe) {
+				days[n++] = day;
+			}
+		}
+		return days;
+	}
+
+	private static void assertSameDate(int epochDay, Lunar lunar) {
+		int date = Lunar.civilFromDays(epochDay);
+		assertEquals(date >> 9, lunar.getSolarYear());
+		assertEquals(date >> 5 & 0xf, lunar.getSolarMonth());
+		assertEquals(date & 0x1f, lunar.getSolarDay());
+	}
+}
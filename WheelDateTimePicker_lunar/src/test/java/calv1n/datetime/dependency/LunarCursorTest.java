@@ -0,0 +1,87 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class LunarCursorTest {
+	/**
+	 * 1600年正月初一 ~ 2400年腊月底
+	 */
+	private static final int FIRST_DAY = Lunar.toSolar(Lunar.MIN_YEAR, 1, false, 1);
+	private static final int LAST_DAY = Lunar.toSolar(Lunar.MAX_YEAR, 12, false, 1)
+			+ LunarDate.of(Lunar.MAX_YEAR, 12, false, 1).getMaxDayInMonth() - 1;
+
+	@Test
+	public void nextMatchesLunarOverWholeTable() {
+		LunarCursor cursor = new LunarCursor(FIRST_DAY);
+		for (int day = FIRST_DAY; day <= LAST_DAY; day++) {
+			if (day > FIRST_DAY) {
+				cursor.next();
+			}
+			assertSame(day, cursor);
+		}
+	}
+
+	@Test
+	public void previousMatchesLunarOverWholeTable() {
+		LunarCursor cursor = new LunarCursor(LAST_DAY);
+		for (int day = LAST_DAY; day >= FIRST_DAY; day--) {
+			if (day < LAST_DAY) {
+				cursor.previous();
+			}
+			assertSame(day, cursor);
+		}
+	}
+
+	@Test
+	public void plusDaysJumpsAcrossMonthsAndYears() {
+		LunarCursor cursor = new LunarCursor(FIRST_DAY);
+		int day = FIRST_DAY;
+		// 步长互质, 覆盖大小月、闰月和跨年
+		int[] steps = {1, 29, 30, 354, 384, -1, -30, 0, 7};
+		for (int i = 0; day + 400 < LAST_DAY; i++) {
+			int step = steps[i % steps.length];
+			day += step;
+			cursor.plusDays(step);
+			assertSame(day, cursor);
+		}
+	}
+
+	@Test
+	public void rejectsDaysOutsideTable() {
+		LunarCursor cursor = new LunarCursor(LAST_DAY);
+		try {
+			cursor.next();
+			fail("2400年腊月底之后应超出范围");
+		} catch (IllegalArgumentException expected) {
+			// 游标保持在最后一天
+			assertSame(LAST_DAY, cursor);
+		}
+		cursor.moveTo(FIRST_DAY);
+		try {
+			cursor.previous();
+			fail("1600年正月初一之前应超出范围");
+		} catch (IllegalArgumentException expected) {
+			assertSame(FIRST_DAY, cursor);
+		}
+	}
+
+	private static void assertSame(int epochDay, LunarCursor cursor) {
+		Lunar lunar = Lunar.ofEpochDay(epochDay);
+		String at = "epochDay " + epochDay;
+		assertEquals(at, epochDay, cursor.getEpochDay());
+		assertEquals(at, lunar.getLunarYear(), cursor.getLunarYear());
+		assertEquals(at, lunar.getLunarMonth(), cursor.getLunarMonth());
+		assertEquals(at, lunar.getLunarDay(), cursor.getLunarDay());
+		assertEquals(at, lunar.isLeap(), cursor.isLeap());
+		assertEquals(at, lunar.getMaxDayInMonth(), cursor.getMaxDayInMonth());
+		assertEquals(at, lunar.getSolarYear(), cursor.getSolarYear());
+		assertEquals(at, lunar.getSolarMonth(), cursor.getSolarMonth());
+		assertEquals(at, lunar.getSolarDay(), cursor.getSolarDay());
+		int cyclical = cursor.getCyclicalDay();
+		assertEquals(at, lunar.getCyclicaDay(), Lunar.Tianan[cyclical % 10] + Lunar.Deqi[cyclical % 12]);
+		assertEquals(at, lunar.getTermString(), cursor.getTermString());
+	}
+}
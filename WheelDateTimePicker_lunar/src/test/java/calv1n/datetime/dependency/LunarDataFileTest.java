@@ -0,0 +1,106 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+/**
+ * lunar_ext.dat 的解析: 正常文件与 Lunar 的结果一致, 损坏或截断的文件抛出异常
+ */
+public class LunarDataFileTest {
+
+	@Test
+	public void readsEveryChunkOfBundledFile() throws IOException {
+		byte[] data = readResource();
+		LunarDataFile.Header header = LunarDataFile.readHeader(stream(data));
+		assertTrue(header.firstYears.length > 0);
+		assertEquals(Lunar.MIN_YEAR, header.firstYears[0]);
+		for (int i = 0; i < header.firstYears.length; i++) {
+			LunarMonthTable table = LunarDataFile.readChunk(stream(data), header, i);
+			int firstYear = header.firstYears[i];
+			int lastYear = firstYear + header.yearCounts[i] - 1;
+			assertTrue(table.containsYear(firstYear));
+			assertTrue(table.containsYear(lastYear));
+			assertTrue(table.containsDay(header.firstDays[i]));
+			assertTrue(table.containsDay(header.endDays[i] - 1));
+			// 与按需加载的分段一致
+			assertEquals(Lunar.findTableByYear(firstYear).getLeapMonth(lastYear), table.getLeapMonth(lastYear));
+			assertEquals(Lunar.toSolar(firstYear, 1, false, 1), header.firstDays[i]);
+		}
+	}
+
+	@Test
+	public void rejectsWrongMagic() throws IOException {
+		byte[] data = readResource();
+		data[0] ^= 0x20;
+		try {
+			LunarDataFile.readHeader(stream(data));
+			fail("文件标识不正确应抛出异常");
+		} catch (IllegalStateException expected) {
+			// 不当作没有数据
+		}
+	}
+
+	@Test
+	public void rejectsTruncatedHeader() throws IOException {
+		byte[] data = copyOf(readResource(), 20);
+		try {
+			LunarDataFile.readHeader(stream(data));
+			fail("文件头不完整应抛出异常");
+		} catch (EOFException expected) {
+			// 由调用方包装为 IllegalStateException
+		}
+	}
+
+	@Test
+	public void rejectsTruncatedChunk() throws IOException {
+		byte[] data = readResource();
+		LunarDataFile.Header header = LunarDataFile.readHeader(stream(data));
+		int last = header.firstYears.length - 1;
+		// 截断在最后一个分段之前和分段中间
+		int[] lengths = {header.offsets[last] - 1, header.offsets[last] + 1};
+		for (int length : lengths) {
+			try {
+				LunarDataFile.readChunk(stream(copyOf(data, length)), header, last);
+				fail("分段被截断应抛出异常: " + length);
+			} catch (EOFException expected) {
+				// 由调用方包装为 IllegalStateException
+			}
+		}
+	}
+
+	private static DataInputStream stream(byte[] data) {
+		return new DataInputStream(new ByteArrayInputStream(data));
+	}
+
+	private static byte[] copyOf(byte[] data, int length) {
+		byte[] copy = new byte[length];
+		System.arraycopy(data, 0, copy, 0, length);
+		return copy;
+	}
+
+	private static byte[] readResource() throws IOException {
+		InputStream in = LunarDataFile.class.getResourceAsStream("lunar_ext.dat");
+		assertTrue("lunar_ext.dat 应随库打包", in != null);
+		try {
+			ByteArrayOutputStream out = new ByteArrayOutputStream();
+			byte[] buffer = new byte[4096];
+			int n;
+			while ((n = in.read(buffer)) > 0) {
+				out.write(buffer, 0, n);
+			}
+			return out.toByteArray();
+		} finally {
+			in.close();
+		}
+	}
+}
@@ -0,0 +1,108 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class LunarDateTest {
+	/**
+	 * 1600年正月初一 ~ 2400年腊月底
+	 */
+	private static final int FIRST_DAY = Lunar.toSolar(Lunar.MIN_YEAR, 1, false, 1);
+	private static final int LAST_DAY = Lunar.toSolar(Lunar.MAX_YEAR, 12, false, 1)
+			+ LunarDate.of(Lunar.MAX_YEAR, 12, false, 1).getMaxDayInMonth() - 1;
+
+	@Test
+	public void packsAllFields() {
+		// 2028年闰五月初三(闰五月为小月)
+		LunarDate date = LunarDate.of(2028, 5, true, 3);
+		assertEquals(2028, date.getYear());
+		assertEquals(5, date.getMonth());
+		assertTrue(date.isLeap());
+		assertEquals(3, date.getDay());
+		assertEquals(29, date.getMaxDayInMonth());
+		assertEquals(date, LunarDate.fromPacked(date.toPacked()));
+		assertEquals(date, LunarDate.ofEpochDay(date.toEpochDay()));
+	}
+
+	@Test
+	public void formatsHansYearOutsidePrecomputedTable() {
+		assertEquals("一九九八年", Lunar.getHansYear(1998));
+		assertEquals("一八八八年", Lunar.getHansYear(1888));
+		assertEquals("一六零零年", Lunar.getHansYear(Lunar.MIN_YEAR));
+		assertEquals("二四零零年", Lunar.getHansYear(Lunar.MAX_YEAR));
+		// 1850年五月初五
+		Lunar lunar = Lunar.ofEpochDay(Lunar.toSolar(1850, 5, false, 5));
+		assertEquals("一八五零年", lunar.getLunarHansYear());
+		assertEquals("一八五零年",
+				LunarCalendarSystem.INSTANCE.labelFor(CalendarSystem.FIELD_YEAR, 1850, 0, 0));
+	}
+
+	@Test
+	public void isUsableAsMapKey() {
+		Map<LunarDate, String> map = new HashMap<LunarDate, String>();
+		map.put(LunarDate.of(2015, 8, false, 15), "中秋节");
+		assertEquals("中秋节", map.get(LunarDate.of(2015, 8, false, 15)));
+		assertFalse(map.containsKey(LunarDate.of(2015, 8, false, 16)));
+	}
+
+	@Test
+	public void ordersChronologically() {
+		LunarDate previous = LunarDate.ofEpochDay(FIRST_DAY);
+		for (int day = FIRST_DAY + 1; day <= LAST_DAY; day++) {
+			LunarDate date = LunarDate.ofEpochDay(day);
+			assertTrue(previous + " < " + date, previous.compareTo(date) < 0);
+			assertEquals(day, date.toEpochDay());
+			previous = date;
+		}
+	}
+
+	/**
+	 * 多线程并发转换与单线程结果一致; 吞吐量随线程数的变化见 LunarBenchmark
+	 */
+	@Test
+	public void parallelConversionMatchesSequential() throws Exception {
+		int[] sequential = new int[LAST_DAY - FIRST_DAY + 1];
+		for (int day = FIRST_DAY; day <= LAST_DAY; day++) {
+			sequential[day - FIRST_DAY] = LunarDate.ofEpochDay(day).toPacked();
+		}
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			List<Future<int[]>> futures = new ArrayList<Future<int[]>>();
+			for (int t = 0; t < threads; t++) {
+				final int offset = t * 997;
+				futures.add(executor.submit(new Callable<int[]>() {
+					@Override
+					public int[] call() {
+						// 每个线程从不同位置开始转换整张数据表
+						int count = LAST_DAY - FIRST_DAY + 1;
+						int[] packed = new int[count];
+						for (int i = 0; i < count; i++) {
+							int index = (i + offset) % count;
+							packed[index] = LunarDate.ofEpochDay(FIRST_DAY + index).toPacked();
+						}
+						return packed;
+					}
+				}));
+			}
+			for (Future<int[]> future : futures) {
+				assertArrayEquals(sequential, future.get());
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+}
@@ -0,0 +1,563 @@
+package calv1n.datetime.dependency;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Calendar;
+import java.util.GregorianCalendar;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 农历实现的逐日对照
+ * <p/>
+ * 以 {@link LegacyLunar} (原始的 init / getCyclicalData / getTermString / findFestival) 为准,
+ * 逐日读出各实现的全部字段并比较, 记录不一致的日期, 再分别测量每个实现的吞吐量.
+ * 有意改变的节日规则逐条列在 {@link #INTENTIONAL_CHANGES} 中, 只在受影响的日期跳过受影响的字段. 新的快速实现只要加一个 {@link Engine} 即可纳入对照.
+ * <p/>
+ * 可直接运行 main, 也由 {@link LunarDifferentialTest} 在单元测试中运行.
+ */
+public final class LunarDifferential {
+
+	public final static int LUNAR_YEAR = 0;
+	public final static int LUNAR_MONTH = 1;
+	public final static int LUNAR_DAY = 2;
+	public final static int IS_LEAP = 3;
+	public final static int IS_LEAP_YEAR = 4;
+	public final static int MAX_DAY_IN_MONTH = 5;
+	public final static int SOLAR_YEAR = 6;
+	public final static int SOLAR_MONTH = 7;
+	public final static int SOLAR_DAY = 8;
+	public final static int DAY_OF_WEEK = 9;
+	public final static int TIANAN_Y = 10;
+	public final static int DEQI_Y = 11;
+	public final static int TIANAN_M = 12;
+	public final static int DEQI_M = 13;
+	public final static int TIANAN_D = 14;
+	public final static int DEQI_D = 15;
+	public final static int IS_S_FESTIVAL = 16;
+	public final static int IS_L_FESTIVAL = 17;
+	public final static int IS_HOLIDAY = 18;
+	public final static int INT_FIELD_COUNT = 19;
+
+	public final static int TERM_STRING = 0;
+	public final static int LUNAR_DATE_STRING = 1;
+	public final static int CYCLICAL_DATE_STRING = 2;
+	public final static int ANIMAL_STRING = 3;
+	public final static int S_FESTIVAL_NAME = 4;
+	public final static int L_FESTIVAL_NAME = 5;
+	public final static int DESCRIPTION = 6;
+	public final static int TEXT_FIELD_COUNT = 7;
+
+	/**
+	 * 整数字段未提供时的取值, 比较时跳过
+	 */
+	public final static int UNSET = Integer.MIN_VALUE;
+
+	private final static String[] INT_FIELD_NAMES = {
+			"lunarYear", "lunarMonth", "lunarDay", "isLeap", "isLeapYear", "maxDayInMonth",
+			"solarYear", "solarMonth", "solarDay", "dayOfWeek",
+			"tiananY", "deqiY", "tiananM", "deqiM", "tiananD", "deqiD",
+			"isSFestival", "isLFestival", "isHoliday"
+	};
+	private final static String[] TEXT_FIELD_NAMES = {
+			"termString", "lunarDateString", "cyclicalDateString", "animal",
+			"sFestivalName", "lFestivalName", "description"
+	};
+
+	/**
+	 * 每个实现最多记录的不一致明细条数
+	 */
+	private final static int MAX_RECORDED_MISMATCHES = 20;
+
+	/**
+	 * 相对原始实现有意改变的行为, 满足条件的日期上不比较受影响的字段
+	 */
+	private abstract static class IntentionalChange {
+		private final int[] intFields;
+		private final int[] textFields;
+
+		IntentionalChange(int[] intFields, int[] textFields) {
+			this.intFields = intFields;
+			this.textFields = textFields;
+		}
+
+		/**
+		 * @param epochDay 距 1970/1/1 的天数
+		 * @param millis   当天中午(默认时区)的毫秒数
+		 * @param expected 参照实现的整数字段
+		 */
+		abstract boolean appliesTo(int epochDay, long millis, int[] expected);
+	}
+
+	/**
+	 * 全部有意改变的行为, 其余字段和日期都必须与原始实现一致
+	 */
+	private final static IntentionalChange[] INTENTIONAL_CHANGES = {
+			// 月周节日改为当月第几个星期几(0为星期日), 原始实现按 WEEK_OF_MONTH 和 DAY_OF_WEEK(1为星期日)查找;
+			// 按新旧任一规则是月周节日的日期不比较国历节日
+			new IntentionalChange(new int[]{IS_S_FESTIVAL}, new int[]{S_FESTIVAL_NAME}) {
+				@Override
+				boolean appliesTo(int epochDay, long millis, int[] expected) {
+					int date = Lunar.civilFromDays(epochDay);
+					return Lunar.findWeekFestival(date >> 9, date >> 5 & 0xf, date & 0x1f) != null
+							|| LunarDifferential.isLegacyWeekFestival(millis);
+				}
+			},
+			// 日期为0的农历节日(除夕)改为在上个月最后一天, 原始实现从不匹配;
+			// 腊月小月时与同一天的 "1229" 节日名称用 "|" 连接
+			new IntentionalChange(new int[]{IS_L_FESTIVAL, IS_HOLIDAY}, new int[]{L_FESTIVAL_NAME}) {
+				@Override
+				boolean appliesTo(int epochDay, long millis, int[] expected) {
+					return Lunar.findMonthEndFestival(expected[LUNAR_YEAR], expected[LUNAR_MONTH],
+							expected[IS_LEAP] == 1, expected[LUNAR_DAY], expected[MAX_DAY_IN_MONTH]) != null;
+				}
+			}
+	};
+
+	/**
+	 * 被对照的实现
+	 * <p/>
+	 * {@link #read} 按日期先后依次调用, 有状态的实现(如游标)可以据此逐日推进.
+	 */
+	public abstract static class Engine {
+		private final String name;
+
+		protected Engine(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * 从第一天开始之前调用, 有状态的实现在此复位
+		 *
+		 * @param firstEpochDay 第一天距 1970/1/1 的天数
+		 */
+		protected void reset(int firstEpochDay) {
+		}
+
+		/**
+		 * 读出一天的各字段, 不提供的字段保持 {@link #UNSET} 或 null
+		 *
+		 * @param epochDay 距 1970/1/1 的天数
+		 * @param millis   当天中午(默认时区)的毫秒数
+		 * @param fields   整数字段, 下标为 LUNAR_YEAR 等
+		 * @param texts    文字字段, 下标为 TERM_STRING 等
+		 */
+		protected abstract void read(int epochDay, long millis, int[] fields, String[] texts);
+	}
+
+	/**
+	 * 一个实现的对照结果
+	 */
+	public final static class Result {
+		private final String name;
+		private int mismatchCount;
+		private int maskedCount;
+		private final List<String> mismatches = new ArrayList<String>();
+		private double daysPerSecond;
+
+		Result(String name) {
+			this.name = name;
+		}
+
+		public String getName() {
+			return name;
+		}
+
+		/**
+		 * 有字段不一致的天数
+		 */
+		public int getMismatchCount() {
+			return mismatchCount;
+		}
+
+		/**
+		 * 因有意改变的行为而跳过部分字段的天数
+		 */
+		public int getMaskedCount() {
+			return maskedCount;
+		}
+
+		/**
+		 * 前若干个不一致的明细
+		 */
+		public List<String> getMismatches() {
+			return mismatches;
+		}
+
+		/**
+		 * 每秒读出的天数
+		 */
+		public double getDaysPerSecond() {
+			return daysPerSecond;
+		}
+	}
+
+	private final int firstEpochDay;
+	private final int lastEpochDay;
+	private final long[] millis;
+
+	/**
+	 * @param firstEpochDay 第一天距 1970/1/1 的天数
+	 * @param lastEpochDay  最后一天(含)距 1970/1/1 的天数
+	 */
+	public LunarDifferential(int firstEpochDay, int lastEpochDay) {
+		this.firstEpochDay = firstEpochDay;
+		this.lastEpochDay = lastEpochDay;
+		// 按默认时区取每天中午, 避开夏令时切换, 并且不计入测量时间
+		millis = new long[lastEpochDay - firstEpochDay + 1];
+		int date = Lunar.civilFromDays(firstEpochDay);
+		Calendar cal = new GregorianCalendar(date >> 9, (date >> 5 & 0xf) - 1, date & 0x1f, 12, 0, 0);
+		for (int i = 0; i < millis.length; i++) {
+			millis[i] = cal.getTimeInMillis();
+			cal.add(Calendar.DAY_OF_MONTH, 1);
+		}
+	}
+
+	/**
+	 * 1900/1/31 (农历1900年正月初一, 原始数据表的起点) ~ 2100/12/31
+	 */
+	public static LunarDifferential ofLegacyRange() {
+		return new LunarDifferential(Lunar.daysFromCivil(1900, 1, 31), Lunar.daysFromCivil(2100, 12, 31));
+	}
+
+	public int getDayCount() {
+		return millis.length;
+	}
+
+	/**
+	 * 逐日与参照实现比较
+	 *
+	 * @param reference 参照实现
+	 * @param candidate 被对照的实现
+	 * @return 对照结果, 尚未测量吞吐量
+	 */
+	public Result compare(Engine reference, Engine candidate) {
+		Result result = new Result(candidate.getName());
+		int[] expected = new int[INT_FIELD_COUNT];
+		int[] actual = new int[INT_FIELD_COUNT];
+		String[] expectedTexts = new String[TEXT_FIELD_COUNT];
+		String[] actualTexts = new String[TEXT_FIELD_COUNT];
+		boolean[] maskedFields = new boolean[INT_FIELD_COUNT];
+		boolean[] maskedTexts = new boolean[TEXT_FIELD_COUNT];
+		StringBuilder sb = new StringBuilder();
+		reference.reset(firstEpochDay);
+		candidate.reset(firstEpochDay);
+		for (int i = 0; i < millis.length; i++) {
+			int epochDay = firstEpochDay + i;
+			LunarDifferential.clear(expected, expectedTexts);
+			LunarDifferential.clear(actual, actualTexts);
+			reference.read(epochDay, millis[i], expected, expectedTexts);
+			candidate.read(epochDay, millis[i], actual, actualTexts);
+			if (LunarDifferential.mask(epochDay, millis[i], expected, maskedFields, maskedTexts)) {
+				result.maskedCount++;
+			}
+
+			sb.setLength(0);
+			for (int f = 0; f < INT_FIELD_COUNT; f++) {
+				if (actual[f] == UNSET || expected[f] == UNSET || actual[f] == expected[f] || maskedFields[f]) {
+					continue;
+				}
+				// 原始实现在初一时不计算当月天数, 该值不可信
+				if (f == MAX_DAY_IN_MONTH && expected[LUNAR_DAY] == 1) {
+					continue;
+				}
+				sb.append(' ').append(INT_FIELD_NAMES[f]).append('=').append(actual[f])
+						.append(" (").append(expected[f]).append(')');
+			}
+			for (int f = 0; f < TEXT_FIELD_COUNT; f++) {
+				if (actualTexts[f] == null || expectedTexts[f] == null || actualTexts[f].equals(expectedTexts[f])
+						|| maskedTexts[f]) {
+					continue;
+				}
+				sb.append(' ').append(TEXT_FIELD_NAMES[f]).append('=').append(actualTexts[f])
+						.append(" (").append(expectedTexts[f]).append(')');
+			}
+			if (sb.length() > 0) {
+				if (result.mismatchCount++ < MAX_RECORDED_MISMATCHES) {
+					int date = Lunar.civilFromDays(epochDay);
+					result.mismatches.add((date >> 9) + "-" + (date >> 5 & 0xf) + "-" + (date & 0x1f) + ":" + sb);
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * 测量吞吐量: 把全部日期读若干遍
+	 *
+	 * @param engine 实现
+	 * @param rounds 遍数
+	 * @return 每秒读出的天数
+	 */
+	public double measure(Engine engine, int rounds) {
+		int[] fields = new int[INT_FIELD_COUNT];
+		String[] texts = new String[TEXT_FIELD_COUNT];
+		long checksum = 0;
+		long start = System.nanoTime();
+		for (int r = 0; r < rounds; r++) {
+			engine.reset(firstEpochDay);
+			for (int i = 0; i < millis.length; i++) {
+				engine.read(firstEpochDay + i, millis[i], fields, texts);
+				checksum += fields[LUNAR_DAY] + fields[TIANAN_D];
+			}
+		}
+		long elapsed = System.nanoTime() - start;
+		if (checksum == 42) {
+			// 防止读取被优化掉
+			System.out.print("");
+		}
+		return (double) rounds * millis.length * 1e9 / elapsed;
+	}
+
+	/**
+	 * 对照并测量全部实现
+	 *
+	 * @param reference  参照实现, 也会测量吞吐量
+	 * @param candidates 被对照的实现
+	 * @param rounds     测量吞吐量时的遍数, 另有一遍预热
+	 * @return 参照实现在前, 之后按 candidates 的顺序
+	 */
+	public List<Result> run(Engine reference, Engine[] candidates, int rounds) {
+		List<Result> results = new ArrayList<Result>(candidates.length + 1);
+		results.add(new Result(reference.getName()));
+		for (Engine candidate : candidates) {
+			results.add(compare(reference, candidate));
+		}
+		for (int i = 0; i <= candidates.length; i++) {
+			Engine engine = i == 0 ? reference : candidates[i - 1];
+			measure(engine, 1);
+			results.get(i).daysPerSecond = measure(engine, rounds);
+		}
+		return results;
+	}
+
+	/**
+	 * 参照实现: 原始的 Lunar
+	 */
+	public static Engine legacyEngine() {
+		return new Engine("LegacyLunar") {
+			@Override
+			protected void read(int epochDay, long millis, int[] fields, String[] texts) {
+				LegacyLunar lunar = new LegacyLunar(millis);
+				fields[LUNAR_YEAR] = lunar.getLunarYear();
+				fields[LUNAR_MONTH] = lunar.getLunarMonth();
+				fields[LUNAR_DAY] = lunar.getLunarDay();
+				fields[IS_LEAP] = lunar.isLeap() ? 1 : 0;
+				fields[IS_LEAP_YEAR] = lunar.isLeapYear() ? 1 : 0;
+				fields[MAX_DAY_IN_MONTH] = lunar.getMaxDayInMonth();
+				fields[SOLAR_YEAR] = lunar.getSolarYear();
+				fields[SOLAR_MONTH] = lunar.getSolarMonth();
+				fields[SOLAR_DAY] = lunar.getSolarDay();
+				fields[DAY_OF_WEEK] = lunar.getDayOfWeek();
+				fields[TIANAN_Y] = lunar.getTiananY();
+				fields[DEQI_Y] = lunar.getDeqiY();
+				fields[TIANAN_M] = lunar.getTiananM();
+				fields[DEQI_M] = lunar.getDeqiM();
+				fields[TIANAN_D] = lunar.getTiananD();
+				fields[DEQI_D] = lunar.getDeqiD();
+				texts[TERM_STRING] = lunar.getTermString();
+				texts[LUNAR_DATE_STRING] = lunar.getLunarDateString();
+				texts[CYCLICAL_DATE_STRING] = lunar.getCyclicalDateString();
+				texts[ANIMAL_STRING] = lunar.getAnimalString();
+				fields[IS_S_FESTIVAL] = lunar.isSFestival() ? 1 : 0;
+				fields[IS_L_FESTIVAL] = lunar.isLFestival() ? 1 : 0;
+				fields[IS_HOLIDAY] = lunar.isHoliday() ? 1 : 0;
+				texts[S_FESTIVAL_NAME] = lunar.getSFestivalName();
+				texts[L_FESTIVAL_NAME] = lunar.getLFestivalName();
+				texts[DESCRIPTION] = lunar.getDescription();
+			}
+		};
+	}
+
+	/**
+	 * 当前的 Lunar, 按毫秒数(默认时区)构建
+	 */
+	public static Engine lunarEngine() {
+		return new Engine("Lunar(long)") {
+			@Override
+			protected void read(int epochDay, long millis, int[] fields, String[] texts) {
+				LunarDifferential.readLunar(new Lunar(millis), fields, texts);
+			}
+		};
+	}
+
+	/**
+	 * 当前的 Lunar, 按天数构建
+	 */
+	public static Engine lunarOfEpochDayEngine() {
+		return new Engine("Lunar.ofEpochDay") {
+			@Override
+			protected void read(int epochDay, long millis, int[] fields, String[] texts) {
+				LunarDifferential.readLunar(Lunar.ofEpochDay(epochDay), fields, texts);
+			}
+		};
+	}
+
+	/**
+	 * 逐日推进的 LunarCursor, 不提供闰年、星期和年月干支
+	 */
+	public static Engine cursorEngine() {
+		return new Engine("LunarCursor") {
+			private LunarCursor cursor;
+
+			@Override
+			protected void reset(int firstEpochDay) {
+				cursor = null;
+			}
+
+			@Override
+			protected void read(int epochDay, long millis, int[] fields, String[] texts) {
+				if (cursor == null) {
+					cursor = new LunarCursor(epochDay);
+				} else if (cursor.getEpochDay() + 1 == epochDay) {
+					cursor.next();
+				} else {
+					cursor.moveTo(epochDay);
+				}
+				fields[LUNAR_YEAR] = cursor.getLunarYear();
+				fields[LUNAR_MONTH] = cursor.getLunarMonth();
+				fields[LUNAR_DAY] = cursor.getLunarDay();
+				fields[IS_LEAP] = cursor.isLeap() ? 1 : 0;
+				fields[MAX_DAY_IN_MONTH] = cursor.getMaxDayInMonth();
+				fields[SOLAR_YEAR] = cursor.getSolarYear();
+				fields[SOLAR_MONTH] = cursor.getSolarMonth();
+				fields[SOLAR_DAY] = cursor.getSolarDay();
+				fields[TIANAN_D] = cursor.getCyclicalDay() % 10;
+				fields[DEQI_D] = cursor.getCyclicalDay() % 12;
+				texts[TERM_STRING] = cursor.getTermString();
+			}
+		};
+	}
+
+	/**
+	 * 只含农历年月日的 LunarDate
+	 */
+	public static Engine lunarDateEngine() {
+		return new Engine("LunarDate") {
+			@Override
+			protected void read(int epochDay, long millis, int[] fields, String[] texts) {
+				LunarDate date = LunarDate.ofEpochDay(epochDay);
+				fields[LUNAR_YEAR] = date.getYear();
+				fields[LUNAR_MONTH] = date.getMonth();
+				fields[LUNAR_DAY] = date.getDay();
+				fields[IS_LEAP] = date.isLeap() ? 1 : 0;
+				fields[MAX_DAY_IN_MONTH] = date.getMaxDayInMonth();
+			}
+		};
+	}
+
+	/**
+	 * 除参照实现外的全部内置实现
+	 */
+	public static Engine[] candidateEngines() {
+		return new Engine[]{
+				LunarDifferential.lunarEngine(),
+				LunarDifferential.lunarOfEpochDayEngine(),
+				LunarDifferential.cursorEngine(),
+				LunarDifferential.lunarDateEngine()
+		};
+	}
+
+	private static void readLunar(Lunar lunar, int[] fields, String[] texts) {
+		fields[LUNAR_YEAR] = lunar.getLunarYear();
+		fields[LUNAR_MONTH] = lunar.getLunarMonth();
+		fields[LUNAR_DAY] = lunar.getLunarDay();
+		fields[IS_LEAP] = lunar.isLeap() ? 1 : 0;
+		fields[IS_LEAP_YEAR] = lunar.isLeapYear() ? 1 : 0;
+		fields[MAX_DAY_IN_MONTH] = lunar.getMaxDayInMonth();
+		fields[SOLAR_YEAR] = lunar.getSolarYear();
+		fields[SOLAR_MONTH] = lunar.getSolarMonth();
+		fields[SOLAR_DAY] = lunar.getSolarDay();
+		fields[DAY_OF_WEEK] = lunar.getDayOfWeek();
+		fields[TIANAN_Y] = lunar.getTiananY();
+		fields[DEQI_Y] = lunar.getDeqiY();
+		fields[TIANAN_M] = lunar.getTiananM();
+		fields[DEQI_M] = lunar.getDeqiM();
+		fields[TIANAN_D] = lunar.getTiananD();
+		fields[DEQI_D] = lunar.getDeqiD();
+		texts[TERM_STRING] = lunar.getTermString();
+		texts[LUNAR_DATE_STRING] = lunar.getLunarDateString();
+		texts[CYCLICAL_DATE_STRING] = lunar.getCyclicalDateString();
+		texts[ANIMAL_STRING] = lunar.getAnimalString();
+		fields[IS_S_FESTIVAL] = lunar.isSFestival() ? 1 : 0;
+		fields[IS_L_FESTIVAL] = lunar.isLFestival() ? 1 : 0;
+		fields[IS_HOLIDAY] = lunar.isHoliday() ? 1 : 0;
+		texts[S_FESTIVAL_NAME] = lunar.getSFestivalName();
+		texts[L_FESTIVAL_NAME] = lunar.getLFestivalName();
+		texts[DESCRIPTION] = lunar.getDescription();
+	}
+
+	/**
+	 * 按 {@link #INTENTIONAL_CHANGES} 标记当天不比较的字段
+	 *
+	 * @return 是否有字段不比较
+	 */
+	private static boolean mask(int epochDay, long millis, int[] expected, boolean[] maskedFields,
+								boolean[] maskedTexts) {
+		Arrays.fill(maskedFields, false);
+		Arrays.fill(maskedTexts, false);
+		boolean masked = false;
+		for (IntentionalChange change : INTENTIONAL_CHANGES) {
+			if (change.appliesTo(epochDay, millis, expected)) {
+				for (int f : change.intFields) {
+					maskedFields[f] = true;
+				}
+				for (int f : change.textFields) {
+					maskedTexts[f] = true;
+				}
+				masked = true;
+			}
+		}
+		return masked;
+	}
+
+	/**
+	 * 原始实现的月周节日规则: 当月 WEEK_OF_MONTH 和 DAY_OF_WEEK 等于节日表中的周和星期
+	 */
+	private static boolean isLegacyWeekFestival(long millis) {
+		Calendar cal = Calendar.getInstance();
+		cal.setTimeInMillis(millis);
+		int month = cal.get(Calendar.MONTH) + 1;
+		int week = cal.get(Calendar.WEEK_OF_MONTH);
+		int dayOfWeek = cal.get(Calendar.DAY_OF_WEEK);
+		return week < 10 && dayOfWeek < 10 && Lunar.wFestivals[month * 100 + week * 10 + dayOfWeek] != null;
+	}
+
+	private static void clear(int[] fields, String[] texts) {
+		for (int i = 0; i < fields.length; i++) {
+			fields[i] = UNSET;
+		}
+		for (int i = 0; i < texts.length; i++) {
+			texts[i] = null;
+		}
+	}
+
+	/**
+	 * 输出对照结果和吞吐量
+	 */
+	public static String format(List<Result> results) {
+		StringBuilder sb = new StringBuilder();
+		for (Result result : results) {
+			sb.append(String.format(Locale.US, "%-18s %12.0f days/s  mismatches=%d  masked=%d%n",
+					result.getName(), result.getDaysPerSecond(), result.getMismatchCount(),
+					result.getMaskedCount()));
+			for (String mismatch : result.getMismatches()) {
+				sb.append("    ").append(mismatch).append(String.format("%n"));
+			}
+		}
+		return sb.toString();
+	}
+
+	public static void main(String[] args) {
+		int rounds = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+		LunarDifferential differential = LunarDifferential.ofLegacyRange();
+		List<Result> results = differential.run(LunarDifferential.legacyEngine(),
+				LunarDifferential.candidateEngines(), rounds);
+		System.out.println(differential.getDayCount() + " days");
+		System.out.print(LunarDifferential.format(results));
+	}
+}
@@ -0,0 +1,24 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LunarDifferentialTest {
+
+	@Test
+	public void allEnginesMatchLegacyFrom1900To2100() {
+		LunarDifferential differential = LunarDifferential.ofLegacyRange();
+		assertTrue(differential.getDayCount() > 73000);
+		List<LunarDifferential.Result> results = differential.run(LunarDifferential.legacyEngine(),
+				LunarDifferential.candidateEngines(), 3);
+		String report = LunarDifferential.format(results);
+		System.out.print(report);
+		for (LunarDifferential.Result result : results) {
+			assertEquals(result.getName() + "\n" + report, 0, result.getMismatchCount());
+		}
+	}
+}
@@ -0,0 +1,150 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+/**
+ * 月周节日(星期日为0, 当月第几个星期几)和日期为0的农历节日(除夕)的查找结果
+ */
+public class LunarFestivalTest {
+
+	@Test
+	public void mothersDayIsSecondSundayOfMay() {
+		// 2015/5/10 为星期日
+		Lunar lunar = Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 5, 10));
+		assertTrue(lunar.isSFestival());
+		assertEquals("母亲节", lunar.getSFestivalName());
+		assertFalse(lunar.isHoliday());
+		// 上一周的星期日不是
+		assertEquals("", Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 5, 3)).getSFestivalName());
+	}
+
+	@Test
+	public void weekFestivalCountsNthWeekdayOfMonth() {
+		// 2015/7/1 为星期三, 第一个星期六是 7/4, 与1号所在周无关
+		assertEquals("合作节", Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 7, 4)).getSFestivalName());
+		assertEquals("", Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 7, 3)).getSFestivalName());
+		// 七月第三个星期日
+		assertEquals("被奴役国家周", Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 7, 19)).getSFestivalName());
+	}
+
+	@Test
+	public void weekFestivalIsJoinedToSolarFestival() {
+		// 2019/5/12 为星期日, 同时是护士节
+		Lunar lunar = Lunar.ofEpochDay(Lunar.daysFromCivil(2019, 5, 12));
+		assertEquals("护士节|母亲节", lunar.getSFestivalName());
+	}
+
+	@Test
+	public void newYearsEveIsLastDayOfTwelfthMonth() {
+		// 乙未年春节为 2015/2/19, 甲午年腊月为大月, 除夕为腊月三十
+		Lunar eve = Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 2, 18));
+		assertEquals(12, eve.getLunarMonth());
+		assertEquals(30, eve.getLunarDay());
+		assertTrue(eve.isLFestival());
+		assertEquals("除夕", eve.getLFestivalName());
+		assertTrue(eve.isHoliday());
+		assertEquals("华严菩萨诞", Lunar.ofEpochDay(Lunar.daysFromCivil(2015, 2, 17)).getLFestivalName());
+	}
+
+	@Test
+	public void newYearsEveFallsOnEveOfEverySpringFestival() {
+		for (int year = Lunar.MIN_YEAR + 1; year <= Lunar.MAX_YEAR; year++) {
+			int eve = Lunar.toSolar(year, 1, false, 1) - 1;
+			Lunar lunar = Lunar.ofEpochDay(eve);
+			assertEquals(String.valueOf(year), 12, lunar.getLunarMonth());
+			assertEquals(String.valueOf(year), lunar.getMaxDayInMonth(), lunar.getLunarDay());
+			// 腊月为小月时除夕是廿九, 与同一天的华严菩萨诞连接
+			assertEquals(String.valueOf(year), lunar.getLunarDay() == 29 ? "华严菩萨诞|除夕" : "除夕",
+					lunar.getLFestivalName());
+			assertTrue(String.valueOf(year), lunar.isHoliday());
+		}
+	}
+
+	@Test
+	public void newYearsEveJoinsTwelfthMonthTwentyNinthInShortMonth() {
+		// 甲辰年腊月为小月, 乙巳年春节为 2025/1/29, 除夕为腊月廿九
+		int day = Lunar.daysFromCivil(2025, 1, 28);
+		Lunar eve = Lunar.ofEpochDay(day);
+		assertEquals(12, eve.getLunarMonth());
+		assertEquals(29, eve.getLunarDay());
+		assertEquals(29, eve.getMaxDayInMonth());
+		assertTrue(eve.isLFestival());
+		assertEquals("华严菩萨诞|除夕", eve.getLFestivalName());
+		assertTrue(eve.isHoliday());
+
+		// 索引中两个节日各为一个事件, 除夕仍是放假日
+		LunarEventIndex.Event first = LunarEventIndex.nextEvent(day, LunarEventIndex.LUNAR_FESTIVAL);
+		LunarEventIndex.Event last = LunarEventIndex.previousEvent(day, LunarEventIndex.LUNAR_FESTIVAL);
+		assertEquals(day, first.getEpochDay());
+		assertEquals(day, last.getEpochDay());
+		assertTrue(first != last);
+		LunarEventIndex.Event newYearsEve = "除夕".equals(first.getName()) ? first : last;
+		assertEquals("除夕", newYearsEve.getName());
+		assertTrue(newYearsEve.isHoliday());
+		assertEquals("华严菩萨诞", (newYearsEve == first ? last : first).getName());
+	}
+
+	@Test
+	public void eventIndexAgrees() {
+		LunarEventIndex.Event eve = LunarEventIndex.nextEvent(Lunar.daysFromCivil(2015, 2, 18),
+				LunarEventIndex.LUNAR_FESTIVAL);
+		assertEquals(Lunar.daysFromCivil(2015, 2, 18), eve.getEpochDay());
+		assertEquals("除夕", eve.getName());
+		assertTrue(eve.isHoliday());
+
+		LunarEventIndex.Event mothersDay = LunarEventIndex.nextEvent(Lunar.daysFromCivil(2015, 5, 1),
+				LunarEventIndex.WEEK_FESTIVAL);
+		assertEquals(Lunar.daysFromCivil(2015, 5, 10), mothersDay.getEpochDay());
+		assertEquals("母亲节", mothersDay.getName());
+	}
+
+	@Test
+	public void festivalsAreFoundOnceWhenSharedAcrossThreads() throws Exception {
+		// 母亲节(名称靠拼接得到), 除夕, 以及 1875 年前说明只有 "年" 的日子
+		int[] days = {Lunar.daysFromCivil(2015, 5, 10), Lunar.daysFromCivil(2015, 2, 18),
+				Lunar.daysFromCivil(1800, 1, 1)};
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		for (int day : days) {
+			String expected = describe(Lunar.ofEpochDay(day));
+			final Lunar shared = new LunarCache(16).get(day);
+			final String[] results = new String[threads];
+			Thread[] readers = new Thread[threads];
+			// 持有实例锁直到所有线程都已读到 isFinded 为 false 并在 findFestival 上等锁
+			synchronized (shared) {
+				for (int i = 0; i < threads; i++) {
+					final int index = i;
+					readers[i] = new Thread(new Runnable() {
+						@Override
+						public void run() {
+							results[index] = describe(shared);
+						}
+					});
+					readers[i].start();
+				}
+				for (Thread reader : readers) {
+					long deadline = System.currentTimeMillis() + 10000;
+					while (reader.getState() != Thread.State.BLOCKED) {
+						assertTrue("reader should block on findFestival", System.currentTimeMillis() < deadline);
+						Thread.sleep(1);
+					}
+				}
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+			for (String result : results) {
+				assertEquals(expected, result);
+			}
+			assertEquals(expected, describe(shared));
+		}
+	}
+
+	private static String describe(Lunar lunar) {
+		return lunar.getSFestivalName() + "/" + lunar.getLFestivalName() + "/" + lunar.isSFestival() + "/"
+				+ lunar.isLFestival() + "/" + lunar.isHoliday() + "/" + lunar.getDescription();
+	}
+}
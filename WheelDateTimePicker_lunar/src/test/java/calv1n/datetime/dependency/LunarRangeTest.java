@@ -0,0 +1,87 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class LunarRangeTest {
+	/**
+	 * 1600年正月初一 ~ 2400年腊月底
+	 */
+	private static final int FIRST_DAY = Lunar.toSolar(Lunar.MIN_YEAR, 1, false, 1);
+	private static final int LAST_DAY = Lunar.toSolar(Lunar.MAX_YEAR, 12, false, 1)
+			+ LunarDate.of(Lunar.MAX_YEAR, 12, false, 1).getMaxDayInMonth() - 1;
+	/**
+	 * 2015年五月廿七, 不在农历年首
+	 */
+	private static final int MID_YEAR = Lunar.toSolar(2015, 5, false, 27);
+
+	@Test
+	public void sequentialAtThreshold() {
+		assertMatchesSequential(MID_YEAR, Lunar.PARALLEL_THRESHOLD);
+		assertMatchesSequential(MID_YEAR, 1);
+		assertMatchesSequential(MID_YEAR, 0);
+	}
+
+	@Test
+	public void parallelJustAboveThreshold() {
+		assertMatchesSequential(MID_YEAR, Lunar.PARALLEL_THRESHOLD + 1);
+		// 起点在农历年首, 拆分点可能与起点重合
+		assertMatchesSequential(Lunar.toSolar(2015, 1, false, 1), Lunar.PARALLEL_THRESHOLD + 1);
+	}
+
+	@Test
+	public void parallelOverWholeTable() {
+		assertMatchesSequential(FIRST_DAY, LAST_DAY - FIRST_DAY + 1);
+	}
+
+	@Test
+	public void rejectsShortArraysAndDaysOutsideTable() {
+		try {
+			Lunar.convertRange(MID_YEAR, 10, new int[9]);
+			fail("输出数组长度不足");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			Lunar.convertRange(MID_YEAR, 10, new int[10], new byte[10], new byte[9]);
+			fail("节气数组长度不足");
+		} catch (IllegalArgumentException expected) {
+		}
+		try {
+			Lunar.convertRange(LAST_DAY - 10, 20, new int[20]);
+			fail("超出数据表范围");
+		} catch (IllegalArgumentException expected) {
+		}
+	}
+
+	/**
+	 * convertRange 的结果应与单线程逐日转换一致, 农历日期还应与逐日单独查找一致
+	 */
+	private static void assertMatchesSequential(int start, int count) {
+		int[] packed = new int[count];
+		byte[] cyclical = new byte[count];
+		byte[] terms = new byte[count];
+		Lunar.convertRange(start, count, packed, cyclical, terms);
+
+		int[] expectedPacked = new int[count];
+		byte[] expectedCyclical = new byte[count];
+		byte[] expectedTerms = new byte[count];
+		Lunar.convertDays(start, count, 0, expectedPacked, expectedCyclical, expectedTerms);
+
+		assertArrayEquals(expectedPacked, packed);
+		assertEquals(Arrays.toString(expectedCyclical), Arrays.toString(cyclical));
+		assertEquals(Arrays.toString(expectedTerms), Arrays.toString(terms));
+		for (int i = 0; i < count; i++) {
+			assertEquals("epochDay " + (start + i), Lunar.packLunarDate(start + i), packed[i]);
+		}
+
+		// 只要农历日期的重载
+		int[] packedOnly = new int[count];
+		Lunar.convertRange(start, count, packedOnly);
+		assertArrayEquals(expectedPacked, packedOnly);
+	}
+}
@@ -0,0 +1,164 @@
+package calv1n.datetime.dependency;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class LunarRecurrenceTest {
+	/**
+	 * 1600年正月初一 ~ 2400年腊月底
+	 */
+	private static final int FIRST_DAY = Lunar.toSolar(Lunar.MIN_YEAR, 1, false, 1);
+	private static final int LAST_DAY = Lunar.toSolar(Lunar.MAX_YEAR, 12, false, 1)
+			+ LunarDate.of(Lunar.MAX_YEAR, 12, false, 1).getMaxDayInMonth() - 1;
+
+	@Test
+	public void leapMonthEventOnlyInLeapYearsWhenExact() {
+		// 闰六月初一: 2017 年和 2025 年有闰六月
+		LunarRecurrence recurrence = new LunarRecurrence(6, true, 1,
+				LunarRecurrence.LEAP_MONTH_EXACT, LunarRecurrence.MISSING_DAY_LAST_DAY);
+		int[] out = new int[2];
+		assertEquals(2, recurrence.next(Lunar.daysFromCivil(2017, 1, 1), out));
+		assertEquals(Lunar.daysFromCivil(2017, 7, 23), out[0]);
+		assertEquals(Lunar.daysFromCivil(2025, 7, 25), out[1]);
+	}
+
+	@Test
+	public void leapMonthEventFallsBackToRegularMonth() {
+		LunarRecurrence recurrence = new LunarRecurrence(6, true, 1);
+		int[] out = new int[2];
+		assertEquals(2, recurrence.next(Lunar.daysFromCivil(2017, 1, 1), out));
+		// 2017 闰六月初一, 2018 没有闰六月, 改在六月初一
+		assertEquals(Lunar.daysFromCivil(2017, 7, 23), out[0]);
+		assertEquals(Lunar.daysFromCivil(2018, 7, 13), out[1]);
+	}
+
+	@Test
+	public void regularMonthEventRepeatsInLeapMonthWhenBoth() {
+		LunarRecurrence recurrence = new LunarRecurrence(6, false, 1,
+				LunarRecurrence.LEAP_MONTH_BOTH, LunarRecurrence.MISSING_DAY_LAST_DAY);
+		int[] out = new int[3];
+		assertEquals(3, recurrence.next(Lunar.daysFromCivil(2017, 1, 1), out));
+		// 2017 六月初一和闰六月初一, 然后是 2018 六月初一
+		assertEquals(Lunar.daysFromCivil(2017, 6, 24), out[0]);
+		assertEquals(Lunar.daysFromCivil(2017, 7, 23), out[1]);
+		assertEquals(Lunar.daysFromCivil(2018, 7, 13), out[2]);
+
+		// 默认策略下平月事件不在闰月发生
+		int[] regular = new int[2];
+		assertEquals(2, new LunarRecurrence(6, false, 1).next(Lunar.daysFromCivil(2017, 1, 1), regular));
+		assertEquals(Lunar.daysFromCivil(2017, 6, 24), regular[0]);
+		assertEquals(Lunar.daysFromCivil(2018, 7, 13), regular[1]);
+	}
+
+	@Test
+	public void startsFromGivenDayInclusive() {
+		LunarRecurrence recurrence = new LunarRecurrence(6, false, 1,
+				LunarRecurrence.LEAP_MONTH_BOTH, LunarRecurrence.MISSING_DAY_LAST_DAY);
+		int[] out = new int[1];
+		// 从 2017 闰六月初一当天开始, 跳过同年的六月初一
+		assertEquals(1, recurrence.next(Lunar.daysFromCivil(2017, 7, 23), out));
+		assertEquals(Lunar.daysFromCivil(2017, 7, 23), out[0]);
+		assertEquals(1, recurrence.next(Lunar.daysFromCivil(2017, 7, 24), out));
+		assertEquals(Lunar.daysFromCivil(2018, 7, 13), out[0]);
+	}
+
+	@Test
+	public void stopsAtEndOfTable() {
+		LunarRecurrence recurrence = new LunarRecurrence(1, false, 1);
+		LunarRecurrence.Occurrences occurrences = recurrence.iterator(LAST_DAY);
+		assertFalse(occurrences.hasNext());
+		// 早于数据表时从 1600 年开始
+		assertEquals(FIRST_DAY, recurrence.iterator(FIRST_DAY - 1000).nextEpochDay());
+	}
+
+	@Test
+	public void matchesDayByDayScanForAllMonthsAndPolicies() {
+		List<int[]> months = scanMonths();
+		int[] days = {1, 15, 29, 30};
+		for (int month = 1; month <= 12; month++) {
+			for (int leap = 0; leap < 2; leap++) {
+				for (int day : days) {
+					for (int leapPolicy = 0; leapPolicy <= 2; leapPolicy++) {
+						for (int missingPolicy = 0; missingPolicy <= 2; missingPolicy++) {
+							LunarRecurrence recurrence = new LunarRecurrence(month, leap == 1, day,
+									leapPolicy, missingPolicy);
+							List<Integer> expected = expected(months, month, leap == 1, day,
+									leapPolicy, missingPolicy);
+							List<Integer> actual = new ArrayList<Integer>();
+							LunarRecurrence.Occurrences occurrences = recurrence.iterator(FIRST_DAY);
+							while (occurrences.hasNext()) {
+								actual.add(occurrences.nextEpochDay());
+							}
+							assertEquals(month + (leap == 1 ? "闰" : "") + "/" + day + " " + leapPolicy
+									+ "/" + missingPolicy, expected, actual);
+						}
+					}
+				}
+			}
+		}
+	}
+
+	/**
+	 * 逐日扫描整张数据表, 记录每个农历月: {年, 月, 是否闰月, 初一, 天数}
+	 */
+	private static List<int[]> scanMonths() {
+		List<int[]> months = new ArrayList<int[]>();
+		LunarCursor cursor = new LunarCursor(FIRST_DAY);
+		for (int day = FIRST_DAY; ; ) {
+			if (cursor.getLunarDay() == 1) {
+				months.add(new int[]{cursor.getLunarYear(), cursor.getLunarMonth(), cursor.isLeap() ? 1 : 0,
+						day, cursor.getMaxDayInMonth()});
+			}
+			if (++day > LAST_DAY) {
+				break;
+			}
+			cursor.next();
+		}
+		return months;
+	}
+
+	private static List<Integer> expected(List<int[]> months, int month, boolean isLeap, int day,
+										  int leapPolicy, int missingPolicy) {
+		List<Integer> result = new ArrayList<Integer>();
+		for (int i = 0; i < months.size(); i++) {
+			int[] m = months.get(i);
+			if (m[1] != month || m[2] != 0) {
+				continue;
+			}
+			// 同名闰月紧跟在平月之后
+			int[] leapMonth = i + 1 < months.size() && months.get(i + 1)[1] == month && months.get(i + 1)[2] == 1
+					? months.get(i + 1) : null;
+			if (isLeap) {
+				if (leapMonth != null) {
+					resolve(leapMonth, day, missingPolicy, result);
+				} else if (leapPolicy != LunarRecurrence.LEAP_MONTH_EXACT) {
+					resolve(m, day, missingPolicy, result);
+				}
+			} else {
+				resolve(m, day, missingPolicy, result);
+				if (leapMonth != null && leapPolicy == LunarRecurrence.LEAP_MONTH_BOTH) {
+					resolve(leapMonth, day, missingPolicy, result);
+				}
+			}
+		}
+		return result;
+	}
+
+	private static void resolve(int[] month, int day, int missingPolicy, List<Integer> result) {
+		int start = month[3];
+		int length = month[4];
+		if (day <= length) {
+			result.add(start + day - 1);
+		} else if (missingPolicy == LunarRecurrence.MISSING_DAY_LAST_DAY) {
+			result.add(start + length - 1);
+		} else if (missingPolicy == LunarRecurrence.MISSING_DAY_NEXT_DAY) {
+			// 下个月初一
+			result.add(start + length);
+		}
+	}
+}
@@ -0,0 +1,217 @@
+#!/usr/bin/env python3
+# -*- coding: utf-8 -*-
+"""
+生成 Lunar 扩展农历数据表 lunar_ext.dat (1600-1899, 2101-2400).
+
+1900-2100 年仍以 Lunar.lunarInfo 为准, 本脚本只生成其两侧的年份.
+按现行规则推算: 定朔定气, 以冬至所在月为十一月, 岁中十三个月时以第一个无中气的月为闰月;
+1929 年以前用北京地方平时(东经116°25'), 之后用东八区标准时.
+日月位置采用 Meeus《Astronomical Algorithms》第25章(太阳)和第49章(朔)的算法, ΔT 取 Espenak-Meeus 多项式.
+以同样算法推算 1900-2100 年, 与 lunarInfo 相比只有 6 年不同, 均为合朔或中气贴近子夜的月份.
+1645 年以前的历书(大统历)用平气, 与本表会有出入.
+
+文件格式(大端序):
+    int   0x4C554E52 ("LUNR")
+    short 分段数
+    每段: short 起始年, short 年数, int 起始年正月初一距1970/1/1的天数, int 结束(下一段起始)天数
+    每年 3 字节, 共 24 bit:
+        bit 0-11  十二月..正月 是否大月(正月在 bit 11)
+        bit 12-15 闰月月份, 0 为无闰月
+        bit 16    闰月是否大月
+
+用法: python3 tools/gen_lunar_data.py <输出文件>
+"""
+import bisect
+import math
+import struct
+import sys
+
+CHUNK_YEARS = 50
+RANGES = [(1600, 1899), (2101, 2400)]
+
+
+def delta_t(y):
+    """Espenak-Meeus ΔT 多项式, 单位秒"""
+    if y < 1700:
+        t = y - 1600
+        return 120 - 0.9808 * t - 0.01532 * t ** 2 + t ** 3 / 7129
+    if y < 1800:
+        t = y - 1700
+        return 8.83 + 0.1603 * t - 0.0059285 * t ** 2 + 0.00013336 * t ** 3 - t ** 4 / 1174000
+    if y < 1860:
+        t = y - 1800
+        return (13.72 - 0.332447 * t + 0.0068612 * t ** 2 + 0.0041116 * t ** 3 - 0.00037436 * t ** 4
+                + 0.0000121272 * t ** 5 - 0.0000001699 * t ** 6 + 0.000000000875 * t ** 7)
+    if y < 1900:
+        t = y - 1860
+        return 7.62 + 0.5737 * t - 0.251754 * t ** 2 + 0.01680668 * t ** 3 - 0.0004473624 * t ** 4 + t ** 5 / 233174
+    if y < 1920:
+        t = y - 1900
+        return -2.79 + 1.494119 * t - 0.0598939 * t ** 2 + 0.0061966 * t ** 3 - 0.000197 * t ** 4
+    if y < 1941:
+        t = y - 1920
+        return 21.20 + 0.84493 * t - 0.076100 * t ** 2 + 0.0020936 * t ** 3
+    if y < 1961:
+        t = y - 1950
+        return 29.07 + 0.407 * t - t ** 2 / 233 + t ** 3 / 2547
+    if y < 1986:
+        t = y - 1975
+        return 45.45 + 1.067 * t - t ** 2 / 260 - t ** 3 / 718
+    if y < 2005:
+        t = y - 2000
+        return (63.86 + 0.3345 * t - 0.060374 * t ** 2 + 0.0017275 * t ** 3 + 0.000651814 * t ** 4
+                + 0.00002373599 * t ** 5)
+    if y < 2050:
+        t = y - 2000
+        return 62.92 + 0.32217 * t + 0.005589 * t ** 2
+    u = (y - 1820) / 100
+    if y < 2150:
+        return -20 + 32 * u * u - 0.5628 * (2150 - y)
+    return -20 + 32 * u * u
+
+
+def sun_longitude(jde):
+    """太阳视黄经(度), Meeus 第25章"""
+    t = (jde - 2451545) / 36525
+    l0 = 280.46646 + 36000.76983 * t + 0.0003032 * t * t
+    m = math.radians(357.52911 + 35999.05029 * t - 0.0001537 * t * t)
+    c = ((1.914602 - 0.004817 * t - 0.000014 * t * t) * math.sin(m)
+         + (0.019993 - 0.000101 * t) * math.sin(2 * m) + 0.000289 * math.sin(3 * m))
+    omega = math.radians(125.04 - 1934.136 * t)
+    return (l0 + c - 0.00569 - 0.00478 * math.sin(omega)) % 360
+
+
+def solar_term_jde(year, longitude):
+    """太阳视黄经到达 longitude 的时刻(力学时儒略日)"""
+    jde = 2451545 + (year - 2000) * 365.2422 + ((longitude - 280) % 360) * 365.2422 / 360
+    for _ in range(20):
+        d = (longitude - sun_longitude(jde) + 180) % 360 - 180
+        jde += d * 365.2422 / 360
+        if abs(d) < 1e-8:
+            break
+    return jde
+
+
+# Meeus 第49章 朔的周期项: 系数, E的幂, M, M', F, Ω
+NEW_MOON_TERMS = [
+    (-0.40720, 0, 0, 1, 0, 0), (0.17241, 1, 1, 0, 0, 0), (0.01608, 0, 0, 2, 0, 0),
+    (0.01039, 0, 0, 0, 2, 0), (0.00739, 1, -1, 1, 0, 0), (-0.00514, 1, 1, 1, 0, 0),
+    (0.00208, 2, 2, 0, 0, 0), (-0.00111, 0, 0, 1, -2, 0), (-0.00057, 0, 0, 1, 2, 0),
+    (0.00056, 1, 1, 2, 0, 0), (-0.00042, 0, 0, 3, 0, 0), (0.00042, 1, 1, 0, 2, 0),
+    (0.00038, 1, 1, 0, -2, 0), (-0.00024, 1, -1, 2, 0, 0), (-0.00017, 0, 0, 0, 0, 1),
+    (-0.00007, 0, 2, 1, 0, 0), (0.00004, 0, 0, 2, -2, 0), (0.00004, 0, 3, 0, 0, 0),
+    (0.00003, 0, 1, 1, -2, 0), (0.00003, 0, 0, 2, 2, 0), (-0.00003, 0, 1, 1, 2, 0),
+    (0.00003, 0, -1, 1, 2, 0), (-0.00002, 0, -1, 1, -2, 0), (-0.00002, 0, 1, 3, 0, 0),
+    (0.00002, 0, 0, 4, 0, 0),
+]
+# 行星摄动项: 初值, 每朔增量, 系数
+PLANETARY_TERMS = [
+    (299.77, 0.107408, 0.000325), (251.88, 0.016321, 0.000165), (251.83, 26.651886, 0.000164),
+    (349.42, 36.412478, 0.000126), (84.66, 18.206239, 0.000110), (141.74, 53.303771, 0.000062),
+    (207.14, 2.453732, 0.000060), (154.84, 7.306860, 0.000056), (34.52, 27.261239, 0.000047),
+    (207.19, 0.121824, 0.000042), (291.34, 1.844379, 0.000040), (161.72, 24.198154, 0.000037),
+    (239.56, 25.513099, 0.000035), (331.55, 3.592518, 0.000023),
+]
+
+
+def new_moon_jde(k):
+    """第 k 个朔(k=0 为2000年1月6日)的时刻(力学时儒略日), Meeus 第49章"""
+    t = k / 1236.85
+    jde = 2451550.09766 + 29.530588861 * k + 0.00015437 * t ** 2 - 0.000000150 * t ** 3 + 0.00000000073 * t ** 4
+    m = math.radians(2.5534 + 29.10535670 * k - 0.0000014 * t ** 2 - 0.00000011 * t ** 3)
+    mp = math.radians(201.5643 + 385.81693528 * k + 0.0107582 * t ** 2 + 0.00001238 * t ** 3 - 0.000000058 * t ** 4)
+    f = math.radians(160.7108 + 390.67050284 * k - 0.0016118 * t ** 2 - 0.00000227 * t ** 3 + 0.000000011 * t ** 4)
+    omega = math.radians(124.7746 - 1.56375588 * k + 0.0020672 * t ** 2 + 0.00000215 * t ** 3)
+    e = 1 - 0.002516 * t - 0.0000074 * t ** 2
+    for c, pe, cm, cmp, cf, co in NEW_MOON_TERMS:
+        jde += c * e ** pe * math.sin(cm * m + cmp * mp + cf * f + co * omega)
+    for i, (a0, a1, c) in enumerate(PLANETARY_TERMS):
+        a = a0 + a1 * k - (0.009173 * t ** 2 if i == 0 else 0)
+        jde += c * math.sin(math.radians(a))
+    return jde
+
+
+def local_epoch_day(jde):
+    """力学时儒略日 -> 历法所用地方时的日期(距1970/1/1的天数)"""
+    year = 2000 + (jde - 2451545) / 365.25
+    ut = jde - delta_t(year) / 86400
+    offset = 8 / 24 if year >= 1929 else (7 + 45 / 60 + 40 / 3600) / 24
+    return math.floor(ut + offset - 2440587.5)
+
+
+def lunar_years(first_year, last_year):
+    """推算农历年, 返回 {年份: (正月初一, [正月..十二月天数], 闰月, 闰月天数)}"""
+    k0 = math.floor((first_year - 2001) * 12.3685) - 2
+    k1 = math.floor((last_year + 2 - 2000) * 12.3685) + 2
+    new_moons = [local_epoch_day(new_moon_jde(k)) for k in range(k0, k1)]
+    major_terms = sorted(set(local_epoch_day(solar_term_jde(y, (270 + 30 * i) % 360))
+                             for y in range(first_year - 2, last_year + 3) for i in range(12)))
+
+    # 逐岁(冬至所在月至下一冬至所在月)排月
+    months = []
+    for y in range(first_year - 1, last_year + 1):
+        first = bisect.bisect_right(new_moons, local_epoch_day(solar_term_jde(y, 270))) - 1
+        end = bisect.bisect_right(new_moons, local_epoch_day(solar_term_jde(y + 1, 270))) - 1
+        leap = -1
+        if end - first == 13:
+            for i in range(first + 1, end):
+                j = bisect.bisect_left(major_terms, new_moons[i])
+                if j >= len(major_terms) or major_terms[j] >= new_moons[i + 1]:
+                    leap = i
+                    break
+        label = 10
+        for i in range(first, end):
+            if i == leap:
+                months.append((new_moons[i], new_moons[i + 1] - new_moons[i], label, True))
+            else:
+                label = label % 12 + 1
+                months.append((new_moons[i], new_moons[i + 1] - new_moons[i], label, False))
+
+    years = {}
+    year = first_year - 1
+    for start, days, month, is_leap in months:
+        if month == 1 and not is_leap:
+            year += 1
+            years[year] = [start, {}, 0, 0]
+        if year not in years:
+            continue
+        if is_leap:
+            years[year][2] = month
+            years[year][3] = days
+        else:
+            years[year][1][month] = days
+    return dict((y, (v[0], [v[1][m] for m in range(1, 13)], v[2], v[3]))
+                for y, v in years.items() if first_year <= y <= last_year)
+
+
+def encode(months, leap_month, leap_days):
+    info = 0
+    for m in range(1, 13):
+        if months[m - 1] == 30:
+            info |= 1 << (12 - m)
+    info |= leap_month << 12
+    if leap_days == 30:
+        info |= 1 << 16
+    return info
+
+
+def main(path):
+    chunks = []
+    for first, last in RANGES:
+        years = lunar_years(first, last)
+        for y in range(first, last + 1, CHUNK_YEARS):
+            n = min(CHUNK_YEARS, last + 1 - y)
+            records = [encode(*years[i][1:]) for i in range(y, y + n)]
+            tail = years[y + n - 1]
+            chunks.append((y, n, years[y][0], tail[0] + sum(tail[1]) + tail[3], records))
+    with open(path, 'wb') as out:
+        out.write(struct.pack('>ih', 0x4C554E52, len(chunks)))
+        for y, n, first_day, end_day, _ in chunks:
+            out.write(struct.pack('>hhii', y, n, first_day, end_day))
+        for chunk in chunks:
+            for info in chunk[4]:
+                out.write(struct.pack('>I', info)[1:])
+
+
+if __name__ == '__main__':
+    main(sys.argv[1])